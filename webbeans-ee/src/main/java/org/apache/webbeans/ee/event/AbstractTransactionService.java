@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.ee.event;
+
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.TransactionService;
+
+/**
+ * Base class for {@link TransactionService} implementations which deliver transactional events
+ * via the {@link TransactionalEventNotifier}.
+ *
+ * <p>It gets created with the WebBeansContext it belongs to, so registering an event doesn't need
+ * to look up {@link WebBeansContext#currentInstance()}.</p>
+ */
+public abstract class AbstractTransactionService implements TransactionService
+{
+    protected final WebBeansContext webBeansContext;
+
+    protected AbstractTransactionService(WebBeansContext webBeansContext)
+    {
+        this.webBeansContext = webBeansContext;
+    }
+
+    @Override
+    public void registerTransactionSynchronization(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event)
+        throws Exception
+    {
+        TransactionalEventNotifier.registerTransactionSynchronization(webBeansContext, phase, observer, event, null);
+    }
+}
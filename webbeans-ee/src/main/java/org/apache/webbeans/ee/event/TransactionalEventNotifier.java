@@ -33,11 +33,31 @@ import org.apache.webbeans.event.EventContextImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.TransactionService;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 
+/**
+ * Delivers events to transactional observers.
+ *
+ * <p>Instead of registering a Synchronization per event and observer, all events of a transaction
+ * get collected in a single {@link TransactionalEventBuffer} which is the only Synchronization
+ * registered for the transaction.</p>
+ */
 @SuppressWarnings("unchecked")
 public final class TransactionalEventNotifier
 {
+    /**
+     * The event buffer per running transaction.
+     * Each buffer removes itself once its transaction completed.
+     */
+    private static final ConcurrentMap<Transaction, TransactionalEventBuffer> BUFFERS = new ConcurrentHashMap<>();
+
     private TransactionalEventNotifier()
     {
         // utility class ct
@@ -64,8 +84,20 @@ public final class TransactionalEventNotifier
      */
     public static void registerTransactionSynchronization(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event, EventMetadata metadata) throws Exception
     {
-        TransactionService transactionService = WebBeansContext.currentInstance().getService(TransactionService.class);
-        
+        registerTransactionSynchronization(WebBeansContext.currentInstance(), phase, observer, event, metadata);
+    }
+
+    /**
+     * Like {@link #registerTransactionSynchronization(TransactionPhase, ObserverMethod, Object, EventMetadata)}
+     * but for callers which already know the WebBeansContext, see {@link AbstractTransactionService}.
+     */
+    public static void registerTransactionSynchronization(WebBeansContext webBeansContext, TransactionPhase phase,
+                                                          ObserverMethod<? super Object> observer, Object event, EventMetadata metadata)
+        throws Exception
+    {
+        TransactionService transactionService = webBeansContext.getTransactionService();
+
+
         Transaction transaction = null;
         if(transactionService != null)
         {
@@ -76,27 +108,24 @@ public final class TransactionalEventNotifier
         {
             if (phase == TransactionPhase.AFTER_COMPLETION)
             {
-                registerEvent(transaction, new AfterCompletion(observer, event, metadata), true);
+                registerEvent(webBeansContext, transaction, new BufferedEvent(phase, observer, event, metadata), true);
             }
             else if (phase == TransactionPhase.AFTER_SUCCESS)
             {
+                BufferedEvent bufferedEvent = new BufferedEvent(phase, observer, event, metadata);
                 if (transaction.getStatus() == Status.STATUS_NO_TRANSACTION)
                 {
                     // the AFTER_SUCCESS observers only get invoked if the TX succeeds or if there is no transaction
-                    new AfterCompletionSuccess(observer, event, metadata).notifyObserver();
+                    bufferedEvent.notifyObserver();
                 }
                 else
                 {
-                    registerEvent(transaction, new AfterCompletionSuccess(observer, event, metadata), false);
+                    registerEvent(webBeansContext, transaction, bufferedEvent, false);
                 }
             }
-            else if (phase == TransactionPhase.AFTER_FAILURE)
-            {
-                registerEvent(transaction, new AfterCompletionFailure(observer, event, metadata), true);
-            }
-            else if (phase == TransactionPhase.BEFORE_COMPLETION)
+            else if (phase == TransactionPhase.AFTER_FAILURE || phase == TransactionPhase.BEFORE_COMPLETION)
             {
-                registerEvent(transaction, new BeforeCompletion(observer, event, metadata), true);
+                registerEvent(webBeansContext, transaction, new BufferedEvent(phase, observer, event, metadata), true);
             }
             else
             {
@@ -109,122 +138,185 @@ public final class TransactionalEventNotifier
         }
     }
 
-    private static void registerEvent(Transaction transaction, AbstractSynchronization synchronization, boolean immediateOnError)
+    private static void registerEvent(WebBeansContext webBeansContext, Transaction transaction, BufferedEvent bufferedEvent, boolean immediateOnError)
         throws SystemException
     {
-        try
+        TransactionalEventBuffer buffer = BUFFERS.get(transaction);
+        if (buffer == null)
         {
-            transaction.registerSynchronization(synchronization);
-        }
-        catch (RollbackException | IllegalStateException re)
-        {
-            if (immediateOnError)
+            buffer = new TransactionalEventBuffer(transaction, webBeansContext.getOpenWebBeansConfiguration().isCoalesceTransactionalEvents());
+            try
             {
-                synchronization.notifyObserver();
+                transaction.registerSynchronization(buffer);
             }
+            catch (RollbackException | IllegalStateException re)
+            {
+                if (immediateOnError)
+                {
+                    bufferedEvent.notifyObserver();
+                }
+                return;
+            }
+            BUFFERS.put(transaction, buffer);
         }
+
+        buffer.add(bufferedEvent);
     }
 
-    private static class AbstractSynchronization<T> implements Synchronization
+    /**
+     * The only Synchronization which gets registered for a transaction.
+     * Delivers the BEFORE_COMPLETION events in {@link #beforeCompletion()} and all other events
+     * in {@link #afterCompletion(int)}, both in the order they got fired.
+     */
+    private static final class TransactionalEventBuffer implements Synchronization
     {
+        private final Transaction transaction;
+        private final List<BufferedEvent> events = new ArrayList<>();
 
-        private final ObserverMethod<T> observer;
-        private final T event;
-        private final EventMetadata metadata;
+        /**
+         * The same events as in {@link #events} for a fast lookup, only used if duplicate events get coalesced.
+         */
+        private final Set<BufferedEvent> distinctEvents;
 
-        public AbstractSynchronization(ObserverMethod<T> observer, T event, EventMetadata metadata)
+        /** guarded by this */
+        private boolean beforeCompletionDone;
+
+        private TransactionalEventBuffer(Transaction transaction, boolean coalesce)
         {
-            this.observer = observer;
-            this.event = event;
-            this.metadata = metadata;
+            this.transaction = transaction;
+            distinctEvents = coalesce ? new HashSet<>() : null;
         }
 
-        @Override
-        public void beforeCompletion()
+        private void add(BufferedEvent bufferedEvent)
         {
-            // Do nothing
+            synchronized (this)
+            {
+                if (bufferedEvent.phase != TransactionPhase.BEFORE_COMPLETION || !beforeCompletionDone)
+                {
+                    if (distinctEvents == null || distinctEvents.add(bufferedEvent))
+                    {
+                        events.add(bufferedEvent);
+                    }
+                    return;
+                }
+            }
+
+            // our beforeCompletion already ran, e.g. the event got fired by a Synchronization registered after this one
+            bufferedEvent.notifyObserver();
         }
 
-        @Override
-        public void afterCompletion(int i)
+        private synchronized BufferedEvent get(int index)
         {
-            //Do nothing
+            return events.get(index);
         }
 
-        public void notifyObserver()
+        private synchronized int size()
         {
-            try
-            {
-                observer.notify(new EventContextImpl(event, metadata));
-            }
-            catch (Exception e)
-            {
-                WebBeansLoggerFacade.getLogger(TransactionalEventNotifier.class)
-                        .log(Level.SEVERE, OWBLogConst.ERROR_0003, e);
-            }
+            return events.size();
         }
-    }
 
-    private static final class BeforeCompletion extends AbstractSynchronization
-    {
-        private BeforeCompletion(ObserverMethod observer, Object event, EventMetadata metadata)
+        @Override
+        public void beforeCompletion()
         {
-            super(observer, event, metadata);
+            // BEFORE_COMPLETION observers might fire further events, so we must not use an Iterator
+            for (int i = 0; ; i++)
+            {
+                BufferedEvent bufferedEvent;
+                synchronized (this)
+                {
+                    if (i >= events.size())
+                    {
+                        // from now on BEFORE_COMPLETION events get delivered right away
+                        beforeCompletionDone = true;
+                        return;
+                    }
+                    bufferedEvent = events.get(i);
+                }
+                if (bufferedEvent.phase == TransactionPhase.BEFORE_COMPLETION)
+                {
+                    bufferedEvent.notifyObserver();
+                }
+            }
         }
 
         @Override
-        public void beforeCompletion()
+        public void afterCompletion(int status)
         {
-            notifyObserver();
+            // from now on new events get handled like for any other completed transaction
+            BUFFERS.remove(transaction, this);
+
+            for (int i = 0; i < size(); i++)
+            {
+                BufferedEvent bufferedEvent = get(i);
+                if (bufferedEvent.phase == TransactionPhase.AFTER_COMPLETION
+                    || bufferedEvent.phase == TransactionPhase.AFTER_SUCCESS && status == Status.STATUS_COMMITTED
+                    || bufferedEvent.phase == TransactionPhase.AFTER_FAILURE && status != Status.STATUS_COMMITTED)
+                {
+                    bufferedEvent.notifyObserver();
+                }
+            }
         }
     }
 
-    private static final class AfterCompletion extends AbstractSynchronization
+    private static final class BufferedEvent
     {
-        private AfterCompletion(ObserverMethod observer, Object event, EventMetadata metadata)
-        {
-            super(observer, event, metadata);
-        }
+        private final TransactionPhase phase;
+        private final ObserverMethod<? super Object> observer;
+        private final Object event;
+        private final EventMetadata metadata;
 
-        @Override
-        public void afterCompletion(int i)
+        private BufferedEvent(TransactionPhase phase, ObserverMethod<? super Object> observer, Object event, EventMetadata metadata)
         {
-            notifyObserver();
+            this.phase = phase;
+            this.observer = observer;
+            this.event = event;
+            this.metadata = metadata;
         }
-    }
 
-    private static final class AfterCompletionSuccess extends AbstractSynchronization
-    {
-        private AfterCompletionSuccess(ObserverMethod observer, Object event, EventMetadata metadata)
+        private void notifyObserver()
         {
-            super(observer, event, metadata);
+            try
+            {
+                observer.notify(new EventContextImpl(event, metadata));
+            }
+            catch (Exception e)
+            {
+                WebBeansLoggerFacade.getLogger(TransactionalEventNotifier.class)
+                        .log(Level.SEVERE, OWBLogConst.ERROR_0003, e);
+            }
         }
 
+        /**
+         * Only used for coalescing duplicate events.
+         */
         @Override
-        public void afterCompletion(int i)
+        public boolean equals(Object o)
         {
-            if (i == Status.STATUS_COMMITTED)
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof BufferedEvent))
             {
-                notifyObserver();
+                return false;
             }
+
+            BufferedEvent other = (BufferedEvent) o;
+            return phase == other.phase
+                && observer == other.observer
+                && Objects.equals(event, other.event)
+                && Objects.equals(getQualifiers(metadata), getQualifiers(other.metadata));
         }
-    }
 
-    private static final class AfterCompletionFailure extends AbstractSynchronization
-    {
-        private AfterCompletionFailure(ObserverMethod observer, Object event, EventMetadata metadata)
+        @Override
+        public int hashCode()
         {
-            super(observer, event, metadata);
+            return Objects.hash(phase, System.identityHashCode(observer), event);
         }
 
-        @Override
-        public void afterCompletion(int i)
+        private static Object getQualifiers(EventMetadata metadata)
         {
-            if (i != Status.STATUS_COMMITTED)
-            {
-                notifyObserver();
-            }
+            return metadata == null ? null : metadata.getQualifiers();
         }
     }
-    
 }
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.ee.event;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.enterprise.event.Reception;
+import javax.enterprise.event.TransactionPhase;
+import javax.enterprise.inject.spi.ObserverMethod;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import javax.transaction.UserTransaction;
+import javax.transaction.xa.XAResource;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.TransactionService;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransactionalEventNotifierTest
+{
+    private final List<String> notifications = new ArrayList<>();
+
+    @Test
+    public void testSingleSynchronizationPerTransaction() throws Exception
+    {
+        InMemoryTransaction transaction = new InMemoryTransaction();
+        WebBeansContext webBeansContext = newWebBeansContext(transaction, false);
+
+        ObserverMethod<Object> before = new RecordingObserver("before", TransactionPhase.BEFORE_COMPLETION);
+        ObserverMethod<Object> success = new RecordingObserver("success", TransactionPhase.AFTER_SUCCESS);
+        ObserverMethod<Object> failure = new RecordingObserver("failure", TransactionPhase.AFTER_FAILURE);
+        ObserverMethod<Object> completion = new RecordingObserver("completion", TransactionPhase.AFTER_COMPLETION);
+
+        for (String event : new String[]{"a", "b", "a"})
+        {
+            register(webBeansContext, completion, event);
+            register(webBeansContext, success, event);
+            register(webBeansContext, failure, event);
+            register(webBeansContext, before, event);
+        }
+
+        Assert.assertEquals(1, transaction.synchronizations.size());
+        Assert.assertTrue(notifications.isEmpty());
+
+        transaction.commit();
+
+        Assert.assertEquals(Arrays.asList(
+            "before:a", "before:b", "before:a",
+            "completion:a", "success:a", "completion:b", "success:b", "completion:a", "success:a"),
+            notifications);
+
+        // the transaction is completed, so the observers get notified right away
+        notifications.clear();
+        register(webBeansContext, completion, "c");
+        register(webBeansContext, success, "c");
+        Assert.assertEquals(Collections.singletonList("completion:c"), notifications);
+    }
+
+    @Test
+    public void testRollbackAndCoalescing() throws Exception
+    {
+        InMemoryTransaction transaction = new InMemoryTransaction();
+        WebBeansContext webBeansContext = newWebBeansContext(transaction, true);
+
+        ObserverMethod<Object> success = new RecordingObserver("success", TransactionPhase.AFTER_SUCCESS);
+        ObserverMethod<Object> failure = new RecordingObserver("failure", TransactionPhase.AFTER_FAILURE);
+
+        for (String event : new String[]{"a", "b", "a", "a"})
+        {
+            register(webBeansContext, success, event);
+            register(webBeansContext, failure, event);
+        }
+
+        Assert.assertEquals(1, transaction.synchronizations.size());
+
+        transaction.rollback();
+
+        Assert.assertEquals(Arrays.asList("failure:a", "failure:b"), notifications);
+    }
+
+    @Test
+    public void testBeforeCompletionEventOfLaterSynchronization() throws Exception
+    {
+        InMemoryTransaction transaction = new InMemoryTransaction();
+        WebBeansContext webBeansContext = newWebBeansContext(transaction, false);
+
+        ObserverMethod<Object> before = new RecordingObserver("before", TransactionPhase.BEFORE_COMPLETION);
+        register(webBeansContext, before, "a");
+
+        // e.g. a JPA flush which fires an event from its own beforeCompletion
+        transaction.registerSynchronization(new Synchronization()
+        {
+            @Override
+            public void beforeCompletion()
+            {
+                try
+                {
+                    register(webBeansContext, before, "b");
+                }
+                catch (Exception e)
+                {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status)
+            {
+                // nothing to do
+            }
+        });
+
+        transaction.commit();
+
+        Assert.assertEquals(Arrays.asList("before:a", "before:b"), notifications);
+    }
+
+    private void register(WebBeansContext webBeansContext, ObserverMethod<Object> observer, Object event) throws Exception
+    {
+        // like the NotificationManager does
+        webBeansContext.getTransactionService().registerTransactionSynchronization(observer.getTransactionPhase(), observer, event);
+    }
+
+    private WebBeansContext newWebBeansContext(InMemoryTransaction transaction, boolean coalesce)
+    {
+        Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.COALESCE_TRANSACTIONAL_EVENTS, Boolean.toString(coalesce));
+
+        WebBeansContext webBeansContext = new WebBeansContext(Collections.emptyMap(), properties);
+        webBeansContext.registerService(TransactionService.class, new InMemoryTransactionService(webBeansContext, transaction));
+        return webBeansContext;
+    }
+
+    private final class RecordingObserver implements ObserverMethod<Object>
+    {
+        private final String name;
+        private final TransactionPhase phase;
+
+        private RecordingObserver(String name, TransactionPhase phase)
+        {
+            this.name = name;
+            this.phase = phase;
+        }
+
+        @Override
+        public Class<?> getBeanClass()
+        {
+            return TransactionalEventNotifierTest.class;
+        }
+
+        @Override
+        public Type getObservedType()
+        {
+            return Object.class;
+        }
+
+        @Override
+        public Set<Annotation> getObservedQualifiers()
+        {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Reception getReception()
+        {
+            return Reception.ALWAYS;
+        }
+
+        @Override
+        public TransactionPhase getTransactionPhase()
+        {
+            return phase;
+        }
+
+        @Override
+        public void notify(Object event)
+        {
+            notifications.add(name + ":" + event);
+        }
+    }
+
+    private static final class InMemoryTransaction implements Transaction
+    {
+        private final List<Synchronization> synchronizations = new ArrayList<>();
+        private int status = Status.STATUS_ACTIVE;
+
+        @Override
+        public void commit()
+        {
+            complete(Status.STATUS_COMMITTED);
+        }
+
+        @Override
+        public void rollback()
+        {
+            complete(Status.STATUS_ROLLEDBACK);
+        }
+
+        private void complete(int finalStatus)
+        {
+            if (finalStatus == Status.STATUS_COMMITTED)
+            {
+                for (Synchronization synchronization : synchronizations)
+                {
+                    synchronization.beforeCompletion();
+                }
+            }
+            status = finalStatus;
+            for (Synchronization synchronization : synchronizations)
+            {
+                synchronization.afterCompletion(finalStatus);
+            }
+        }
+
+        @Override
+        public void registerSynchronization(Synchronization synchronization)
+        {
+            if (status != Status.STATUS_ACTIVE)
+            {
+                throw new IllegalStateException("transaction is not active");
+            }
+            synchronizations.add(synchronization);
+        }
+
+        @Override
+        public int getStatus()
+        {
+            return status;
+        }
+
+        @Override
+        public boolean delistResource(XAResource xaResource, int flag)
+        {
+            return false;
+        }
+
+        @Override
+        public boolean enlistResource(XAResource xaResource)
+        {
+            return false;
+        }
+
+        @Override
+        public void setRollbackOnly()
+        {
+            status = Status.STATUS_MARKED_ROLLBACK;
+        }
+    }
+
+    private static final class InMemoryTransactionService extends AbstractTransactionService
+    {
+        private final Transaction transaction;
+
+        private InMemoryTransactionService(WebBeansContext webBeansContext, Transaction transaction)
+        {
+            super(webBeansContext);
+            this.transaction = transaction;
+        }
+
+        @Override
+        public TransactionManager getTransactionManager()
+        {
+            return null;
+        }
+
+        @Override
+        public Transaction getTransaction()
+        {
+            return transaction;
+        }
+
+        @Override
+        public UserTransaction getUserTransaction()
+        {
+            return null;
+        }
+    }
+}
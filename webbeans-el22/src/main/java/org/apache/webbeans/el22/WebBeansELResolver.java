@@ -31,8 +31,13 @@ import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.Bean;
 import java.beans.FeatureDescriptor;
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * JSF or JSP expression language a.k.a EL resolver.
@@ -55,6 +60,12 @@ public class WebBeansELResolver extends ELResolver
 {
     private WebBeansContext webBeansContext;
 
+    /**
+     * All EL names of the deployment, built after the deployment got validated.
+     * @see #getNameIndex(BeanManagerImpl)
+     */
+    private volatile NameIndex nameIndex;
+
     public WebBeansELResolver()
     {
         webBeansContext = WebBeansContext.getInstance();
@@ -105,6 +116,38 @@ public class WebBeansELResolver extends ELResolver
         //Name of the bean
         String beanName = (String) property;
 
+        NameIndex index = getNameIndex(beanManager);
+        if (index != null)
+        {
+            Bean<?> bean = index.beans.get(beanName);
+            if (bean == null)
+            {
+                if (!index.unresolvedNames.contains(beanName))
+                {
+                    // implicit objects, loop variables, etc
+                    return null;
+                }
+            }
+            else if (index.isNormalScoped(bean))
+            {
+                // the client proxy of a normal scoped bean never changes
+                Object contextualInstance = index.normalScopedProxies.get(beanName);
+                if (contextualInstance == null)
+                {
+                    contextualInstance = getNormalScopedContextualInstance(beanManager, ELContextStore.getInstance(true), context, bean, beanName);
+                    if (contextualInstance != null)
+                    {
+                        index.normalScopedProxies.putIfAbsent(beanName, contextualInstance);
+                    }
+                }
+                else
+                {
+                    context.setPropertyResolved(true);
+                }
+                return contextualInstance;
+            }
+        }
+
         //Local store, create if not exist
         ELContextStore elContextStore = ELContextStore.getInstance(true);
 
@@ -139,6 +182,28 @@ public class WebBeansELResolver extends ELResolver
         return contextualInstance;
     }
 
+    private NameIndex getNameIndex(BeanManagerImpl beanManager)
+    {
+        if (!beanManager.isAfterDeploymentValidationFired())
+        {
+            // bean names are not final yet
+            return null;
+        }
+
+        long deploymentGeneration = beanManager.getInjectionResolver().getDeploymentGeneration();
+        NameIndex index = nameIndex;
+        if (index == null || index.deploymentGeneration != deploymentGeneration)
+        {
+            index = new NameIndex(beanManager, deploymentGeneration);
+            nameIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Creates the client proxy of a normal scoped bean.
+     * Once the deployment got validated the result gets cached per bean name.
+     */
     protected Object getNormalScopedContextualInstance(BeanManagerImpl manager, ELContextStore store, ELContext context, Bean<?> bean, String beanName)
     {
         CreationalContext<?> creationalContext = manager.createCreationalContext(bean);
@@ -195,6 +260,64 @@ public class WebBeansELResolver extends ELResolver
         return Object.class;
     }
 
+    /**
+     * Immutable snapshot of the named beans of a deployment.
+     * Names which cannot get resolved to a single bean are kept in {@link #unresolvedNames}
+     * so they still run through the full resolution and report the same errors.
+     */
+    private static final class NameIndex
+    {
+        private final long deploymentGeneration;
+        private final Map<String, Bean<?>> beans = new HashMap<>();
+        private final Set<String> unresolvedNames = new HashSet<>();
+        private final Set<Bean<?>> normalScopedBeans = new HashSet<>();
+        private final ConcurrentMap<String, Object> normalScopedProxies = new ConcurrentHashMap<>();
+
+        private NameIndex(BeanManagerImpl beanManager, long deploymentGeneration)
+        {
+            this.deploymentGeneration = deploymentGeneration;
+
+            Set<String> names = new HashSet<>();
+            for (Bean<?> bean : beanManager.getBeans())
+            {
+                if (bean.getName() != null)
+                {
+                    names.add(bean.getName());
+                }
+            }
+
+            for (String name : names)
+            {
+                Bean<?> bean;
+                try
+                {
+                    bean = beanManager.resolve(beanManager.getBeans(name));
+                }
+                catch (RuntimeException e)
+                {
+                    bean = null;
+                }
+
+                if (bean == null)
+                {
+                    unresolvedNames.add(name);
+                    continue;
+                }
+
+                beans.put(name, bean);
+                if (beanManager.isNormalScope(bean.getScope()))
+                {
+                    normalScopedBeans.add(bean);
+                }
+            }
+        }
+
+        private boolean isNormalScoped(Bean<?> bean)
+        {
+            return normalScopedBeans.contains(bean);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */    
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.el.test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.el.ELContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.el.ELContextStore;
+
+import org.apache.webbeans.el22.WebBeansELResolver;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ELNameIndexTest extends AbstractUnitTest
+{
+    @Test
+    public void testNameLookup()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        startContainer(classes);
+
+        WebBeansELResolver resolver = new WebBeansELResolver();
+
+        ELContext elContext = new MockELContext();
+        Object sampleBean = resolver.getValue(elContext, null, "sampleBean");
+        Assert.assertTrue(sampleBean instanceof SampleBean);
+        Assert.assertTrue(elContext.isPropertyResolved());
+
+        elContext = new MockELContext();
+        Assert.assertSame(sampleBean, resolver.getValue(elContext, null, "sampleBean"));
+        Assert.assertTrue(elContext.isPropertyResolved());
+
+        elContext = new MockELContext();
+        Assert.assertNull(resolver.getValue(elContext, null, "param"));
+        Assert.assertFalse(elContext.isPropertyResolved());
+
+        shutDownContainer();
+    }
+
+    @Test
+    public void testNormalScopedHookGetsCached()
+    {
+        Collection<Class<?>> classes = new ArrayList<Class<?>>();
+        classes.add(SampleBean.class);
+        classes.add(RequestBean.class);
+        startContainer(classes);
+
+        CountingELResolver resolver = new CountingELResolver();
+
+        ELContext elContext = new MockELContext();
+        Object sampleBean = resolver.getValue(elContext, null, "sampleBean");
+        Assert.assertTrue(sampleBean instanceof SampleBean);
+        Assert.assertTrue(elContext.isPropertyResolved());
+
+        elContext = new MockELContext();
+        Assert.assertSame(sampleBean, resolver.getValue(elContext, null, "sampleBean"));
+        Assert.assertTrue(elContext.isPropertyResolved());
+        Assert.assertEquals(1, resolver.normalScopedLookups);
+
+        shutDownContainer();
+    }
+
+    private static final class CountingELResolver extends WebBeansELResolver
+    {
+        private int normalScopedLookups;
+
+        @Override
+        protected Object getNormalScopedContextualInstance(BeanManagerImpl manager, ELContextStore store, ELContext context,
+                                                           Bean<?> bean, String beanName)
+        {
+            normalScopedLookups++;
+            return super.getNormalScopedContextualInstance(manager, store, context, bean, beanName);
+        }
+    }
+}
@@ -76,6 +76,13 @@ public abstract class AbstractOwbBean<T>
      * @see #getId()
      */
     protected String passivatingId;
+
+    /**
+     * Set at deployment time if destroying a &#0064;Dependent instance of this bean
+     * and all its transitive dependents is known to be a no-op.
+     * Such instances don't need to get tracked in their parent CreationalContext.
+     */
+    private volatile boolean destroyNoOp;
     
     protected final WebBeansContext webBeansContext;
 
@@ -431,6 +438,19 @@ public abstract class AbstractOwbBean<T>
         return getScope().equals(Dependent.class);
     }
 
+    /**
+     * @return {@code true} if instances of this bean don't need to get destroyed at all
+     */
+    public boolean isDestroyNoOp()
+    {
+        return destroyNoOp;
+    }
+
+    public void setDestroyNoOp(boolean destroyNoOp)
+    {
+        this.destroyNoOp = destroyNoOp;
+    }
+
     @Override
     public boolean equals(Object o)  // symmetry for serializable beans otherwise Map are broken, hashcode if fine
     {
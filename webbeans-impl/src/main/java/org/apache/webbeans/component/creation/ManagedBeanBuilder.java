@@ -25,6 +25,7 @@ import javax.enterprise.inject.spi.BeanAttributes;
 import org.apache.webbeans.component.ManagedBean;
 import org.apache.webbeans.component.WebBeansType;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.portable.AbstractProducer;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.WebBeansUtil;
 
@@ -66,7 +67,11 @@ public class ManagedBeanBuilder<T, M extends ManagedBean<T>>
         bean.setEnabled(webBeansContext.getWebBeansUtil().isBeanEnabled(beanAttributes, annotatedType, bean.getStereotypes()));
         webBeansContext.getWebBeansUtil().checkManagedBeanCondition(annotatedType);
         WebBeansUtil.checkGenericType(annotatedType.getJavaClass(), beanAttributes.getScope());
-        webBeansContext.getWebBeansUtil().validateBeanInjection(bean);
+        if (!(bean.getProducer() instanceof AbstractProducer) || !((AbstractProducer<?>) bean.getProducer()).isInjectionPointsDeferred())
+        {
+            // deferred InjectionPoints get validated once they got created
+            webBeansContext.getWebBeansUtil().validateBeanInjection(bean);
+        }
 
         UnproxyableResolutionException lazyException = webBeansContext.getDeploymentValidationService().validateProxyable(bean, ignoreFinalMethods);
         if (lazyException == null)
@@ -20,12 +20,16 @@ package org.apache.webbeans.config;
 
 import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.annotation.AnyLiteral;
+import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.component.BeanAttributesImpl;
+import org.apache.webbeans.component.BeanManagerBean;
 import org.apache.webbeans.component.BuiltInOwbBean;
 import org.apache.webbeans.component.CdiInterceptorBean;
 import org.apache.webbeans.component.DecoratorBean;
 import org.apache.webbeans.component.EnterpriseBeanMarker;
+import org.apache.webbeans.component.EventMetadataBean;
+import org.apache.webbeans.component.InjectionPointBean;
 import org.apache.webbeans.component.InjectionTargetBean;
 import org.apache.webbeans.component.ManagedBean;
 import org.apache.webbeans.component.OwbBean;
@@ -44,6 +48,7 @@ import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.context.control.ActivateRequestContextInterceptorBean;
+import org.apache.webbeans.corespi.scanner.AbstractMetaDataDiscovery;
 import org.apache.webbeans.corespi.se.DefaultJndiService;
 import org.apache.webbeans.decorator.DecoratorsManager;
 import org.apache.webbeans.deployment.StereoTypeManager;
@@ -62,11 +67,13 @@ import javax.enterprise.inject.spi.BeanAttributes;
 import javax.enterprise.inject.spi.DefinitionException;
 
 import org.apache.webbeans.inject.AlternativesManager;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
 import org.apache.webbeans.intercept.InterceptorsManager;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.portable.AbstractProducer;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
 import org.apache.webbeans.portable.BaseProducerProducer;
+import org.apache.webbeans.portable.InjectionTargetImpl;
 import org.apache.webbeans.portable.events.ProcessBeanAttributesImpl;
 import org.apache.webbeans.portable.events.ProcessBeanImpl;
 import org.apache.webbeans.portable.events.ProcessSyntheticAnnotatedTypeImpl;
@@ -127,6 +134,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -162,11 +170,18 @@ public class BeansDeployer
     private final DecoratorsManager decoratorsManager;
     private final InterceptorsManager interceptorsManager;
 
-    private final Map<String, Boolean> packageVetoCache = new HashMap<>();
+    private Map<String, Boolean> packageVetoCache = new HashMap<>();
+
+    /**
+     * The number of bean classes released by {@link #trimMetaData(ScannerService)}
+     * or -1 if the metadata did not get trimmed.
+     */
+    private int trimmedMetaDataEntries = -1;
 
     protected boolean skipVetoedOnPackages;
     protected boolean skipNoClassDefFoundTriggers;
     protected boolean skipValidations;
+    protected boolean lazyBeans;
 
     /**
      * This BdaInfo is used for all manually added annotated types or in case
@@ -194,6 +209,7 @@ public class BeansDeployer
         skipValidations = Boolean.parseBoolean(this.webBeansContext.getOpenWebBeansConfiguration().getProperty(
                 "org.apache.webbeans.spi.deployer.skipValidations"));
         skipNoClassDefFoundTriggers = this.webBeansContext.getOpenWebBeansConfiguration().isSkipNoClassDefFoundErrorTriggers();
+        lazyBeans = this.webBeansContext.getOpenWebBeansConfiguration().isLazyBeans();
 
         defaultBeanArchiveInformation = new DefaultBeanArchiveInformation("default");
         defaultBeanArchiveInformation.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
@@ -316,7 +332,22 @@ public class BeansDeployer
                 // activate InjectionResolver cache now
                 webBeansContext.getBeanManagerImpl().getInjectionResolver().setStartup(false);
 
-                if (!skipValidations)
+                if (lazyBeans)
+                {
+                    // only the checks based on the bean attributes, see #validateDeployment for the rest
+                    validateAlternatives(beanAttributesPerBda);
+
+                    decoratorsManager.validateDecoratorClasses();
+                    interceptorsManager.validateInterceptorClasses();
+                    validateDecoratorDecoratedTypes();
+                    validateDecoratorGenericTypes();
+
+                    validateNames();
+                    validatePassivationScopes();
+
+                    deferInterceptorStacks();
+                }
+                else if (!skipValidations)
                 {
                     validateAlternatives(beanAttributesPerBda);
 
@@ -330,48 +361,14 @@ public class BeansDeployer
                 }
                 else
                 {
-                    webBeansContext.getBeanManagerImpl().getBeans().forEach(bean -> {
-                        if (BuiltInOwbBean.class.isInstance(bean))
-                        {
-                            Class<?> proxyable = BuiltInOwbBean.class.cast(bean).proxyableType();
-                            if (proxyable != null)
-                            {
-                                AbstractProducer producer = AbstractProducer.class.cast(OwbBean.class.cast(bean).getProducer());
-                                AnnotatedType<?> annotatedType = webBeansContext.getAnnotatedElementFactory()
-                                        .newAnnotatedType(proxyable);
-                                producer.defineInterceptorStack(bean, annotatedType, webBeansContext);
-                            }
-                        }
-                        else if (bean instanceof OwbBean &&
-                                !(bean instanceof Interceptor) &&
-                                !(bean instanceof Decorator))
-                        {
-                            AbstractProducer producer = null;
-                            OwbBean<?> owbBean = (OwbBean<?>) bean;
-                            if (ManagedBean.class.isInstance(bean)) // in this case don't use producer which can be wrapped
-                            {
-                                producer = ManagedBean.class.cast(bean).getOriginalInjectionTarget();
-                            }
-                            if (producer == null && owbBean.getProducer() instanceof AbstractProducer)
-                            {
-                                producer = (AbstractProducer) owbBean.getProducer();
-                            }
-                            if (producer != null)
-                            {
-                                AnnotatedType<?> annotatedType;
-                                if (owbBean instanceof InjectionTargetBean)
-                                {
-                                    annotatedType = ((InjectionTargetBean<?>) owbBean).getAnnotatedType();
-                                }
-                                else
-                                {
-                                    annotatedType = webBeansContext.getAnnotatedElementFactory()
-                                            .newAnnotatedType(owbBean.getReturnType());
-                                }
-                                producer.defineInterceptorStack(owbBean, annotatedType, webBeansContext);
-                            }
-                        }
-                    });
+                    webBeansContext.getBeanManagerImpl().getBeans().forEach(bean -> defineInterceptorStack(bean,
+                        (producer, owbBean, annotatedType) -> producer.defineInterceptorStack(owbBean, annotatedType.get(), webBeansContext)));
+                }
+
+                if (!lazyBeans)
+                {
+                    // needs the interceptor stacks and resolves all InjectionPoints
+                    markNoOpDestroyBeans();
                 }
 
                 if (webBeansContext.getNotificationManager().getObserverMethods().stream()
@@ -391,6 +388,11 @@ public class BeansDeployer
                 webBeansContext.getAnnotatedElementFactory().clear();
                 webBeansContext.getNotificationManager().clearCaches();
                 webBeansContext.getAnnotationManager().clearCaches();
+
+                if (webBeansContext.getOpenWebBeansConfiguration().isTrimMetaData())
+                {
+                    trimMetaData(scanner);
+                }
             }
         }
         catch (UnsatisfiedResolutionException | UnproxyableResolutionException | AmbiguousResolutionException e)
@@ -414,6 +416,136 @@ public class BeansDeployer
         }
     }
 
+    /**
+     * Validates the InjectionPoints of all beans, interceptors, decorators, observer methods and disposal methods.
+     * This is part of the deployment unless the lazy bean mode is enabled.
+     * In that case it can be invoked on demand, e.g. in a CI build, to get the same checks.
+     *
+     * @throws WebBeansDeploymentException if an InjectionPoint cannot be satisfied
+     * @see OpenWebBeansConfiguration#LAZY_BEANS
+     */
+    public synchronized void validateDeployment()
+    {
+        if (!deployed)
+        {
+            throw new IllegalStateException("The beans did not get deployed yet");
+        }
+
+        try
+        {
+            validateInjectionPoints();
+            validateDisposeParameters();
+        }
+        catch (UnsatisfiedResolutionException | UnproxyableResolutionException | AmbiguousResolutionException e)
+        {
+            throw new WebBeansDeploymentException(e);
+        }
+    }
+
+    /**
+     * Lazy bean mode: the interceptor and decorator information and the interceptor proxy class
+     * of a bean get created when its first instance gets produced.
+     */
+    private void deferInterceptorStacks()
+    {
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (bean instanceof OwbBean && !((OwbBean<?>) bean).isEnabled())
+            {
+                continue;
+            }
+            defineInterceptorStack(bean,
+                (producer, owbBean, annotatedType) -> producer.deferInterceptorStack(owbBean, annotatedType, webBeansContext));
+        }
+    }
+
+    /**
+     * Lazy bean mode: passivating scopes are checked based on the bean class and the injection points,
+     * so unlike the other validations they can't wait for {@link #validateDeployment()}.
+     */
+    private void validatePassivationScopes()
+    {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        validatePassivationScopes(beanManager.getBeans());
+        validatePassivationScopes(webBeansContext.getDecoratorsManager().getDecorators());
+        validatePassivationScopes(webBeansContext.getInterceptorsManager().getCdiInterceptors());
+    }
+
+    private void validatePassivationScopes(Collection<? extends Bean<?>> beans)
+    {
+        for (Bean<?> bean : beans)
+        {
+            if (bean instanceof OwbBean && !((OwbBean<?>) bean).isEnabled() ||
+                bean.getBeanClass().getName().startsWith(JAVAX_ENTERPRISE_PACKAGE))
+            {
+                continue;
+            }
+
+            try
+            {
+                checkPassivationScope(bean);
+            }
+            catch (RuntimeException e)
+            {
+                throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+            }
+        }
+    }
+
+    /**
+     * Callback of {@link #defineInterceptorStack(Bean, InterceptorStackDefinition)},
+     * it either defines the interceptor stack of the bean right away or defers it.
+     */
+    @FunctionalInterface
+    private interface InterceptorStackDefinition
+    {
+        void define(AbstractProducer<Object> producer, Bean<Object> bean, Supplier<AnnotatedType<Object>> annotatedType);
+    }
+
+    /**
+     * Looks up the producer owning the interceptor stack of the given bean and the type to build it from.
+     * Beans without such a producer (interceptors, decorators, custom beans) are ignored.
+     */
+    private void defineInterceptorStack(Bean<?> bean, InterceptorStackDefinition definition)
+    {
+        if (BuiltInOwbBean.class.isInstance(bean))
+        {
+            Class<Object> proxyable = (Class<Object>) BuiltInOwbBean.class.cast(bean).proxyableType();
+            if (proxyable != null)
+            {
+                AbstractProducer<Object> producer = AbstractProducer.class.cast(OwbBean.class.cast(bean).getProducer());
+                definition.define(producer, (Bean<Object>) bean,
+                    () -> webBeansContext.getAnnotatedElementFactory().newAnnotatedType(proxyable));
+            }
+        }
+        else if (bean instanceof OwbBean && !(bean instanceof Interceptor) && !(bean instanceof Decorator))
+        {
+            AbstractProducer<Object> producer = null;
+            OwbBean<Object> owbBean = (OwbBean<Object>) bean;
+            if (ManagedBean.class.isInstance(bean)) // in this case don't use producer which can be wrapped
+            {
+                producer = ManagedBean.class.cast(bean).getOriginalInjectionTarget();
+            }
+            if (producer == null && owbBean.getProducer() instanceof AbstractProducer)
+            {
+                producer = (AbstractProducer<Object>) owbBean.getProducer();
+            }
+            if (producer != null)
+            {
+                if (owbBean instanceof InjectionTargetBean)
+                {
+                    AnnotatedType<Object> annotatedType = ((InjectionTargetBean<Object>) owbBean).getAnnotatedType();
+                    definition.define(producer, owbBean, () -> annotatedType);
+                }
+                else
+                {
+                    definition.define(producer, owbBean,
+                        () -> webBeansContext.getAnnotatedElementFactory().newAnnotatedType((Class<Object>) owbBean.getReturnType()));
+                }
+            }
+        }
+    }
+
     /**
      * Ensure "foo" and "foo.bar" conflict and is reported as a DeploymentException but foo.bar and foo.dummy don't conflict.
      */
@@ -635,7 +767,7 @@ public class BeansDeployer
                         ParameterizedType pt2 = ParameterizedType.class.cast(t);
 
                         if (pt1.getRawType() == pt2.getRawType() &&
-                            !GenericsUtil.isAssignableFrom(true, false, pt1, pt2, new HashMap<>()))
+                            !GenericsUtil.isAssignableFrom(true, false, pt1, pt2))
                         {
                             throw new WebBeansConfigurationException("Generic error matching " + api + " and " + t);
                         }
@@ -864,6 +996,9 @@ public class BeansDeployer
                 interceptors, decorators, alternatives);
         manager.fireLifecycleEvent(event);
 
+        // the observers might have modified the prioritized interceptors
+        interceptorsManager.clearResolvedInterceptors();
+
         // reverse to keep "selection" order - decorator and interceptors considers it in their sorting.
         // NOTE: from here priorityClass.getSorted() MUST NOT be recomputed (ie no priorityClass.add(...))
         Collections.reverse(alternatives);
@@ -889,6 +1024,31 @@ public class BeansDeployer
         return newAt;
     }
 
+    /**
+     * Releases the bean classes of the scanner which are only needed during the deployment
+     * and counts the released entries.
+     */
+    private void trimMetaData(ScannerService scanner)
+    {
+        int releasedEntries = 0;
+        if (scanner instanceof AbstractMetaDataDiscovery)
+        {
+            releasedEntries = ((AbstractMetaDataDiscovery) scanner).trim();
+        }
+
+        trimmedMetaDataEntries = releasedEntries;
+        logger.info("Trimmed deployment metadata, released " + trimmedMetaDataEntries + " entries");
+    }
+
+    /**
+     * @return the number of bean classes released by trimming the deployment metadata
+     *         or -1 if {@link OpenWebBeansConfiguration#TRIM_METADATA} is not enabled
+     */
+    public int getTrimmedMetaDataEntries()
+    {
+        return trimmedMetaDataEntries;
+    }
+
     /**
      * Fires event after deployment valdiation.
      */
@@ -902,7 +1062,7 @@ public class BeansDeployer
         webBeansContext.getWebBeansUtil().inspectDeploymentErrorStack(
                 "There are errors that are added by AfterDeploymentValidation event observers. Look at logs for further details");
 
-        packageVetoCache.clear(); // no more needed, free the memory
+        packageVetoCache = new HashMap<>(); // no more needed, free the memory
         event.setStarted();
     }
 
@@ -1135,9 +1295,141 @@ public class BeansDeployer
         //Validate Observers
         validateObservers(webBeansContext.getNotificationManager().getObserverMethods());
 
+        resolveInjectionPointBeans(decorators);
+        resolveInjectionPointBeans(interceptors);
+        resolveInjectionPointBeans(beans);
+
         logger.info(OWBLogConst.INFO_0003);
     }
+
+    /**
+     * Fills the resolved Bean slot of all validated InjectionPoints,
+     * so creating a bean instance doesn't need to resolve its InjectionPoints again.
+     */
+    private void resolveInjectionPointBeans(Collection<? extends Bean<?>> beans)
+    {
+        InjectionResolver injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
+        for (Bean<?> bean : beans)
+        {
+            if (bean instanceof OwbBean && !((OwbBean<?>) bean).isEnabled())
+            {
+                continue;
+            }
+            Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
+            if (injectionPoints == null)
+            {
+                // some 3rd party beans don't provide their InjectionPoints
+                continue;
+            }
+            for (InjectionPoint injectionPoint : injectionPoints)
+            {
+                if (!(injectionPoint instanceof InjectionPointImpl))
+                {
+                    continue;
+                }
+                try
+                {
+                    injectionResolver.getInjectionPointBean(injectionPoint);
+                }
+                catch (RuntimeException e)
+                {
+                    // e.g. the InjectionPoint of a cdi-api bean which doesn't get validated; resolved lazily
+                }
+            }
+        }
+    }
     
+    /**
+     * Marks all &#0064;Dependent beans whose destruction is a no-op.
+     * That is the case if neither the bean itself nor any of its transitive &#0064;Dependent
+     * injection points has a PreDestroy method, a disposer, an interceptor or a decorator.
+     * Instances of such beans don't get tracked in their parent CreationalContext.
+     */
+    private void markNoOpDestroyBeans()
+    {
+        Map<Bean<?>, Boolean> destroyNoOp = new HashMap<>();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (bean instanceof AbstractOwbBean && WebBeansUtil.isDependent(bean) && isDestroyNoOp(bean, destroyNoOp))
+            {
+                ((AbstractOwbBean<?>) bean).setDestroyNoOp(true);
+            }
+        }
+    }
+
+    private boolean isDestroyNoOp(Bean<?> bean, Map<Bean<?>, Boolean> destroyNoOp)
+    {
+        if (!WebBeansUtil.isDependent(bean))
+        {
+            // normal scoped beans get their own CreationalContext
+            return true;
+        }
+
+        Boolean result = destroyNoOp.get(bean);
+        if (result == null)
+        {
+            // guard against dependency cycles
+            destroyNoOp.put(bean, Boolean.FALSE);
+
+            result = isDependentDestroyNoOp(bean, destroyNoOp);
+            destroyNoOp.put(bean, result);
+        }
+        return result;
+    }
+
+    private boolean isDependentDestroyNoOp(Bean<?> bean, Map<Bean<?>, Boolean> destroyNoOp)
+    {
+        if (bean instanceof InjectionPointBean || bean instanceof BeanManagerBean || bean instanceof EventMetadataBean)
+        {
+            // their producers don't do anything on dispose
+            return true;
+        }
+
+        // subclasses and wrapped InjectionTargets might do anything on destroy
+        if (bean.getClass() != ManagedBean.class)
+        {
+            return false;
+        }
+        Producer<?> producer = ((ManagedBean<?>) bean).getProducer();
+        if (producer == null || producer.getClass() != InjectionTargetImpl.class || !((InjectionTargetImpl<?>) producer).isDestroyNoOp())
+        {
+            return false;
+        }
+
+        InjectionResolver injectionResolver = webBeansContext.getBeanManagerImpl().getInjectionResolver();
+        for (InjectionPoint injectionPoint : bean.getInjectionPoints())
+        {
+            Bean<?> injectedBean;
+            try
+            {
+                injectedBean = injectionResolver.getInjectionPointBean(injectionPoint);
+            }
+            catch (RuntimeException e)
+            {
+                // not resolvable if validations got skipped, so we cannot tell
+                return false;
+            }
+            if (injectedBean == null || !isDestroyNoOp(injectedBean, destroyNoOp))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@link #validateDeployment()} must not define the interceptor stack again,
+     * a deferred one gets defined now.
+     */
+    private void defineInterceptorStackOnce(AbstractProducer<Object> producer, Bean<Object> bean,
+                                            Supplier<AnnotatedType<Object>> annotatedType)
+    {
+        if (!producer.defineDeferredInterceptorStack() && !deployed)
+        {
+            producer.defineInterceptorStack(bean, annotatedType.get(), webBeansContext);
+        }
+    }
+
     /**
      * Validates beans.
      * 
@@ -1166,13 +1458,7 @@ public class BeansDeployer
                     {
                         if (BuiltInOwbBean.class.isInstance(bean))
                         {
-                            Class<?> proxyable = BuiltInOwbBean.class.cast(bean).proxyableType();
-                            if (proxyable != null)
-                            {
-                                AbstractProducer producer = AbstractProducer.class.cast(OwbBean.class.cast(bean).getProducer());
-                                AnnotatedType<?> annotatedType = webBeansContext.getAnnotatedElementFactory().newAnnotatedType(proxyable);
-                                producer.defineInterceptorStack(bean, annotatedType, webBeansContext);
-                            }
+                            defineInterceptorStack(bean, this::defineInterceptorStackOnce);
                         }
                         continue;
                     }
@@ -1183,33 +1469,7 @@ public class BeansDeployer
                         beanNames.push(beanName);
                     }
 
-                    if (bean instanceof OwbBean && !(bean instanceof Interceptor) && !(bean instanceof Decorator))
-                    {
-                        AbstractProducer<T> producer = null;
-
-                        OwbBean<T> owbBean = (OwbBean<T>) bean;
-                        if (ManagedBean.class.isInstance(bean)) // in this case don't use producer which can be wrapped
-                        {
-                            producer = ManagedBean.class.cast(bean).getOriginalInjectionTarget();
-                        }
-                        if (producer == null && owbBean.getProducer() instanceof AbstractProducer)
-                        {
-                            producer = (AbstractProducer<T>) owbBean.getProducer();
-                        }
-                        if (producer != null)
-                        {
-                            AnnotatedType<T> annotatedType;
-                            if (owbBean instanceof InjectionTargetBean)
-                            {
-                                annotatedType = ((InjectionTargetBean<T>) owbBean).getAnnotatedType();
-                            }
-                            else
-                            {
-                                annotatedType = webBeansContext.getAnnotatedElementFactory().newAnnotatedType(owbBean.getReturnType());
-                            }
-                            producer.defineInterceptorStack(owbBean, annotatedType, webBeansContext);
-                        }
-                    }
+                    defineInterceptorStack(bean, this::defineInterceptorStackOnce);
 
                     //Bean injection points
                     Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
@@ -1303,6 +1563,7 @@ public class BeansDeployer
     {
         logger.fine("Creating AnnotatedTypes from class files has started.");
         Set<Class<?>> foundClasses = new HashSet<>(100);
+        Set<Class<?>> unloadableClasses = new HashSet<>();
 
         Map<BeanArchiveInformation, List<AnnotatedType<?>>> annotatedTypesPerBda
             = new HashMap<>();
@@ -1313,20 +1574,20 @@ public class BeansDeployer
 
             for (Map.Entry<BeanArchiveInformation, Set<Class<?>>> bdaEntry : beanClassesPerBda.entrySet())
             {
-                List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses);
+                List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(bdaEntry.getValue(), foundClasses, unloadableClasses);
                 annotatedTypesPerBda.put(bdaEntry.getKey(), annotatedTypes);
             }
 
             // also add the rest of the class es to the default bda
             // we also need this initialised in case annotatedTypes get added manually at a later step
-            annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses));
+            annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypesFromBdaClassPath(scanner.getBeanClasses(), foundClasses, unloadableClasses));
         }
         else
         {
             // this path is only for backward compat to older ScannerService implementations
 
             Set<Class<?>> classIndex = scanner.getBeanClasses();
-            List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses);
+            List<AnnotatedType<?>> annotatedTypes = annotatedTypesFromBdaClassPath(classIndex, foundClasses, unloadableClasses);
 
             annotatedTypesPerBda.put(defaultBeanArchiveInformation, annotatedTypes);
         }
@@ -1337,8 +1598,10 @@ public class BeansDeployer
 
     /**
      * @param foundClasses classes which already got processed. To prevent picking up the same class from multiple classpaths
+     * @param unloadableClasses classes which failed with a NoClassDefFoundError or UnsatisfiedLinkError during this deployment
      */
-    private List<AnnotatedType<?>> annotatedTypesFromBdaClassPath(Set<Class<?>> classIndex, Set<Class<?>> foundClasses)
+    private List<AnnotatedType<?>> annotatedTypesFromBdaClassPath(Set<Class<?>> classIndex, Set<Class<?>> foundClasses,
+                                                                  Set<Class<?>> unloadableClasses)
     {
         List<AnnotatedType<?>> annotatedTypes = new ArrayList<>();
 
@@ -1360,6 +1623,17 @@ public class BeansDeployer
 
                     foundClasses.add(implClass);
 
+                    if (extendsUnloadableClass(implClass, unloadableClasses))
+                    {
+                        // the inherited members of an unloadable class would fail again
+                        if (logger.isLoggable(Level.FINE))
+                        {
+                            logger.fine("Skipping deployment of Class " + implClass + " because a super class failed to load");
+                        }
+                        unloadableClasses.add(implClass);
+                        continue;
+                    }
+
                     if (isVetoed(implClass))
                     {
                         if (isEEComponent(implClass))
@@ -1413,10 +1687,12 @@ public class BeansDeployer
                 }
                 catch (NoClassDefFoundError ncdfe)
                 {
+                    unloadableClasses.add(implClass);
                     logger.info("Skipping deployment of Class " + implClass + " due to a NoClassDefFoundError: " + ncdfe.getMessage());
                 }
                 catch (UnsatisfiedLinkError ule)
                 {
+                    unloadableClasses.add(implClass);
                     logger.info("Skipping deployment of Class " + implClass + " due to a UnsatisfiedLinkError: " + ule.getMessage());
                 }
             }
@@ -1425,6 +1701,26 @@ public class BeansDeployer
         return annotatedTypes;
     }
 
+    /**
+     * AnnotatedTypes contain the members of all super classes, so they fail for the same reason.
+     */
+    private boolean extendsUnloadableClass(Class<?> implClass, Set<Class<?>> unloadableClasses)
+    {
+        if (unloadableClasses.isEmpty())
+        {
+            return false;
+        }
+
+        for (Class<?> clazz = implClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass())
+        {
+            if (clazz != implClass && unloadableClasses.contains(clazz))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isEEComponent(Class<?> impl)
     {
         OpenWebBeansJavaEEPlugin eePlugin = webBeansContext.getPluginLoader().getJavaEEPlugin();
@@ -80,6 +80,31 @@ public class OpenWebBeansConfiguration
     /**If generics should be taken into account for the matching*/
     public static final String FAST_MATCHING = "org.apache.webbeans.container.InjectionResolver.fastMatching";
 
+    /**
+     * Maximum number of memoized type assignability results, see {@link org.apache.webbeans.util.TypeAssignabilityCache}.
+     * A value of 0 disables the cache. Defaults to 10000.
+     */
+    public static final String TYPE_ASSIGNABILITY_CACHE_SIZE = "org.apache.webbeans.container.typeAssignabilityCacheSize";
+
+    /**
+     * A comma-separated list of fully qualified &#064;RequestScoped bean classes.
+     * Their instances get pooled and reset at the end of a request instead of getting destroyed.
+     * @see org.apache.webbeans.context.RequestBeanPool
+     */
+    public static final String POOLED_REQUEST_BEANS = "org.apache.webbeans.context.request.pooledBeans";
+
+    /**
+     * The maximum number of idle pooled instances per &#064;RequestScoped bean. Defaults to 16.
+     */
+    public static final String REQUEST_BEAN_POOL_SIZE = "org.apache.webbeans.context.request.poolSize";
+
+    /**
+     * A comma-separated list of fully qualified interceptor classes which do not hold any state.
+     * The container creates a single instance of those interceptors per deployment
+     * and shares it between all intercepted beans.
+     */
+    public static final String STATELESS_INTERCEPTORS = "org.apache.webbeans.interceptor.statelessInterceptors";
+
     /**Use EJB Discovery or not*/
     public static final String USE_EJB_DISCOVERY = "org.apache.webbeans.spi.deployer.useEjbMetaDataDiscoveryService";
 
@@ -139,6 +164,29 @@ public class OpenWebBeansConfiguration
      */
     public static final String PROXY_MAPPING_PREFIX = "org.apache.webbeans.proxy.mapping.";
 
+    /**
+     * If the ApplicationScopedBeanInterceptorHandler is configured for a scope, then the generated
+     * proxy caches the contextual instance itself and dispatches each call directly to it.
+     * Not used together with static proxy names. Defaults to {@code false}.
+     */
+    public static final String PROXY_DIRECT_DISPATCH = "org.apache.webbeans.proxy.applicationScoped.directDispatch";
+
+    /**
+     * If {@code true} jar files get scanned by reading their zip central directory from the memory mapped file
+     * instead of using a JarFile, and only the classes passing the scanning filters get read.
+     * The mapping only gets unmapped once it got garbage collected after the deployment,
+     * so on Windows the jar files stay locked until then, e.g. for a redeployment.
+     * Defaults to {@code false}.
+     */
+    public static final String SCAN_ZIP_CENTRAL_DIRECTORY = "org.apache.webbeans.scanner.zipCentralDirectory";
+
+    /**
+     * If {@code true} the normal scope and interceptor/decorator proxy classes get shared JVM wide
+     * by all containers which use the same ClassLoader, e.g. restarted SE containers or test containers.
+     * Defaults to {@code false}.
+     */
+    public static final String SHARED_PROXY_CLASSES = "org.apache.webbeans.proxy.shared";
+
     /**
      * Use BDABeansXmlScanner to determine if interceptors, decorators, and
      * alternatives are enabled in the beans.xml of a given BDA. For an
@@ -196,6 +244,45 @@ public class OpenWebBeansConfiguration
      */
     public static final String EAGER_SESSION_INITIALISATION = "org.apache.webbeans.web.eagerSessionInitialisation";
 
+    /**
+     * If {@code true} the RequestContext of a web request only gets created when it is used for the first time.
+     * Requests which never touch a &#064;RequestScoped bean, e.g. static resources or health checks,
+     * then don't pay for creating and destroying it.
+     * This only takes effect if there is no observer for the lifecycle events of the RequestContext.
+     * Defaults to {@code false}.
+     */
+    public static final String LAZY_REQUEST_CONTEXT = "org.apache.webbeans.web.lazyRequestContext";
+
+    /**
+     * If {@code true} the container releases all metadata which is only needed for the deployment
+     * once AfterDeploymentValidation got fired and logs how many entries got released.
+     * Defaults to {@code false}.
+     */
+    public static final String TRIM_METADATA = "org.apache.webbeans.deployment.trimMetaData";
+
+    /**
+     * If {@code true} the deployment only computes the bean attributes eagerly.
+     * The InjectionPoints of managed beans, the interceptor and decorator information and the
+     * interceptor proxy classes get created when a bean gets used for the first time.
+     * The validation of the InjectionPoints gets skipped, it can be run on demand
+     * via {@link org.apache.webbeans.config.BeansDeployer#validateDeployment()}, e.g. in a CI build.
+     * Defaults to {@code false}.
+     */
+    public static final String LAZY_BEANS = "org.apache.webbeans.deployment.lazyBeans";
+
+    /**
+     * If {@code true} the {@link org.apache.webbeans.diagnostics.FootprintDiagnostics} get registered
+     * as MBean and track all SessionContexts. Defaults to {@code false}.
+     */
+    public static final String FOOTPRINT_DIAGNOSTICS = "org.apache.webbeans.diagnostics.footprint";
+
+    /**
+     * If {@code true} an event which gets fired several times within the same transaction
+     * only gets delivered once to each transactional observer. Events are considered
+     * duplicates if they are equal and have the same qualifiers. Defaults to {@code false}.
+     */
+    public static final String COALESCE_TRANSACTIONAL_EVENTS = "org.apache.webbeans.event.transactional.coalesce";
+
     /**
      * The Java Version to use for the generated proxy classes.
      * If "auto" then we will pick the version of the current JVM.
@@ -232,6 +319,16 @@ public class OpenWebBeansConfiguration
      */
     private Boolean scanExtensionJars;
 
+    /**
+     * @see #POOLED_REQUEST_BEANS
+     */
+    private Set<String> pooledRequestBeans;
+
+    /**
+     * @see #STATELESS_INTERCEPTORS
+     */
+    private Set<String> statelessInterceptors;
+
     /**
      * All configured lists per key.
      *
@@ -464,6 +561,31 @@ public class OpenWebBeansConfiguration
         return ignoredExtensions;
     }
 
+    public synchronized Set<String> getPooledRequestBeans()
+    {
+        if (pooledRequestBeans == null)
+        {
+            pooledRequestBeans = getPropertyList(POOLED_REQUEST_BEANS);
+            pooledRequestBeans.remove("");
+        }
+        return pooledRequestBeans;
+    }
+
+    public synchronized Set<String> getStatelessInterceptors()
+    {
+        if (statelessInterceptors == null)
+        {
+            statelessInterceptors = getPropertyList(STATELESS_INTERCEPTORS);
+            statelessInterceptors.remove("");
+        }
+        return statelessInterceptors;
+    }
+
+    public int getRequestBeanPoolSize()
+    {
+        return Integer.parseInt(getProperty(REQUEST_BEAN_POOL_SIZE, "16").trim());
+    }
+
     public synchronized boolean getScanExtensionJars()
     {
         if (scanExtensionJars == null)
@@ -570,6 +692,51 @@ public class OpenWebBeansConfiguration
                 "org.apache.webbeans.spi.deployer.skipNoClassDefFoundTriggers"));
     }
 
+    public boolean isProxyDirectDispatch()
+    {
+        return Boolean.parseBoolean(getProperty(PROXY_DIRECT_DISPATCH, "false").trim());
+    }
+
+    public boolean isScanZipCentralDirectory()
+    {
+        return Boolean.parseBoolean(getProperty(SCAN_ZIP_CENTRAL_DIRECTORY, "false").trim());
+    }
+
+    public boolean isSharedProxyClasses()
+    {
+        return Boolean.parseBoolean(getProperty(SHARED_PROXY_CLASSES, "false").trim());
+    }
+
+    public boolean isLazyRequestContext()
+    {
+        return Boolean.parseBoolean(getProperty(LAZY_REQUEST_CONTEXT, "false").trim());
+    }
+
+    public boolean isTrimMetaData()
+    {
+        return Boolean.parseBoolean(getProperty(TRIM_METADATA, "false").trim());
+    }
+
+    public boolean isLazyBeans()
+    {
+        return Boolean.parseBoolean(getProperty(LAZY_BEANS, "false").trim());
+    }
+
+    public boolean isFootprintDiagnostics()
+    {
+        return Boolean.parseBoolean(getProperty(FOOTPRINT_DIAGNOSTICS, "false").trim());
+    }
+
+    public boolean isCoalesceTransactionalEvents()
+    {
+        return Boolean.parseBoolean(getProperty(COALESCE_TRANSACTIONAL_EVENTS, "false").trim());
+    }
+
+    public int getTypeAssignabilityCacheSize()
+    {
+        return Integer.parseInt(getProperty(TYPE_ASSIGNABILITY_CACHE_SIZE, "10000").trim());
+    }
+
     public List<String> getProxyReservedPackages()
     {
         if (proxyReservedPackages == null)
@@ -20,6 +20,7 @@ package org.apache.webbeans.config;
 
 import java.lang.reflect.Type;
 import java.lang.reflect.WildcardType;
+import java.util.Arrays;
 
 public class OwbWildcardTypeImpl implements WildcardType
 {
@@ -45,6 +46,34 @@ public class OwbWildcardTypeImpl implements WildcardType
         return lowerBounds.clone();
     }
 
+    /**
+     * Same hashCode as the JVM representation of an equal wildcard.
+     */
+    @Override
+    public int hashCode()
+    {
+        return Arrays.hashCode(upperBounds) ^ Arrays.hashCode(lowerBounds);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        else if (obj instanceof WildcardType)
+        {
+            WildcardType that = (WildcardType) obj;
+            return Arrays.equals(upperBounds, that.getUpperBounds())
+                    && Arrays.equals(lowerBounds, that.getLowerBounds());
+        }
+        else
+        {
+            return false;
+        }
+    }
+
     public String toString()
     {
         StringBuilder buffer = new StringBuilder("?");
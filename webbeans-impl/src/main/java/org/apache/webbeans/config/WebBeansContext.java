@@ -34,6 +34,7 @@ import org.apache.webbeans.annotation.AnnotationManager;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.container.SerializableBeanVault;
+import org.apache.webbeans.context.RequestBeanPool;
 import org.apache.webbeans.context.creational.CreationalContextFactory;
 import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.conversation.DefaultConversationService;
@@ -43,6 +44,7 @@ import org.apache.webbeans.corespi.se.DefaultJndiService;
 import org.apache.webbeans.corespi.security.SimpleSecurityService;
 import org.apache.webbeans.decorator.DecoratorsManager;
 import org.apache.webbeans.deployment.StereoTypeManager;
+import org.apache.webbeans.diagnostics.FootprintDiagnostics;
 import org.apache.webbeans.event.NotificationManager;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.inject.AlternativesManager;
@@ -69,6 +71,7 @@ import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.spi.plugins.OpenWebBeansPlugin;
 import org.apache.webbeans.util.ClassUtil;
+import org.apache.webbeans.util.TypeAssignabilityCache;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveService;
 
@@ -118,6 +121,9 @@ public class WebBeansContext
     private ConversationService conversationService;
     private final ApplicationBoundaryService applicationBoundaryService;
     private final NotificationManager notificationManager;
+    private final TypeAssignabilityCache typeAssignabilityCache;
+    private final RequestBeanPool requestBeanPool;
+    private final FootprintDiagnostics footprintDiagnostics;
     private TransactionService transactionService;
 
 
@@ -162,6 +168,9 @@ public class WebBeansContext
                 serviceMap.put(entry.getKey(), entry.getValue());
             }
         }
+        typeAssignabilityCache = new TypeAssignabilityCache(this.openWebBeansConfiguration.getTypeAssignabilityCacheSize());
+        requestBeanPool = new RequestBeanPool(this.openWebBeansConfiguration);
+        footprintDiagnostics = new FootprintDiagnostics(this);
         injectionPointFactory = new InjectionPointFactory(this);
         loaderService = getService(LoaderService.class);
         securityService = getService(SecurityService.class);
@@ -263,6 +272,21 @@ public class WebBeansContext
         return interceptorUtil;
     }
 
+    public TypeAssignabilityCache getTypeAssignabilityCache()
+    {
+        return typeAssignabilityCache;
+    }
+
+    public RequestBeanPool getRequestBeanPool()
+    {
+        return requestBeanPool;
+    }
+
+    public FootprintDiagnostics getFootprintDiagnostics()
+    {
+        return footprintDiagnostics;
+    }
+
     public InjectionPointFactory getInjectionPointFactory()
     {
         return injectionPointFactory;
@@ -636,6 +660,7 @@ public class WebBeansContext
 
         managerMap.clear();
         serviceMap.clear();
+        typeAssignabilityCache.clear();
     }
 
     private void destroyServices(Collection<Object> services)
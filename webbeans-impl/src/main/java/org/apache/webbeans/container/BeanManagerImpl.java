@@ -19,6 +19,7 @@
 package org.apache.webbeans.container;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -31,6 +32,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -186,6 +188,15 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     private Map<Class<?>, Producer<?>> producersForJavaEeComponents =
         new ConcurrentHashMap<>();
 
+    /**
+     * InjectionTargets for the non-contextual injection of framework objects like Servlets,
+     * Filters or tag handlers, see {@link #getNonContextualInjectionTarget(Class)}.
+     * The keys are weak to not pin classes of reloaded JSPs and the like.
+     * The values are soft as the InjectionTarget itself references the class.
+     */
+    private final Map<Class<?>, SoftReference<InjectionTarget<?>>> nonContextualInjectionTargets =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
     private AnnotatedElementFactory annotatedElementFactory;
 
     private final WebBeansContext webBeansContext;
@@ -254,6 +265,23 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return (Producer<T>) producersForJavaEeComponents.get(javaEeComponentClass);
     }
 
+    /**
+     * Like {@link #createInjectionTarget(AnnotatedType)} but the InjectionTarget
+     * gets created only once per class and reused for all further instances.
+     * Used for injecting into objects created by the servlet container and other frameworks.
+     */
+    public <T> InjectionTarget<T> getNonContextualInjectionTarget(Class<T> type)
+    {
+        SoftReference<InjectionTarget<?>> reference = nonContextualInjectionTargets.get(type);
+        InjectionTarget<T> injectionTarget = reference == null ? null : (InjectionTarget<T>) reference.get();
+        if (injectionTarget == null)
+        {
+            injectionTarget = createInjectionTarget(createAnnotatedType(type));
+            nonContextualInjectionTargets.put(type, new SoftReference<>(injectionTarget));
+        }
+        return injectionTarget;
+    }
+
     public ErrorStack getErrorStack()
     {
         return errorStack;
@@ -379,6 +407,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             deploymentBeans.add(bean);
             thirdPartyMapping.put(newBean, bean);
         }
+        injectionResolver.beanAdded();
 
         return this;
     }
@@ -528,7 +557,8 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         webBeansContext.getAnnotationManager().checkInterceptorResolverParams(interceptorBindings);
 
-        return webBeansContext.getInterceptorsManager().resolveInterceptors(type, interceptorBindings);
+        // the resolved interceptors are cached, so don't hand out the cached list
+        return new ArrayList<>(webBeansContext.getInterceptorsManager().resolveInterceptors(type, interceptorBindings));
     }
 
 
@@ -755,7 +785,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             boolean isProducer = AbstractProducerBean.class.isInstance(bean);
             if(!isProducer && // we have different rules for producers
                !isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, isProducer) &&
-               !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()) &&
+               !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass()) &&
                !GenericsUtil.satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()))
             {
                 throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
@@ -934,7 +964,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         for (Type beanApiType : beanTypes)
         {
-            if (GenericsUtil.satisfiesDependency(false, producer, givenType, beanApiType, new HashMap<>()))
+            if (webBeansContext.getTypeAssignabilityCache().satisfiesDependency(false, producer, givenType, beanApiType))
             {
                 return true;
             }
@@ -1468,6 +1498,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         deploymentBeans.clear();
         errorStack.clear();
         producersForJavaEeComponents.clear();
+        nonContextualInjectionTargets.clear();
         passivationBeans.clear();
         webBeansContext.getInterceptorsManager().clear();
         webBeansContext.getDecoratorsManager().clear();
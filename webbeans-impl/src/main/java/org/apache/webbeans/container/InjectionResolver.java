@@ -29,6 +29,7 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.inject.AlternativesManager;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
 import org.apache.webbeans.spi.ScannerService;
@@ -38,6 +39,7 @@ import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.GenericsUtil;
 import org.apache.webbeans.util.InjectionExceptionUtil;
 import org.apache.webbeans.util.SingleItemSet;
+import org.apache.webbeans.util.TypeAssignabilityCache;
 import org.apache.webbeans.util.WebBeansUtil;
 
 import javax.enterprise.event.Event;
@@ -53,6 +55,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -61,6 +65,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -100,6 +105,21 @@ public class InjectionResolver
      */
     private Map<String, Set<Bean<?>>> resolvedBeansByName = new ConcurrentHashMap<>();
 
+    /**
+     * Index of all deployed beans by the raw classes of their bean types.
+     * Gets lazily built once the container is out of startup mode
+     * and dropped whenever the set of beans changes.
+     * @see #getBeansByRawType()
+     */
+    private volatile BeanTypeIndex beansByRawType;
+
+    /**
+     * Gets incremented whenever the outcome of a resolution might change,
+     * e.g. because a bean got added or the caches got cleared.
+     * Allows callers to safely keep their own resolution results.
+     */
+    private final AtomicLong deploymentGeneration = new AtomicLong();
+
     /**
      * Whether the container is in startup mode.
      * Set to {@code false} immediately before the BeforeDeploymentValidation event gets fired.
@@ -134,6 +154,20 @@ public class InjectionResolver
     public void setStartup(boolean startup)
     {
         this.startup = startup;
+        deploymentGeneration.incrementAndGet();
+    }
+
+    public boolean isStartup()
+    {
+        return startup;
+    }
+
+    /**
+     * @return a counter which changes whenever previously resolved beans might not be valid anymore
+     */
+    public long getDeploymentGeneration()
+    {
+        return deploymentGeneration.get();
     }
     
     /**
@@ -143,6 +177,34 @@ public class InjectionResolver
     {
         resolvedBeansByName.clear();
         resolvedBeansByType.clear();
+        beansByRawType = null;
+        deploymentGeneration.incrementAndGet();
+    }
+
+    /**
+     * @return the number of cached type resolutions per resolved Bean
+     */
+    public Map<Bean<?>, Integer> getResolutionCacheEntriesPerBean()
+    {
+        Map<Bean<?>, Integer> entries = new HashMap<>();
+        for (Set<Bean<?>> resolvedBeans : resolvedBeansByType.values())
+        {
+            for (Bean<?> bean : resolvedBeans)
+            {
+                entries.merge(bean, 1, Integer::sum);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Invoked whenever a bean got added to the BeanManager.
+     * This drops the raw type index so it will get rebuilt on the next cache miss.
+     */
+    public void beanAdded()
+    {
+        beansByRawType = null;
+        deploymentGeneration.incrementAndGet();
     }
 
     /**
@@ -263,7 +325,25 @@ public class InjectionResolver
      */
     public Bean<?> getInjectionPointBean(InjectionPoint injectionPoint)
     {
+        if (startup || !(injectionPoint instanceof InjectionPointImpl))
+        {
+            return resolveInjectionPointBean(injectionPoint);
+        }
+
+        // an InjectionPointImpl never changes, so we can keep the resolved Bean in the InjectionPoint itself
+        InjectionPointImpl injectionPointImpl = (InjectionPointImpl) injectionPoint;
+        long generation = deploymentGeneration.get();
+        Bean<?> bean = injectionPointImpl.getResolvedBean(generation);
+        if (bean == null)
+        {
+            bean = resolveInjectionPointBean(injectionPoint);
+            injectionPointImpl.setResolvedBean(bean, generation);
+        }
+        return bean;
+    }
 
+    private Bean<?> resolveInjectionPointBean(InjectionPoint injectionPoint)
+    {
         Type type = injectionPoint.getType();
         Class<?> clazz;
 
@@ -479,49 +559,29 @@ public class InjectionResolver
 
         boolean returnAll = injectionPointType.equals(Object.class) && currentQualifier;
 
-        for (Bean<?> component : webBeansContext.getBeanManagerImpl().getBeans())
+        if (returnAll)
         {
-            // no need to check instanceof OwbBean as we always wrap in a
-            // ThirdpartyBeanImpl at least
-            if (!((OwbBean) component).isEnabled())
-            {
-                continue;
-            }
-
-            if (returnAll)
+            for (Bean<?> component : webBeansContext.getBeanManagerImpl().getBeans())
             {
-                resolvedComponents.add(component);
-            }
-            else
-            {
-                if (fastMatching)
+                // no need to check instanceof OwbBean as we always wrap in a
+                // ThirdpartyBeanImpl at least
+                if (((OwbBean) component).isEnabled())
                 {
-                    for (Type componentApiType : component.getTypes())
-                    {
-
-                        if (ClassUtil.isRawClassEquals(injectionPointType, componentApiType))
-                        {
-                            resolvedComponents.add(component);
-                            break;
-                        }
-                    }
-                }
-                else
-                {
-                    for (Type componentApiType : component.getTypes())
-                    {
-
-                        if (GenericsUtil.satisfiesDependency(
-                                isDelegate, AbstractProducerBean.class.isInstance(component),
-                                injectionPointType, componentApiType, new HashMap<>()))
-                        {
-                            resolvedComponents.add(component);
-                            break;
-                        }
-                    }
+                    resolvedComponents.add(component);
                 }
             }
         }
+        else if (startup)
+        {
+            matchByType(webBeansContext.getBeanManagerImpl().getBeans(), isDelegate, injectionPointType, resolvedComponents);
+        }
+        else
+        {
+            // only beans which have the raw injection point type in their type closure can match
+            BeanTypeIndex index = getBeansByRawType();
+            matchByType(index.getBeans(getRawTypeKey(injectionPointType)), isDelegate, injectionPointType, resolvedComponents);
+            matchByType(index.getUnindexedBeans(), isDelegate, injectionPointType, resolvedComponents);
+        }
 
         if (!returnAll)
         {
@@ -569,6 +629,128 @@ public class InjectionResolver
         return resolvedComponents;
     }
 
+    private void matchByType(Collection<Bean<?>> beans, boolean isDelegate, Type injectionPointType, Set<Bean<?>> resolvedComponents)
+    {
+        TypeAssignabilityCache typeAssignabilityCache = webBeansContext.getTypeAssignabilityCache();
+        for (Bean<?> component : beans)
+        {
+            // no need to check instanceof OwbBean as we always wrap in a
+            // ThirdpartyBeanImpl at least
+            if (!((OwbBean) component).isEnabled())
+            {
+                continue;
+            }
+
+            if (fastMatching)
+            {
+                for (Type componentApiType : component.getTypes())
+                {
+
+                    if (ClassUtil.isRawClassEquals(injectionPointType, componentApiType))
+                    {
+                        resolvedComponents.add(component);
+                        break;
+                    }
+                }
+            }
+            else
+            {
+                for (Type componentApiType : component.getTypes())
+                {
+
+                    if (typeAssignabilityCache.satisfiesDependency(
+                            isDelegate, AbstractProducerBean.class.isInstance(component),
+                            injectionPointType, componentApiType))
+                    {
+                        resolvedComponents.add(component);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private BeanTypeIndex getBeansByRawType()
+    {
+        BeanTypeIndex index = beansByRawType;
+        if (index == null)
+        {
+            synchronized (this)
+            {
+                index = beansByRawType;
+                if (index == null)
+                {
+                    index = new BeanTypeIndex(webBeansContext.getBeanManagerImpl().getBeans());
+                    beansByRawType = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return the raw class of the given type with primitives boxed,
+     *         or {@code null} for types which cannot be matched by their raw type.
+     */
+    private static Class<?> getRawTypeKey(Type type)
+    {
+        Type rawType = type instanceof ParameterizedType ? ((ParameterizedType) type).getRawType() : type;
+        if (rawType instanceof Class)
+        {
+            Class<?> rawClass = (Class<?>) rawType;
+            return rawClass.isPrimitive() ? ClassUtil.getPrimitiveWrapper(rawClass) : rawClass;
+        }
+        return null;
+    }
+
+    /**
+     * Immutable raw class to beans index.
+     * Beans which have a TypeVariable, WildcardType or GenericArrayType in their types
+     * are not matched by raw type in {@link GenericsUtil#satisfiesDependency(boolean, boolean, Type, Type)},
+     * thus they are candidates for every injection point.
+     */
+    private static final class BeanTypeIndex
+    {
+        private final Map<Class<?>, List<Bean<?>>> beansByRawType = new HashMap<>();
+        private final List<Bean<?>> unindexedBeans = new ArrayList<>();
+
+        private BeanTypeIndex(Set<Bean<?>> beans)
+        {
+            for (Bean<?> bean : beans)
+            {
+                Set<Class<?>> rawTypes = new HashSet<>();
+                boolean unindexed = false;
+                for (Type type : bean.getTypes())
+                {
+                    Class<?> rawType = getRawTypeKey(type);
+                    if (rawType == null)
+                    {
+                        unindexed = true;
+                    }
+                    else if (rawTypes.add(rawType))
+                    {
+                        beansByRawType.computeIfAbsent(rawType, k -> new ArrayList<>()).add(bean);
+                    }
+                }
+                if (unindexed)
+                {
+                    unindexedBeans.add(bean);
+                }
+            }
+        }
+
+        private List<Bean<?>> getBeans(Class<?> rawType)
+        {
+            List<Bean<?>> beans = rawType == null ? null : beansByRawType.get(rawType);
+            return beans == null ? Collections.emptyList() : beans;
+        }
+
+        private List<Bean<?>> getUnindexedBeans()
+        {
+            return unindexedBeans;
+        }
+    }
+
     private void findNewBean(Set<Bean<?>> resolvedComponents, Type injectionPointType, Annotation[] qualifiers)
     {
         if (qualifiers.length == 1 && New.class.equals(qualifiers[0].annotationType()))
@@ -598,13 +780,14 @@ public class InjectionResolver
             return allComponents;
         }
 
+        TypeAssignabilityCache typeAssignabilityCache = webBeansContext.getTypeAssignabilityCache();
         Set<Bean<?>> resolved = new HashSet<>();
         for (Bean<?> bean : allComponents)
         {
             boolean isProducer = AbstractProducerBean.class.isInstance(bean);
             for (Type type : bean.getTypes())
             {
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, type, new HashMap<>()))
+                if (typeAssignabilityCache.satisfiesDependency(isDelegate, isProducer, injectionPointType, type))
                 {
                     resolved.add(bean);
                 }
@@ -623,6 +806,7 @@ public class InjectionResolver
     {
         Bean<?> rawProducerBean = null;
 
+        TypeAssignabilityCache typeAssignabilityCache = webBeansContext.getTypeAssignabilityCache();
         Set<Bean<?>> resolvedComponents = new HashSet<>();
         for (Bean<?> component : allComponents)
         {
@@ -630,7 +814,7 @@ public class InjectionResolver
             for (Type componentApiType : component.getTypes())
             {
 
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType, new HashMap<>()))
+                if (typeAssignabilityCache.satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType))
                 {
                     resolvedComponents.add(component);
                     break;
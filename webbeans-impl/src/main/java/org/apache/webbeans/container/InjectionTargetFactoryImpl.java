@@ -62,8 +62,20 @@ public class InjectionTargetFactoryImpl<T> implements InjectionTargetFactory<T>
     public InjectionTarget<T> createInjectionTarget(Bean<T> bean)
     {
         AnnotatedType<T> at = getAnnotatedType();
-        InjectionTargetImpl<T> injectionTarget
-            = new InjectionTargetImpl<>(at, createInjectionPoints(bean), webBeansContext, getPostConstructMethods(), getPreDestroyMethods());
+        InjectionTargetImpl<T> injectionTarget;
+        if (isLazyInjectionPoints(bean))
+        {
+            injectionTarget = new InjectionTargetImpl<>(at, () ->
+            {
+                Set<InjectionPoint> injectionPoints = webBeansContext.getInjectionPointFactory().buildInjectionPoints(bean, at);
+                webBeansContext.getWebBeansUtil().validateBeanInjection(bean, injectionPoints);
+                return injectionPoints;
+            }, webBeansContext, getPostConstructMethods(), getPreDestroyMethods());
+        }
+        else
+        {
+            injectionTarget = new InjectionTargetImpl<>(at, createInjectionPoints(bean), webBeansContext, getPostConstructMethods(), getPreDestroyMethods());
+        }
         if (ManagedBean.class.isInstance(bean))
         {
             ManagedBean.class.cast(bean).setOriginalInjectionTarget(injectionTarget);
@@ -79,6 +91,17 @@ public class InjectionTargetFactoryImpl<T> implements InjectionTargetFactory<T>
         return it;
     }
 
+    /**
+     * In the lazy bean mode the InjectionPoints of managed beans get created on first access.
+     * This is not possible if an Extension observes ProcessInjectionPoint.
+     */
+    private boolean isLazyInjectionPoints(Bean<T> bean)
+    {
+        return ManagedBean.class.isInstance(bean)
+            && webBeansContext.getOpenWebBeansConfiguration().isLazyBeans()
+            && !webBeansContext.getNotificationManager().hasProcessInjectionPointObservers();
+    }
+
     public Set<InjectionPoint> createInjectionPoints(Bean<T> bean)
     {
         return webBeansContext.getInjectionPointFactory().buildInjectionPoints(bean, getAnnotatedType());
@@ -65,7 +65,7 @@ public abstract class AbstractContext implements AlterableContext, Serializable
     @SuppressWarnings("unchecked")
     private <T> BeanInstanceBag<T> createContextualBag(Contextual<T> contextual, CreationalContext<T> creationalContext)
     {
-        BeanInstanceBag<T> bag = new BeanInstanceBag<>(creationalContext);
+        BeanInstanceBag<T> bag = newBeanInstanceBag(contextual, creationalContext);
         
         if(componentInstanceMap instanceof ConcurrentMap)
         {
@@ -83,6 +83,14 @@ public abstract class AbstractContext implements AlterableContext, Serializable
         return bag;
     }
     
+    /**
+     * Creates the bag which holds the Contextual Instance of the given contextual in this context.
+     */
+    protected <T> BeanInstanceBag<T> newBeanInstanceBag(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        return new BeanInstanceBag<>(creationalContext);
+    }
+
     /**
      * Creates a new context with given scope type.
      * 
@@ -220,6 +228,14 @@ public abstract class AbstractContext implements AlterableContext, Serializable
         setActive(false);
     }
 
+    /**
+     * @return the number of contextual instances which currently live in this context
+     */
+    public int getInstanceCount()
+    {
+        return componentInstanceMap == null ? 0 : componentInstanceMap.size();
+    }
+
     /**
      * Gets context active flag.
      * 
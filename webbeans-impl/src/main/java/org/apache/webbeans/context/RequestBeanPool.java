@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Keeps idle instances of expensive &#064;RequestScoped beans around for the next requests.
+ *
+ * <p>Pooling is opt-in per bean class via {@link OpenWebBeansConfiguration#POOLED_REQUEST_BEANS}.
+ * At the end of a request the {@link RequestContext} hands the instances of pooled beans back
+ * instead of destroying them. Instances which implement {@link Resettable} get reset and
+ * stored in a bounded pool per bean. All other instances, or if the pool is full,
+ * get destroyed as usual.</p>
+ *
+ * <p>Pooled instances keep their CreationalContext, so their &#064;Dependent objects
+ * only get destroyed together with the instance itself.</p>
+ */
+public class RequestBeanPool
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(RequestBeanPool.class);
+
+    private final Set<String> pooledBeanClasses;
+    private final int maxSize;
+
+    /**
+     * The idle instances per pooled bean.
+     */
+    private final ConcurrentMap<Contextual<?>, BlockingQueue<BeanInstanceBag<?>>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Whether a Contextual gets pooled at all.
+     */
+    private final ConcurrentMap<Contextual<?>, Boolean> pooledContextuals = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public RequestBeanPool(OpenWebBeansConfiguration configuration)
+    {
+        pooledBeanClasses = configuration.getPooledRequestBeans();
+        maxSize = configuration.getRequestBeanPoolSize();
+    }
+
+    /**
+     * @return {@code false} if no bean is configured to get pooled
+     */
+    public boolean isEnabled()
+    {
+        return maxSize > 0 && !pooledBeanClasses.isEmpty();
+    }
+
+    public boolean isPooled(Contextual<?> contextual)
+    {
+        if (!isEnabled())
+        {
+            return false;
+        }
+
+        Boolean pooled = pooledContextuals.get(contextual);
+        if (pooled == null)
+        {
+            pooled = contextual instanceof Bean && pooledBeanClasses.contains(((Bean<?>) contextual).getBeanClass().getName());
+            pooledContextuals.putIfAbsent(contextual, pooled);
+        }
+        return pooled;
+    }
+
+    /**
+     * @return an idle instance of the given bean or {@code null} if there is none
+     */
+    public <T> BeanInstanceBag<T> borrow(Contextual<T> contextual)
+    {
+        if (!isPooled(contextual))
+        {
+            return null;
+        }
+
+        BlockingQueue<BeanInstanceBag<?>> pool = pools.get(contextual);
+        BeanInstanceBag<T> bag = pool == null ? null : (BeanInstanceBag<T>) pool.poll();
+        if (bag == null)
+        {
+            misses.incrementAndGet();
+        }
+        else
+        {
+            hits.incrementAndGet();
+        }
+        return bag;
+    }
+
+    /**
+     * Resets the instance of the given bag and keeps it for later use.
+     * If this is not possible the instance gets destroyed.
+     */
+    public <T> void release(Contextual<T> contextual, BeanInstanceBag<T> bag)
+    {
+        T instance = bag.getBeanInstance();
+        if (instance == null)
+        {
+            return;
+        }
+
+        if (instance instanceof Resettable && reset((Resettable) instance) && getPool(contextual).offer(bag))
+        {
+            return;
+        }
+
+        destroy(contextual, bag);
+    }
+
+    /**
+     * @return the number of requests which got served with a pooled instance
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of requests which had to create a new instance of a pooled bean
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of idle instances over all pooled beans
+     */
+    public int getSize()
+    {
+        int size = 0;
+        for (BlockingQueue<BeanInstanceBag<?>> pool : pools.values())
+        {
+            size += pool.size();
+        }
+        return size;
+    }
+
+    /**
+     * Destroys all idle instances. Gets invoked at container shutdown.
+     */
+    public void destroy()
+    {
+        for (Map.Entry<Contextual<?>, BlockingQueue<BeanInstanceBag<?>>> entry : pools.entrySet())
+        {
+            BeanInstanceBag<?> bag;
+            while ((bag = entry.getValue().poll()) != null)
+            {
+                destroy((Contextual<Object>) entry.getKey(), (BeanInstanceBag<Object>) bag);
+            }
+        }
+        pools.clear();
+        pooledContextuals.clear();
+    }
+
+    private BlockingQueue<BeanInstanceBag<?>> getPool(Contextual<?> contextual)
+    {
+        BlockingQueue<BeanInstanceBag<?>> pool = pools.get(contextual);
+        if (pool == null)
+        {
+            pool = new ArrayBlockingQueue<>(maxSize);
+            BlockingQueue<BeanInstanceBag<?>> existing = pools.putIfAbsent(contextual, pool);
+            if (existing != null)
+            {
+                pool = existing;
+            }
+        }
+        return pool;
+    }
+
+    private boolean reset(Resettable instance)
+    {
+        try
+        {
+            instance.reset();
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            logger.log(Level.WARNING, "Could not reset pooled instance " + instance + ", it will get destroyed", e);
+            return false;
+        }
+    }
+
+    private <T> void destroy(Contextual<T> contextual, BeanInstanceBag<T> bag)
+    {
+        CreationalContext<T> creationalContext = bag.getBeanCreationalContext();
+        contextual.destroy(bag.getBeanInstance(), creationalContext);
+    }
+}
@@ -19,10 +19,14 @@
 package org.apache.webbeans.context;
 
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
 
+import org.apache.webbeans.context.creational.BeanInstanceBag;
 import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 /**
@@ -44,6 +48,11 @@ public class RequestContext extends AbstractContext
      */
     private Object httpSession;
 
+    /**
+     * Lends and takes back the instances of pooled beans or {@code null} if pooling is disabled.
+     */
+    private transient RequestBeanPool beanPool;
+
     /*
     * Constructor
     */
@@ -87,6 +96,46 @@ public class RequestContext extends AbstractContext
         return propagatedSessionContext;
     }
 
+    public void setBeanPool(RequestBeanPool beanPool)
+    {
+        this.beanPool = beanPool != null && beanPool.isEnabled() ? beanPool : null;
+    }
+
+    @Override
+    protected <T> BeanInstanceBag<T> newBeanInstanceBag(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        if (beanPool != null && creationalContext != null)
+        {
+            BeanInstanceBag<T> pooledBag = beanPool.borrow(contextual);
+            if (pooledBag != null)
+            {
+                return pooledBag;
+            }
+        }
+        return super.newBeanInstanceBag(contextual, creationalContext);
+    }
+
+    /**
+     * Hands the instances of pooled beans back to the pool and destroys all others.
+     */
+    @Override
+    public void destroy()
+    {
+        if (beanPool != null)
+        {
+            for (Iterator<Map.Entry<Contextual<?>, BeanInstanceBag<?>>> it = componentInstanceMap.entrySet().iterator(); it.hasNext();)
+            {
+                Map.Entry<Contextual<?>, BeanInstanceBag<?>> entry = it.next();
+                if (beanPool.isPooled(entry.getKey()))
+                {
+                    it.remove();
+                    beanPool.release((Contextual<Object>) entry.getKey(), (BeanInstanceBag<Object>) entry.getValue());
+                }
+            }
+        }
+        super.destroy();
+    }
+
     public Object getHttpSession()
     {
         return httpSession;
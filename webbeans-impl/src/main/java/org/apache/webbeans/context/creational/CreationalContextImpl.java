@@ -18,6 +18,7 @@
  */
 package org.apache.webbeans.context.creational;
 
+import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.util.WebBeansUtil;
@@ -188,6 +189,12 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
      */
     public <K> void addDependent(Contextual<K> dependent, Object instance)
     {
+        if (dependent instanceof AbstractOwbBean && ((AbstractOwbBean<K>) dependent).isDestroyNoOp())
+        {
+            // nothing to destroy later, so there is no need to remember the instance
+            return;
+        }
+
         if(instance != null)
         {
             DependentCreationalContext<K> dependentCreational = new DependentCreationalContext<>(dependent);
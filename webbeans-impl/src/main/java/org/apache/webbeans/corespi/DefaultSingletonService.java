@@ -18,6 +18,8 @@
  */
 package org.apache.webbeans.corespi;
 
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -27,12 +29,22 @@ import org.apache.webbeans.util.Asserts;
 
 public class DefaultSingletonService implements SingletonService<WebBeansContext>
 {
+    private static final ContextEntry[] NO_ENTRIES = new ContextEntry[0];
+
     /**
      * Keys --> ClassLoaders
      * Values --> WebBeansContext
      */
     private final Map<ClassLoader, WebBeansContext> singletonMap = new WeakHashMap<>();
-    
+
+    /**
+     * Copy of the {@link #singletonMap} content which gets used for lock-free lookups.
+     * It only gets rebuilt while holding the singletonMap lock whenever the map changes.
+     * Most setups only have a single WebBeansContext, so a lookup is usually just a
+     * single identity check.
+     */
+    private volatile ContextEntry[] entries = NO_ENTRIES;
+
     /**
      * Gets singleton instance for deployment.
      * @return singleton instance for this deployment
@@ -42,11 +54,18 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
     {
         assertClassLoaderKey(key);
         ClassLoader classLoader = (ClassLoader) key;
+
+        WebBeansContext webBeansContext = find(classLoader);
+        if (webBeansContext != null)
+        {
+            return webBeansContext;
+        }
+
         synchronized (singletonMap)
         {
             //util.Track.sync(key);
             
-            WebBeansContext webBeansContext = singletonMap.get(classLoader);
+            webBeansContext = singletonMap.get(classLoader);
             //util.Track.get(key);
 
             if (webBeansContext == null)
@@ -54,6 +73,7 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
                 webBeansContext = new WebBeansContext();
                 singletonMap.put(classLoader, webBeansContext);
             }
+            updateEntries();
 
             return webBeansContext;
 
@@ -62,11 +82,15 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
 
     public void register(ClassLoader key, WebBeansContext context)
     {
-        if (singletonMap.containsKey(key))
+        synchronized (singletonMap)
         {
-            throw new IllegalArgumentException(key + " is already registered");
+            if (singletonMap.containsKey(key))
+            {
+                throw new IllegalArgumentException(key + " is already registered");
+            }
+            singletonMap.putIfAbsent(key, context);
+            updateEntries();
         }
-        singletonMap.putIfAbsent(key, context);
     }
 
     /**
@@ -79,6 +103,7 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
         synchronized (singletonMap)
         {
             singletonMap.remove(classLoader);
+            updateEntries();
         }
     }
 
@@ -106,6 +131,52 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
 
     public boolean exists(final Object key)
     {
-        return ClassLoader.class.isInstance(key) && singletonMap.containsKey(key);
+        return ClassLoader.class.isInstance(key) && find((ClassLoader) key) != null;
+    }
+
+    private WebBeansContext find(ClassLoader classLoader)
+    {
+        ContextEntry[] currentEntries = entries;
+        for (ContextEntry entry : currentEntries)
+        {
+            if (entry.classLoader.get() == classLoader)
+            {
+                return entry.webBeansContext;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Must only get called while holding the singletonMap lock.
+     * This also drops entries whose ClassLoader got garbage collected.
+     */
+    private void updateEntries()
+    {
+        if (singletonMap.isEmpty())
+        {
+            entries = NO_ENTRIES;
+            return;
+        }
+
+        ContextEntry[] newEntries = new ContextEntry[singletonMap.size()];
+        int i = 0;
+        for (Map.Entry<ClassLoader, WebBeansContext> entry : singletonMap.entrySet())
+        {
+            newEntries[i++] = new ContextEntry(entry.getKey(), entry.getValue());
+        }
+        entries = i == newEntries.length ? newEntries : Arrays.copyOf(newEntries, i);
+    }
+
+    private static final class ContextEntry
+    {
+        private final WeakReference<ClassLoader> classLoader;
+        private final WebBeansContext webBeansContext;
+
+        private ContextEntry(ClassLoader classLoader, WebBeansContext webBeansContext)
+        {
+            this.classLoader = new WeakReference<>(classLoader);
+            this.webBeansContext = webBeansContext;
+        }
     }
 }
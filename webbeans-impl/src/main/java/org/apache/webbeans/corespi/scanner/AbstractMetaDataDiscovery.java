@@ -50,7 +50,9 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -134,7 +136,8 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         }
         archive = new CdiArchive(
                 beanArchiveService, WebBeansUtil.getCurrentClassLoader(),
-                beanDeploymentUrls, userFilter, getAdditionalArchive());
+                beanDeploymentUrls, userFilter, getAdditionalArchive(),
+                webBeansContext.getOpenWebBeansConfiguration().isScanZipCentralDirectory());
         finder = new OwbAnnotationFinder(archive);
 
         return finder;
@@ -376,7 +379,30 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         finder = null;
         archive = null;
         loader = null;
-        annotationCache.clear();
+        annotationCache = new HashMap<>();
+    }
+
+    /**
+     * Releases the bean classes per bean archive in addition to {@link #release()}.
+     * Must only get invoked once the deployment is done,
+     * {@link #getBeanClassesPerBda()} returns an empty Map afterwards.
+     *
+     * @return the number of released bean classes
+     */
+    public int trim()
+    {
+        release();
+
+        int releasedClasses = 0;
+        if (beanClassesPerBda != null)
+        {
+            for (Set<Class<?>> classes : beanClassesPerBda.values())
+            {
+                releasedClasses += classes.size();
+            }
+        }
+        beanClassesPerBda = Collections.emptyMap();
+        return releasedClasses;
     }
 
 
@@ -469,12 +495,16 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
             boolean dontSkipNCDFT = !(webBeansContext != null &&
                     webBeansContext.getOpenWebBeansConfiguration().isSkipNoClassDefFoundErrorTriggers());
 
+            // names of classes which could not get loaded during this discovery
+            Set<String> unloadableClasses = new HashSet<>();
+
             for (CdiArchive.FoundClasses foundClasses : archive.classesByUrl().values())
             {
                 Set<Class<?>> classSet = new HashSet<>();
                 boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
                 for (String className : foundClasses.getClassNames())
                 {
+                    boolean loaded = false;
                     try
                     {
                         if (scanModeAnnotated)
@@ -487,9 +517,26 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                             }
                         }
 
+                        if (dependsOnUnloadableClass(className, unloadableClasses))
+                        {
+                            // no need to try again, loading the class would only fail with a NoClassDefFoundError
+                            if (logger.isLoggable(Level.FINE))
+                            {
+                                logger.log(Level.FINE, OWBLogConst.WARN_0018,
+                                        new Object[]{className, "unloadable super class or interface"});
+                            }
+                            unloadableClasses.add(className);
+                            continue;
+                        }
+
                         Class<?> clazz = ClassUtil.getClassFromName(className, loader, dontSkipNCDFT);
-                        if (clazz != null)
+                        if (clazz == null)
                         {
+                            unloadableClasses.add(className);
+                        }
+                        else
+                        {
+                            loaded = true;
                             if (dontSkipNCDFT)
                             {
                                 // try to provoke a NoClassDefFoundError exception which is thrown
@@ -503,6 +550,19 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                     }
                     catch (NoClassDefFoundError e)
                     {
+                        if (!loaded)
+                        {
+                            // only a class which can't get loaded at all breaks its subclasses,
+                            // failing reflection on its members doesn't
+                            unloadableClasses.add(className);
+                        }
+                        String missingClass = e.getMessage();
+                        if (missingClass != null && missingClass.indexOf(' ') < 0)
+                        {
+                            // the message usually is the internal name of the class which is missing
+                            unloadableClasses.add(missingClass.replace('/', '.'));
+                        }
+
                         if (isAnonymous(className))
                         {
                             if (logger.isLoggable(Level.FINE))
@@ -524,6 +584,47 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
         return beanClassesPerBda;
     }
 
+    /**
+     * Checks the class hierarchy known to the finder without loading any class.
+     *
+     * @return {@code true} if the class itself, one of its super classes or one of its
+     *         interfaces already failed to load
+     */
+    private boolean dependsOnUnloadableClass(String className, Set<String> unloadableClasses)
+    {
+        if (unloadableClasses.isEmpty())
+        {
+            return false;
+        }
+
+        Set<String> checked = new HashSet<>();
+        Deque<String> toCheck = new ArrayDeque<>();
+        toCheck.add(className);
+        while (!toCheck.isEmpty())
+        {
+            String name = toCheck.poll();
+            if (!checked.add(name))
+            {
+                continue;
+            }
+            if (unloadableClasses.contains(name))
+            {
+                return true;
+            }
+
+            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(name);
+            if (classInfo != null)
+            {
+                if (classInfo.getSuperType() != null)
+                {
+                    toCheck.add(classInfo.getSuperType());
+                }
+                toCheck.addAll(classInfo.getInterfaces());
+            }
+        }
+        return false;
+    }
+
     private boolean isAnonymous(final String className)
     {
         final int start = className.lastIndexOf('$');
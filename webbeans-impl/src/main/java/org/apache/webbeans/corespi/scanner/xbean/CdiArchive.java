@@ -54,6 +54,15 @@ public class CdiArchive implements Archive
 
     public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
                       Filter userFilter, Archive customArchive)
+    {
+        this(beanArchiveService, loader, urls, userFilter, customArchive, false);
+    }
+
+    /**
+     * @param zipCentralDirectory whether jar files get read with the {@link ZipCentralDirectoryArchive}
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, boolean zipCentralDirectory)
     {
         Collection<Archive> archives = new ArrayList<>();
         boolean customAdded = false;
@@ -64,7 +73,7 @@ public class CdiArchive implements Archive
             BeanArchiveInformation beanArchiveInfo = beanArchiveService.getBeanArchiveInformation(url);
             final boolean custom = "openwebbeans".equals(url.getProtocol());
             Archive archive = new FilteredArchive(
-                    custom ? customArchive : ClasspathArchive.archive(loader, url),
+                    custom ? customArchive : archive(loader, url, zipCentralDirectory),
                     new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter));
             if (!customAdded && custom)
             {
@@ -81,6 +90,11 @@ public class CdiArchive implements Archive
         delegate = new CompositeArchive(archives);
     }
 
+    private static Archive archive(ClassLoader loader, URL url, boolean zipCentralDirectory)
+    {
+        return zipCentralDirectory ? ZipCentralDirectoryArchive.archive(loader, url) : ClasspathArchive.archive(loader, url);
+    }
+
     public Map<String, FoundClasses> classesByUrl()
     {
         return classesByUrl;
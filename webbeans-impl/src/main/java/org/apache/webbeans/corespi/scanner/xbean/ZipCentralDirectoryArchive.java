@@ -0,0 +1,416 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.ClasspathArchive;
+import org.apache.xbean.finder.archive.FileArchive;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * An {@link Archive} for jar files which parses the zip central directory of the memory mapped file
+ * instead of going through {@link java.util.jar.JarFile}.
+ *
+ * <p>The class entries only get read and inflated once their bytecode is requested, which
+ * the {@link org.apache.xbean.finder.archive.FilteredArchive} only does for classes passing the
+ * {@link BeanArchiveFilter}. Stored entries get handed out as a view on the mapped file.</p>
+ *
+ * <p>Multi-release, ZIP64 and encrypted jars as well as jars bigger than 2GB are not supported,
+ * {@link #archive(ClassLoader, URL)} falls back to the xbean archives for them.</p>
+ *
+ * <p>The JVM only unmaps the file once the archive got garbage collected after the scanner got released.
+ * Until then the jar file stays locked on Windows.</p>
+ */
+public class ZipCentralDirectoryArchive implements Archive
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ZipCentralDirectoryArchive.class);
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private static final String CLASS_EXT = ".class";
+    private static final String VERSIONS_DIR = "META-INF/versions/";
+
+    private final ClassLoader loader;
+    private final ByteBuffer zip;
+
+    /**
+     * key: the class name, value: the zip entry
+     */
+    private final Map<String, ClassEntry> entries;
+
+    private ZipCentralDirectoryArchive(ClassLoader loader, ByteBuffer zip)
+    {
+        this.loader = loader;
+        this.zip = zip;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * @return a {@link ZipCentralDirectoryArchive} for plain jar files, the xbean archive for everything else
+     */
+    public static Archive archive(ClassLoader loader, URL url)
+    {
+        File file = toJarFile(url);
+        if (file != null)
+        {
+            try
+            {
+                Archive archive = read(loader, file);
+                if (archive != null)
+                {
+                    return archive;
+                }
+            }
+            catch (IOException e)
+            {
+                logger.log(Level.FINE, "Can't read the central directory of " + file + ", falling back to JarArchive", e);
+            }
+        }
+        return ClasspathArchive.archive(loader, url);
+    }
+
+    private static File toJarFile(URL url)
+    {
+        String path;
+        if ("jar".equals(url.getProtocol()))
+        {
+            String file = url.getFile();
+            int separator = file.indexOf("!/");
+            if (!file.startsWith("file:") || separator < 0 || separator + 2 != file.length())
+            {
+                // nested jars and sub directories of jars
+                return null;
+            }
+            path = file.substring("file:".length(), separator);
+        }
+        else if ("file".equals(url.getProtocol()))
+        {
+            path = url.getFile();
+        }
+        else
+        {
+            return null;
+        }
+
+        File file = new File(FileArchive.decode(path));
+        return file.getName().toLowerCase().endsWith(".jar") && file.isFile() ? file : null;
+    }
+
+    /**
+     * @return the archive or {@code null} if the jar uses a feature which is not supported
+     */
+    private static ZipCentralDirectoryArchive read(ClassLoader loader, File file) throws IOException
+    {
+        ByteBuffer zip;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < END_OF_CENTRAL_DIRECTORY_SIZE)
+            {
+                return null;
+            }
+            // the mapping stays valid after the channel got closed
+            zip = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        int endOfCentralDirectory = -1;
+        int minPosition = Math.max(0, zip.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_SIZE);
+        for (int i = zip.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; i >= minPosition; i--)
+        {
+            if (zip.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+            {
+                endOfCentralDirectory = i;
+                break;
+            }
+        }
+        if (endOfCentralDirectory < 0)
+        {
+            throw new ZipException("No end of central directory found in " + file);
+        }
+
+        int entryCount = zip.getShort(endOfCentralDirectory + 10) & 0xFFFF;
+        long centralDirectoryOffset = zip.getInt(endOfCentralDirectory + 16) & 0xFFFFFFFFL;
+        if (entryCount == 0xFFFF || centralDirectoryOffset == 0xFFFFFFFFL)
+        {
+            // ZIP64
+            return null;
+        }
+
+        ZipCentralDirectoryArchive archive = new ZipCentralDirectoryArchive(loader, zip);
+        int position = (int) centralDirectoryOffset;
+        for (int i = 0; i < entryCount; i++)
+        {
+            if (zip.getInt(position) != CENTRAL_DIRECTORY_SIGNATURE)
+            {
+                throw new ZipException("Invalid central directory entry in " + file);
+            }
+            int flags = zip.getShort(position + 8) & 0xFFFF;
+            int method = zip.getShort(position + 10) & 0xFFFF;
+            long compressedSize = zip.getInt(position + 20) & 0xFFFFFFFFL;
+            long size = zip.getInt(position + 24) & 0xFFFFFFFFL;
+            int nameLength = zip.getShort(position + 28) & 0xFFFF;
+            int extraLength = zip.getShort(position + 30) & 0xFFFF;
+            int commentLength = zip.getShort(position + 32) & 0xFFFF;
+            long localHeaderOffset = zip.getInt(position + 42) & 0xFFFFFFFFL;
+
+            byte[] nameBytes = new byte[nameLength];
+            for (int j = 0; j < nameLength; j++)
+            {
+                nameBytes[j] = zip.get(position + CENTRAL_DIRECTORY_HEADER_SIZE + j);
+            }
+            String name = new String(nameBytes, StandardCharsets.UTF_8);
+            position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+
+            if (name.startsWith(VERSIONS_DIR))
+            {
+                // multi-release jar, JarArchive knows how to handle it
+                return null;
+            }
+            if (!name.endsWith(CLASS_EXT) || name.endsWith("module-info.class"))
+            {
+                continue;
+            }
+            String className = name.substring(0, name.length() - CLASS_EXT.length());
+            if (className.contains("."))
+            {
+                continue;
+            }
+            if ((flags & 1) != 0 || (method != STORED && method != DEFLATED)
+                || compressedSize > Integer.MAX_VALUE || size > Integer.MAX_VALUE)
+            {
+                // encrypted or unknown compression
+                return null;
+            }
+
+            className = className.replace('/', '.');
+            archive.entries.put(className,
+                archive.new ClassEntry(className, method, (int) localHeaderOffset, (int) compressedSize, (int) size));
+        }
+
+        return archive;
+    }
+
+    @Override
+    public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
+    {
+        String name = className;
+        if (name.endsWith(CLASS_EXT))
+        {
+            name = name.substring(0, name.length() - CLASS_EXT.length()).replace('/', '.');
+        }
+        ClassEntry entry = entries.get(name);
+        if (entry == null)
+        {
+            throw new ClassNotFoundException(className);
+        }
+        return entry.getBytecode();
+    }
+
+    @Override
+    public Class<?> loadClass(String className) throws ClassNotFoundException
+    {
+        return loader.loadClass(className);
+    }
+
+    @Override
+    public Iterator<Entry> iterator()
+    {
+        return new ArrayIterator(entries.values().toArray(new Entry[entries.size()]));
+    }
+
+    private InputStream read(ClassEntry entry) throws IOException
+    {
+        int localHeader = entry.localHeaderOffset;
+        if (zip.getInt(localHeader) != LOCAL_HEADER_SIGNATURE)
+        {
+            throw new ZipException("Invalid local header for " + entry.name);
+        }
+        int nameLength = zip.getShort(localHeader + 26) & 0xFFFF;
+        int extraLength = zip.getShort(localHeader + 28) & 0xFFFF;
+        int data = localHeader + LOCAL_HEADER_SIZE + nameLength + extraLength;
+
+        ByteBuffer content = zip.duplicate();
+        ((Buffer) content).limit(data + entry.compressedSize);
+        ((Buffer) content).position(data);
+
+        if (entry.method == STORED)
+        {
+            return new ByteBufferInputStream(content.slice());
+        }
+
+        byte[] compressed = new byte[entry.compressedSize];
+        content.get(compressed);
+
+        byte[] bytecode = new byte[entry.size];
+        // an Inflater holds native memory until end() gets invoked
+        Inflater inflater = new Inflater(true);
+        try
+        {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < bytecode.length && !inflater.finished())
+            {
+                int inflated = inflater.inflate(bytecode, read, bytecode.length - read);
+                if (inflated == 0 && inflater.needsInput())
+                {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != bytecode.length)
+            {
+                throw new ZipException("Unexpected size of " + entry.name);
+            }
+        }
+        catch (DataFormatException e)
+        {
+            throw new ZipException("Invalid compressed data of " + entry.name + ": " + e.getMessage());
+        }
+        finally
+        {
+            inflater.end();
+        }
+        return new ByteArrayInputStream(bytecode);
+    }
+
+    private final class ClassEntry implements Entry
+    {
+        private final String name;
+        private final int method;
+        private final int localHeaderOffset;
+        private final int compressedSize;
+        private final int size;
+
+        private ClassEntry(String name, int method, int localHeaderOffset, int compressedSize, int size)
+        {
+            this.name = name;
+            this.method = method;
+            this.localHeaderOffset = localHeaderOffset;
+            this.compressedSize = compressedSize;
+            this.size = size;
+        }
+
+        @Override
+        public String getName()
+        {
+            return name;
+        }
+
+        @Override
+        public InputStream getBytecode() throws IOException
+        {
+            return read(this);
+        }
+    }
+
+    private static final class ArrayIterator implements Iterator<Entry>
+    {
+        private final Entry[] entries;
+        private int index;
+
+        private ArrayIterator(Entry[] entries)
+        {
+            this.entries = entries;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < entries.length;
+        }
+
+        @Override
+        public Entry next()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return entries[index++];
+        }
+    }
+
+    /**
+     * Reads directly from the mapped file.
+     */
+    private static final class ByteBufferInputStream extends InputStream
+    {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read()
+        {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length)
+        {
+            if (!buffer.hasRemaining())
+            {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available()
+        {
+            return buffer.remaining();
+        }
+    }
+}
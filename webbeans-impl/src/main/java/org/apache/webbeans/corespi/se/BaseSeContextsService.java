@@ -333,6 +333,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     {
         
         RequestContext ctx = new RequestContext();
+        ctx.setBeanPool(webBeansContext.getRequestBeanPool());
         ctx.setActive(true);
         
         requestContext.set(ctx);
@@ -348,6 +349,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     {
         SessionContext ctx = new SessionContext();
         ctx.setActive(true);
+        webBeansContext.getFootprintDiagnostics().trackSessionContext(ctx);
         
         sessionContext.set(ctx);
         webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
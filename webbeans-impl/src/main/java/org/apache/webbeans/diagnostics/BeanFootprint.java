@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.diagnostics;
+
+import javax.enterprise.inject.spi.Bean;
+
+/**
+ * The estimated size of the container metadata of a single Bean.
+ * All sizes are in bytes.
+ */
+public class BeanFootprint implements Comparable<BeanFootprint>
+{
+    private final Bean<?> bean;
+    private final long annotatedTypeBytes;
+    private final long injectionPointBytes;
+    private final long interceptorInfoBytes;
+    private final long proxyClassBytes;
+    private final long resolutionCacheBytes;
+    private final boolean materialized;
+
+    public BeanFootprint(Bean<?> bean, long annotatedTypeBytes, long injectionPointBytes, long interceptorInfoBytes,
+                         long proxyClassBytes, long resolutionCacheBytes, boolean materialized)
+    {
+        this.bean = bean;
+        this.annotatedTypeBytes = annotatedTypeBytes;
+        this.injectionPointBytes = injectionPointBytes;
+        this.interceptorInfoBytes = interceptorInfoBytes;
+        this.proxyClassBytes = proxyClassBytes;
+        this.resolutionCacheBytes = resolutionCacheBytes;
+        this.materialized = materialized;
+    }
+
+    public Bean<?> getBean()
+    {
+        return bean;
+    }
+
+    public long getAnnotatedTypeBytes()
+    {
+        return annotatedTypeBytes;
+    }
+
+    public long getInjectionPointBytes()
+    {
+        return injectionPointBytes;
+    }
+
+    public long getInterceptorInfoBytes()
+    {
+        return interceptorInfoBytes;
+    }
+
+    /**
+     * @return the size of the generated bytecode of the proxy classes of this Bean
+     */
+    public long getProxyClassBytes()
+    {
+        return proxyClassBytes;
+    }
+
+    public long getResolutionCacheBytes()
+    {
+        return resolutionCacheBytes;
+    }
+
+    /**
+     * @return {@code false} if the InjectionPoints or the interceptor stack of this Bean got deferred
+     *         by the lazy bean mode and are not yet created, they are not part of the estimation then
+     */
+    public boolean isMaterialized()
+    {
+        return materialized;
+    }
+
+    public long getTotalBytes()
+    {
+        return annotatedTypeBytes + injectionPointBytes + interceptorInfoBytes + proxyClassBytes + resolutionCacheBytes;
+    }
+
+    /**
+     * Orders the heaviest Beans first.
+     */
+    @Override
+    public int compareTo(BeanFootprint other)
+    {
+        return Long.compare(other.getTotalBytes(), getTotalBytes());
+    }
+
+    @Override
+    public String toString()
+    {
+        return getTotalBytes() + " bytes " + bean
+            + " [annotatedType=" + annotatedTypeBytes
+            + ", injectionPoints=" + injectionPointBytes
+            + ", interceptorInfo=" + interceptorInfoBytes
+            + ", proxyClasses=" + proxyClassBytes
+            + ", resolutionCache=" + resolutionCacheBytes
+            + (materialized ? "" : ", not materialized") + "]";
+    }
+}
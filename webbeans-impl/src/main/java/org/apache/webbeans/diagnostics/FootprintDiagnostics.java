@@ -0,0 +1,457 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.diagnostics;
+
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ConversationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Annotated;
+import javax.enterprise.inject.spi.AnnotatedCallable;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Singleton;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.component.InjectionTargetBean;
+import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.AbstractContext;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.portable.AbstractProducer;
+import org.apache.webbeans.spi.ContextsService;
+
+/**
+ * Estimates how much heap the container metadata takes, per bean and per subsystem,
+ * and counts the live contextual instances per scope.
+ *
+ * <p>The sizes are estimations based on the number of metadata objects and typical object sizes
+ * of a 64 bit JVM with compressed references. Cache entries which serve several beans get
+ * attributed to each of them. They are meant to find the heaviest beans and scopes,
+ * not to replace a heap dump.</p>
+ *
+ * <p>If {@link org.apache.webbeans.config.OpenWebBeansConfiguration#FOOTPRINT_DIAGNOSTICS} is enabled, the diagnostics get
+ * registered as MBean and all SessionContexts get tracked for counting the session scoped instances.</p>
+ */
+public class FootprintDiagnostics implements FootprintDiagnosticsMBean
+{
+    public static final String SUBSYSTEM_ANNOTATED_TYPES = "annotatedTypes";
+    public static final String SUBSYSTEM_INJECTION_POINTS = "injectionPoints";
+    public static final String SUBSYSTEM_INTERCEPTOR_INFO = "interceptorInfo";
+    public static final String SUBSYSTEM_PROXY_CLASSES = "proxyClasses";
+    public static final String SUBSYSTEM_RESOLUTION_CACHE = "resolutionCache";
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(FootprintDiagnostics.class);
+
+    private static final int OBJECT = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAP_ENTRY = 32;
+    private static final int ANNOTATION = 24;
+    private static final int ANNOTATED_MEMBER = 80;
+    private static final int ANNOTATED_PARAMETER = 56;
+    private static final int INJECTION_POINT = 72;
+    private static final int METHOD_INTERCEPTOR_INFO = 64;
+    private static final int RESOLUTION_CACHE_ENTRY = 96;
+
+    private final WebBeansContext webBeansContext;
+    private final boolean enabled;
+
+    /**
+     * All SessionContexts which got created while the diagnostics are enabled.
+     */
+    private final Map<SessionContext, Boolean> sessionContexts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private ObjectName objectName;
+
+    public FootprintDiagnostics(WebBeansContext webBeansContext)
+    {
+        this.webBeansContext = webBeansContext;
+        enabled = webBeansContext.getOpenWebBeansConfiguration().isFootprintDiagnostics();
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Remembers the given SessionContext for counting the session scoped instances.
+     * Does nothing if the diagnostics are not enabled.
+     */
+    public void trackSessionContext(SessionContext sessionContext)
+    {
+        if (enabled && sessionContext != null)
+        {
+            sessionContexts.put(sessionContext, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @return the estimated metadata of all enabled beans, heaviest first
+     */
+    public List<BeanFootprint> getBeanFootprints()
+    {
+        Map<Bean<?>, Integer> resolutionCacheEntries
+            = webBeansContext.getBeanManagerImpl().getInjectionResolver().getResolutionCacheEntriesPerBean();
+
+        List<BeanFootprint> footprints = new ArrayList<>();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (bean instanceof OwbBean && !((OwbBean<?>) bean).isEnabled())
+            {
+                continue;
+            }
+
+            // don't force the creation of the metadata which got deferred by the lazy bean mode
+            AbstractProducer<?> producer = getProducer(bean);
+            boolean injectionPointsDeferred = producer != null && producer.isInjectionPointsDeferred();
+            boolean interceptorStackDeferred = producer != null && producer.isInterceptorStackDeferred();
+
+            Integer cacheEntries = resolutionCacheEntries.get(bean);
+            footprints.add(new BeanFootprint(bean,
+                estimateAnnotatedType(bean),
+                injectionPointsDeferred ? 0 : estimateInjectionPoints(bean),
+                interceptorStackDeferred ? 0 : estimateInterceptorInfo(bean),
+                getProxyClassBytes(bean),
+                cacheEntries == null ? 0 : (long) cacheEntries * RESOLUTION_CACHE_ENTRY,
+                !injectionPointsDeferred && !interceptorStackDeferred));
+        }
+        Collections.sort(footprints);
+        return footprints;
+    }
+
+    /**
+     * @return the estimated size in bytes per subsystem
+     */
+    public Map<String, Long> getSubsystemFootprints()
+    {
+        long annotatedTypes = 0;
+        long injectionPoints = 0;
+        long interceptorInfo = 0;
+        long proxyClasses = 0;
+        long resolutionCache = 0;
+        for (BeanFootprint footprint : getBeanFootprints())
+        {
+            annotatedTypes += footprint.getAnnotatedTypeBytes();
+            injectionPoints += footprint.getInjectionPointBytes();
+            interceptorInfo += footprint.getInterceptorInfoBytes();
+            proxyClasses += footprint.getProxyClassBytes();
+            resolutionCache += footprint.getResolutionCacheBytes();
+        }
+
+        Map<String, Long> subsystems = new LinkedHashMap<>();
+        subsystems.put(SUBSYSTEM_ANNOTATED_TYPES, annotatedTypes);
+        subsystems.put(SUBSYSTEM_INJECTION_POINTS, injectionPoints);
+        subsystems.put(SUBSYSTEM_INTERCEPTOR_INFO, interceptorInfo);
+        subsystems.put(SUBSYSTEM_PROXY_CLASSES, proxyClasses);
+        subsystems.put(SUBSYSTEM_RESOLUTION_CACHE, resolutionCache);
+        return subsystems;
+    }
+
+    /**
+     * Counts the contextual instances of the application and singleton contexts,
+     * of the request and conversation contexts of the current thread
+     * and of all tracked sessions.
+     *
+     * @return the number of live contextual instances per scope
+     */
+    public Map<String, Integer> getLiveInstancesPerScope()
+    {
+        Map<String, Integer> instances = new LinkedHashMap<>();
+        ContextsService contextsService = webBeansContext.getContextsService();
+        instances.put(ApplicationScoped.class.getSimpleName(), countInstances(contextsService.getCurrentContext(ApplicationScoped.class)));
+        instances.put(Singleton.class.getSimpleName(), countInstances(contextsService.getCurrentContext(Singleton.class)));
+        instances.put(RequestScoped.class.getSimpleName(), countInstances(contextsService.getCurrentContext(RequestScoped.class, false)));
+        instances.put(ConversationScoped.class.getSimpleName(), countInstances(contextsService.getCurrentContext(ConversationScoped.class, false)));
+        instances.put(SessionScoped.class.getSimpleName(), getSessionScopedInstances());
+        return instances;
+    }
+
+    /**
+     * @return the number of live tracked sessions
+     */
+    public int getSessionCount()
+    {
+        return getActiveSessionContexts().size();
+    }
+
+    @Override
+    public long getEstimatedBytes()
+    {
+        long bytes = 0;
+        for (Long subsystemBytes : getSubsystemFootprints().values())
+        {
+            bytes += subsystemBytes;
+        }
+        return bytes;
+    }
+
+    @Override
+    public String[] getSubsystems()
+    {
+        List<String> subsystems = new ArrayList<>();
+        for (Map.Entry<String, Long> subsystem : getSubsystemFootprints().entrySet())
+        {
+            subsystems.add(subsystem.getKey() + "=" + subsystem.getValue());
+        }
+        return subsystems.toArray(new String[subsystems.size()]);
+    }
+
+    @Override
+    public String[] getLiveInstances()
+    {
+        List<String> scopes = new ArrayList<>();
+        for (Map.Entry<String, Integer> scope : getLiveInstancesPerScope().entrySet())
+        {
+            scopes.add(scope.getKey() + "=" + scope.getValue());
+        }
+        scopes.add("sessions=" + getSessionCount());
+        return scopes.toArray(new String[scopes.size()]);
+    }
+
+    @Override
+    public String[] heaviestBeans(int count)
+    {
+        List<BeanFootprint> footprints = getBeanFootprints();
+        int size = Math.max(0, Math.min(count, footprints.size()));
+        String[] heaviest = new String[size];
+        for (int i = 0; i < size; i++)
+        {
+            heaviest[i] = footprints.get(i).toString();
+        }
+        return heaviest;
+    }
+
+    /**
+     * Registers the diagnostics in the platform MBeanServer if they are enabled.
+     */
+    public synchronized void registerMBean()
+    {
+        if (!enabled || objectName != null)
+        {
+            return;
+        }
+
+        try
+        {
+            ObjectName name = new ObjectName("org.apache.webbeans:type=FootprintDiagnostics,context="
+                + Integer.toHexString(System.identityHashCode(webBeansContext)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.WARNING, "Could not register the FootprintDiagnostics MBean", e);
+        }
+    }
+
+    public synchronized void unregisterMBean()
+    {
+        if (objectName == null)
+        {
+            return;
+        }
+
+        try
+        {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (mBeanServer.isRegistered(objectName))
+            {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.WARNING, "Could not unregister the FootprintDiagnostics MBean", e);
+        }
+        objectName = null;
+        sessionContexts.clear();
+    }
+
+    public synchronized ObjectName getObjectName()
+    {
+        return objectName;
+    }
+
+    private int getSessionScopedInstances()
+    {
+        int instances = 0;
+        for (SessionContext sessionContext : getActiveSessionContexts())
+        {
+            instances += sessionContext.getInstanceCount();
+        }
+        return instances;
+    }
+
+    private List<SessionContext> getActiveSessionContexts()
+    {
+        List<SessionContext> active = new ArrayList<>();
+        synchronized (sessionContexts)
+        {
+            for (SessionContext sessionContext : sessionContexts.keySet())
+            {
+                if (sessionContext.isActive())
+                {
+                    active.add(sessionContext);
+                }
+            }
+        }
+        return active;
+    }
+
+    private static int countInstances(Context context)
+    {
+        return context instanceof AbstractContext ? ((AbstractContext) context).getInstanceCount() : 0;
+    }
+
+    private long estimateAnnotatedType(Bean<?> bean)
+    {
+        if (!(bean instanceof InjectionTargetBean))
+        {
+            return 0;
+        }
+
+        AnnotatedType<?> annotatedType = ((InjectionTargetBean<?>) bean).getAnnotatedType();
+        if (annotatedType == null)
+        {
+            return 0;
+        }
+
+        long bytes = OBJECT + estimateAnnotations(annotatedType) + (long) annotatedType.getTypeClosure().size() * REFERENCE;
+        for (Annotated field : annotatedType.getFields())
+        {
+            bytes += ANNOTATED_MEMBER + estimateAnnotations(field);
+        }
+        for (AnnotatedCallable<?> method : annotatedType.getMethods())
+        {
+            bytes += estimateCallable(method);
+        }
+        for (AnnotatedCallable<?> constructor : annotatedType.getConstructors())
+        {
+            bytes += estimateCallable(constructor);
+        }
+        return bytes;
+    }
+
+    private static long estimateCallable(AnnotatedCallable<?> callable)
+    {
+        long bytes = ANNOTATED_MEMBER + estimateAnnotations(callable);
+        for (Annotated parameter : callable.getParameters())
+        {
+            bytes += ANNOTATED_PARAMETER + estimateAnnotations(parameter);
+        }
+        return bytes;
+    }
+
+    private static long estimateAnnotations(Annotated annotated)
+    {
+        Set<Annotation> annotations = annotated.getAnnotations();
+        return annotations == null ? 0 : (long) annotations.size() * ANNOTATION;
+    }
+
+    private static long estimateInjectionPoints(Bean<?> bean)
+    {
+        Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
+        if (injectionPoints == null)
+        {
+            return 0;
+        }
+
+        long bytes = 0;
+        for (InjectionPoint injectionPoint : injectionPoints)
+        {
+            bytes += INJECTION_POINT + (long) injectionPoint.getQualifiers().size() * ANNOTATION;
+        }
+        return bytes;
+    }
+
+    private static long estimateInterceptorInfo(Bean<?> bean)
+    {
+        BeanInterceptorInfo interceptorInfo = getInterceptorInfo(bean);
+        if (interceptorInfo == null)
+        {
+            return 0;
+        }
+
+        long bytes = OBJECT
+            + (long) interceptorInfo.getEjbInterceptors().size() * REFERENCE
+            + (long) interceptorInfo.getCdiInterceptors().size() * REFERENCE
+            + (long) interceptorInfo.getConstructorCdiInterceptors().size() * REFERENCE;
+        if (interceptorInfo.getDecorators() != null)
+        {
+            bytes += (long) interceptorInfo.getDecorators().size() * REFERENCE;
+        }
+        if (interceptorInfo.getBusinessMethodsInfo() != null)
+        {
+            bytes += (long) interceptorInfo.getBusinessMethodsInfo().size() * (MAP_ENTRY + METHOD_INTERCEPTOR_INFO);
+        }
+        if (interceptorInfo.getLifecycleMethodInterceptorInfos() != null)
+        {
+            bytes += (long) interceptorInfo.getLifecycleMethodInterceptorInfos().size() * (MAP_ENTRY + METHOD_INTERCEPTOR_INFO);
+        }
+        if (interceptorInfo.getNonInterceptedMethods() != null)
+        {
+            bytes += (long) interceptorInfo.getNonInterceptedMethods().size() * REFERENCE;
+        }
+        return bytes;
+    }
+
+    private long getProxyClassBytes(Bean<?> bean)
+    {
+        long bytes = webBeansContext.getNormalScopeProxyFactory().getProxyClassSize(bean);
+        if (getInterceptorInfo(bean) != null)
+        {
+            bytes += webBeansContext.getInterceptorDecoratorProxyFactory().getProxyClassSize(
+                webBeansContext.getInterceptorDecoratorProxyFactory().getCachedProxyClass(bean));
+        }
+        return bytes;
+    }
+
+    private static BeanInterceptorInfo getInterceptorInfo(Bean<?> bean)
+    {
+        AbstractProducer<?> producer = getProducer(bean);
+        return producer == null ? null : producer.getInterceptorInfo();
+    }
+
+    private static AbstractProducer<?> getProducer(Bean<?> bean)
+    {
+        if (bean instanceof OwbBean && ((OwbBean<?>) bean).getProducer() instanceof AbstractProducer)
+        {
+            return (AbstractProducer<?>) ((OwbBean<?>) bean).getProducer();
+        }
+        return null;
+    }
+}
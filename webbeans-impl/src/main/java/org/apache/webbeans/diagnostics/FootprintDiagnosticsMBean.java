@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.diagnostics;
+
+/**
+ * JMX view of the {@link FootprintDiagnostics}.
+ */
+public interface FootprintDiagnosticsMBean
+{
+    /**
+     * @return the estimated size of the container metadata of all beans in bytes
+     */
+    long getEstimatedBytes();
+
+    /**
+     * @return the estimated size in bytes per subsystem
+     */
+    String[] getSubsystems();
+
+    /**
+     * @return the number of live contextual instances per scope and the number of live sessions
+     */
+    String[] getLiveInstances();
+
+    /**
+     * @param count the maximum number of beans to list
+     * @return the beans with the largest estimated metadata, heaviest first
+     */
+    String[] heaviestBeans(int count);
+}
@@ -29,7 +29,6 @@ import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -81,6 +80,7 @@ import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.portable.events.ProcessAnnotatedTypeImpl;
+import org.apache.webbeans.portable.events.ProcessInjectionPointImpl;
 import org.apache.webbeans.portable.events.generics.GProcessObserverMethod;
 import org.apache.webbeans.portable.events.generics.GenericBeanEvent;
 import org.apache.webbeans.portable.events.generics.GenericProducerObserverEvent;
@@ -91,6 +91,7 @@ import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.GenericsUtil;
+import org.apache.webbeans.util.TypeAssignabilityCache;
 import org.apache.webbeans.util.WebBeansUtil;
 
 import static java.util.Collections.emptyList;
@@ -235,6 +236,12 @@ public class NotificationManager
         return !processAnnotatedTypeObservers.isEmpty();
     }
 
+    public boolean hasProcessInjectionPointObservers()
+    {
+        cacheIfNeeded(new ProcessInjectionPointImpl(null));
+        return !processInjectionPointObservers.isEmpty();
+    }
+
     public <T> Collection<ObserverMethod<? super T>> resolveObservers(T event, EventMetadataImpl metadata, boolean isLifecycleEvent)
     {
         if (isLifecycleEvent) // goal here is to skip any resolution if not needed
@@ -563,14 +570,15 @@ public class NotificationManager
             throw new IllegalArgumentException("event type may not contain unbound type variable: " + eventTypes);
         }
 
+        TypeAssignabilityCache typeAssignabilityCache = webBeansContext.getTypeAssignabilityCache();
         for (Map.Entry<Type, Set<ObserverMethod<?>>> observerEntry : observers.entrySet())
         {
             Type observedType = observerEntry.getKey();
             for (Type eventType : eventTypes)
             {
                 if ((ParameterizedType.class.isInstance(eventType) && Class.class.isInstance(observedType)
-                        && GenericsUtil.isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType(), new HashMap<>()))
-                    || GenericsUtil.isAssignableFrom(true, false, observedType, eventType, new HashMap<>()))
+                        && typeAssignabilityCache.isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType()))
+                    || typeAssignabilityCache.isAssignableFrom(true, false, observedType, eventType))
                 {
                     Set<ObserverMethod<?>> observerMethods = observerEntry.getValue();
 
@@ -775,7 +783,7 @@ public class NotificationManager
         }
         else if (observerTypeActualArg instanceof ParameterizedType)
         {
-            return GenericsUtil.isAssignableFrom(false, true, observerTypeActualArg, beanClass, new HashMap<>());
+            return GenericsUtil.isAssignableFrom(false, true, observerTypeActualArg, beanClass);
         }
         
         return false;
@@ -810,7 +818,7 @@ public class NotificationManager
             if(checkEventTypeParameterForExtensions(beanClass, actualArgs[0])
                     && (secondParam == null || actualArgs.length == 1
                             || checkEventTypeParameterForExtensions(secondParam, actualArgs[1])
-                            || GenericsUtil.isAssignableFrom(true, false, actualArgs[1], secondParam, new HashMap<>())))
+                            || GenericsUtil.isAssignableFrom(true, false, actualArgs[1], secondParam)))
             {
                 addToMatching(type, matching);   
             }
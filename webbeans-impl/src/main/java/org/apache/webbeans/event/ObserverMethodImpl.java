@@ -19,14 +19,16 @@
 package org.apache.webbeans.event;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -62,6 +64,7 @@ import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.proxy.OwbNormalScopeProxy;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
+import org.apache.webbeans.util.ClassUtil;
 
 /**
  * Defines observers that are declared in observer methods.
@@ -120,6 +123,16 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     private boolean isAsync;
     
+    /**
+     * The view method as MethodHandle of type (Object, Object[])void or {@code null} if it cannot get unreflected.
+     */
+    private final MethodHandle viewHandle;
+
+    /**
+     * The resolved parameters of this observer method, see {@link #getInvocationPlan(BeanManagerImpl)}.
+     */
+    private volatile InvocationPlan invocationPlan;
+
     private static class ObserverParams
     {
         private Bean<Object> bean;
@@ -127,8 +140,65 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         private Object instance;
         
         private CreationalContext<Object> creational;
-        
-        private boolean isBean;
+    }
+
+    /**
+     * Beans for the injected observer method parameters, resolved once per deployment.
+     */
+    private static final class InvocationPlan
+    {
+        private final long deploymentGeneration;
+
+        /** position of the event parameter */
+        private final int eventPosition;
+
+        private final InjectionPoint[] injectionPoints;
+
+        private final Bean<Object>[] beans;
+
+        /** references which never change, like the BeanManager or client proxies of normal scoped beans */
+        private final Object[] references;
+
+        private final boolean hasDependentParameters;
+
+        private InvocationPlan(WebBeansContext webBeansContext, Set<InjectionPoint> injectionPoints, int eventPosition,
+                               long deploymentGeneration)
+        {
+            this.deploymentGeneration = deploymentGeneration;
+            this.eventPosition = eventPosition;
+            this.injectionPoints = injectionPoints.toArray(new InjectionPoint[injectionPoints.size()]);
+            beans = new Bean[this.injectionPoints.length];
+            references = new Object[this.injectionPoints.length];
+
+            BeanManagerImpl manager = webBeansContext.getBeanManagerImpl();
+            boolean dependentParameters = false;
+            for (int i = 0; i < this.injectionPoints.length; i++)
+            {
+                InjectionPoint injectionPoint = this.injectionPoints[i];
+                if (injectionPoint.getType() == BeanManager.class &&
+                        injectionPoint.getQualifiers().contains(DefaultLiteral.INSTANCE))
+                {
+                    references[i] = webBeansContext.getInjectableBeanManager();
+                    continue;
+                }
+
+                Bean<Object> injectedBean = (Bean<Object>) manager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+                beans[i] = injectedBean;
+                if (Dependent.class.equals(injectedBean.getScope()))
+                {
+                    dependentParameters = true;
+                }
+                else if (manager.isNormalScope(injectedBean.getScope()))
+                {
+                    Object reference = manager.getReference(injectedBean, null, manager.createCreationalContext(injectedBean));
+                    if (reference instanceof OwbNormalScopeProxy)
+                    {
+                        references[i] = reference;
+                    }
+                }
+            }
+            hasDependentParameters = dependentParameters;
+        }
     }
 
     /**
@@ -206,6 +276,26 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         {
             ownerBean.getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(view, true);
         }
+        viewHandle = createViewHandle(view);
+    }
+
+    private static MethodHandle createViewHandle(Method view)
+    {
+        try
+        {
+            MethodHandle handle = MethodHandles.lookup().unreflect(view);
+            if (Modifier.isStatic(view.getModifiers()))
+            {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asSpreader(Object[].class, view.getParameterCount())
+                    .asType(MethodType.methodType(void.class, Object.class, Object[].class));
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            // we will use plain reflection then
+            return null;
+        }
     }
 
     protected void checkObserverCondition(AnnotatedParameter<T> annotatedObservesParameter)
@@ -271,42 +361,36 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         }
 
         Object object = null;
-        
-        List<ObserverParams> methodArgsMap = getMethodArguments(event, metadata);
-        
+
         BeanManagerImpl manager = ownerBean.getWebBeansContext().getBeanManagerImpl();
-        CreationalContextImpl<Object> creationalContext = manager.createCreationalContext(component);
-        if (metadata != null)
-        {
-            creationalContext.putInjectionPoint(metadata.getInjectionPoint());
-            creationalContext.putEventMetadata(metadata);
-        }
-        
-        ObserverParams[] obargs = null;
+
+        // only created if we really need to create the owner bean instance
+        CreationalContextImpl<Object> creationalContext = null;
+
+        ObserverParams[] dependentParams = null;
         try
         {
             Object[] args;
-            if (methodArgsMap == null)
+            InvocationPlan plan = getInvocationPlan(manager);
+            if (plan == null)
             {
                 args = new Object[]{event};
             }
             else
             {
-                args = new Object[methodArgsMap.size()];
-                obargs = new ObserverParams[args.length];
-                obargs = methodArgsMap.toArray(obargs);
-                int i = 0;
-                for (ObserverParams param : obargs)
+                args = new Object[plan.beans.length + 1];
+                if (plan.hasDependentParameters)
                 {
-                    args[i++] = param.instance;
+                    dependentParams = new ObserverParams[plan.beans.length];
                 }
+                fillMethodArguments(manager, plan, event, metadata, args, dependentParams);
             }
 
             //Static or not
             if (Modifier.isStatic(view.getModifiers()))
             {
                 //Invoke Method
-                view.invoke(null, args);
+                invokeView(null, args);
             }
             else
             {
@@ -337,23 +421,30 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
                 if (object == null)
                 {
-                    object = context.get(component, creationalContext);
-                }
+                    creationalContext = manager.createCreationalContext(component);
+                    if (metadata != null)
+                    {
+                        creationalContext.putInjectionPoint(metadata.getInjectionPoint());
+                        creationalContext.putEventMetadata(metadata);
+                    }
 
-                if (object == null)
-                {
-                    // this might happen for EJB components.
-                    Type t = component.getBeanClass();
+                    object = context.get(component, creationalContext);
 
-                    // If the bean is an EJB, its beanClass may not be one of
-                    // its types. Instead pick a local interface
-                    if (component.getWebBeansType() == WebBeansType.ENTERPRISE)
+                    if (object == null)
                     {
-                        t = (Type) component.getTypes().toArray()[0];
-                    }
+                        // this might happen for EJB components.
+                        Type t = component.getBeanClass();
 
-                    object = manager.getReference(component, t, creationalContext);
+                        // If the bean is an EJB, its beanClass may not be one of
+                        // its types. Instead pick a local interface
+                        if (component.getWebBeansType() == WebBeansType.ENTERPRISE)
+                        {
+                            t = (Type) component.getTypes().toArray()[0];
+                        }
 
+                        object = manager.getReference(component, t, creationalContext);
+
+                    }
                 }
 
                 if (object != null)
@@ -382,20 +473,24 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
         }
         finally
         {
-            creationalContext.removeEventMetadata();
-            creationalContext.removeInjectionPoint();
-            //Destory bean instance
-            if (component.getScope().equals(Dependent.class) && object != null)
+            if (creationalContext != null)
             {
-                component.destroy(object, creationalContext);
+                creationalContext.removeEventMetadata();
+                creationalContext.removeInjectionPoint();
+
+                //Destory bean instance
+                if (component.getScope().equals(Dependent.class) && object != null)
+                {
+                    component.destroy(object, creationalContext);
+                }
             }
             
             //Destroy observer method dependent instances
-            if(methodArgsMap != null && obargs != null)
+            if (dependentParams != null)
             {
-                for(ObserverParams param : obargs)
+                for (ObserverParams param : dependentParams)
                 {
-                    if(param.isBean && param.bean.getScope().equals(Dependent.class))
+                    if (param != null)
                     {
                         param.bean.destroy(param.instance, param.creational);
                     }
@@ -407,50 +502,122 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
 
     protected void invoke(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
     {
-        view.invoke(object, args);
+        invokeView(object, args);
+    }
+
+    private void invokeView(Object object, Object[] args) throws IllegalAccessException, InvocationTargetException
+    {
+        if (viewHandle == null)
+        {
+            view.invoke(object, args);
+            return;
+        }
+
+        try
+        {
+            viewHandle.invokeExact(object, args);
+        }
+        catch (WrongMethodTypeException | ClassCastException e)
+        {
+            if (acceptsArguments(object, args))
+            {
+                // thrown by the observer method itself
+                throw new InvocationTargetException(e);
+            }
+            // same behaviour as Method#invoke
+            throw new IllegalArgumentException(e);
+        }
+        catch (Throwable t)
+        {
+            // same behaviour as Method#invoke
+            throw new InvocationTargetException(t);
+        }
     }
 
     /**
-     * Gets observer method parameters.
-     * @param event event payload
-     * @return observer method parameters
+     * @return whether the view method can get invoked on the given instance with the given arguments
+     */
+    private boolean acceptsArguments(Object object, Object[] args)
+    {
+        if (!Modifier.isStatic(view.getModifiers()) && !view.getDeclaringClass().isInstance(object))
+        {
+            return false;
+        }
+
+        Class<?>[] parameterTypes = view.getParameterTypes();
+        if (args.length != parameterTypes.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++)
+        {
+            Class<?> parameterType = parameterTypes[i];
+            if (parameterType.isPrimitive())
+            {
+                parameterType = ClassUtil.getPrimitiveWrapper(parameterType);
+            }
+            if (args[i] != null && !parameterType.isInstance(args[i]))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the resolved observer method parameters or {@code null} if the event is the only parameter
      */
-    protected List<ObserverParams> getMethodArguments(Object event, EventMetadata metadata)
+    private InvocationPlan getInvocationPlan(BeanManagerImpl manager)
     {
         if (injectionPoints.isEmpty() && annotatedObservesParameter.getPosition() == 0)
         {
             return null; // special handling
         }
 
-        List<ObserverParams> list = new ArrayList<>();
-        if (annotatedObservesParameter.getPosition() == 0)
+        long deploymentGeneration = manager.getInjectionResolver().getDeploymentGeneration();
+        InvocationPlan plan = invocationPlan;
+        if (plan != null && plan.deploymentGeneration == deploymentGeneration)
         {
-            ObserverParams param = new ObserverParams();
-            param.instance = event;
-            list.add(param);
+            return plan;
         }
-        WebBeansContext webBeansContext = ownerBean.getWebBeansContext();
-        BeanManagerImpl manager = webBeansContext.getBeanManagerImpl();
 
-        for (InjectionPoint injectionPoint: injectionPoints)
+        plan = new InvocationPlan(ownerBean.getWebBeansContext(), injectionPoints, annotatedObservesParameter.getPosition(), deploymentGeneration);
+        if (manager.isAfterDeploymentValidationFired())
         {
-            ObserverParams param = new ObserverParams();
-            param.isBean = true;
-            if (injectionPoint.getType() == BeanManager.class &&
-                    injectionPoint.getQualifiers().contains(DefaultLiteral.INSTANCE))
+            // the resolved beans only stay valid once the deployment is complete
+            invocationPlan = plan;
+        }
+        return plan;
+    }
+
+    /**
+     * Gets observer method parameters.
+     * @param args will be filled with the event payload and all injected parameters
+     * @param dependentParams will be filled with the &#064;Dependent parameters which need to get destroyed
+     */
+    private void fillMethodArguments(BeanManagerImpl manager, InvocationPlan plan, Object event, EventMetadata metadata,
+                                     Object[] args, ObserverParams[] dependentParams)
+    {
+        int parameterIndex = 0;
+        for (int i = 0; i < args.length; i++)
+        {
+            if (i == plan.eventPosition)
             {
-                param.instance = webBeansContext.getInjectableBeanManager();
-                param.isBean = false; // no need to release
+                args[i] = event;
+                continue;
             }
-            else
+
+            int current = parameterIndex++;
+            Object instance = plan.references[current];
+            if (instance == null)
             {
-                Bean<Object> injectedBean = (Bean<Object>) manager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+                Bean<Object> injectedBean = plan.beans[current];
+                InjectionPoint injectionPoint = plan.injectionPoints[current];
 
                 CreationalContextImpl<Object> creational = manager.createCreationalContext(injectedBean);
                 creational.putInjectionPoint(metadata.getInjectionPoint());
                 creational.putInjectionPoint(injectionPoint);
                 creational.putEventMetadata(metadata);
-                Object instance;
                 try
                 {
                     instance = manager.getReference(injectedBean, null, creational);
@@ -462,22 +629,17 @@ public class ObserverMethodImpl<T> implements OwbObserverMethod<T>
                     creational.removeInjectionPoint();
                 }
 
-                param.creational = creational;
-                param.instance = instance;
-                param.bean = injectedBean;
-            }
-
-            list.add(param);
-
-            if (list.size() == annotatedObservesParameter.getPosition())
-            {
-                param = new ObserverParams();
-                param.instance = event;
-                list.add(param);                 
+                if (dependentParams != null && Dependent.class.equals(injectedBean.getScope()))
+                {
+                    ObserverParams param = new ObserverParams();
+                    param.bean = injectedBean;
+                    param.instance = instance;
+                    param.creational = creational;
+                    dependentParams[current] = param;
+                }
             }
+            args[i] = instance;
         }
-                
-        return list;
     }
 
     /**
@@ -21,6 +21,9 @@ package org.apache.webbeans.inject;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionTarget;
+
+import org.apache.webbeans.container.BeanManagerImpl;
 
 /**
  * Injects dependencies of the given Java EE component
@@ -52,8 +55,18 @@ public final class OWBInjector
             creationalContext = beanManager.createCreationalContext(null);
         }
 
-        AnnotatedType annotatedType = beanManager.createAnnotatedType(instanceUnderInjection.getClass());
-        beanManager.createInjectionTarget(annotatedType).inject(instanceUnderInjection, creationalContext);
+        InjectionTarget injectionTarget;
+        if (beanManager instanceof BeanManagerImpl)
+        {
+            // reuse the InjectionTarget for all instances of the same class
+            injectionTarget = ((BeanManagerImpl) beanManager).getNonContextualInjectionTarget(instanceUnderInjection.getClass());
+        }
+        else
+        {
+            AnnotatedType annotatedType = beanManager.createAnnotatedType(instanceUnderInjection.getClass());
+            injectionTarget = beanManager.createInjectionTarget(annotatedType);
+        }
+        injectionTarget.inject(instanceUnderInjection, creationalContext);
     }
 
 
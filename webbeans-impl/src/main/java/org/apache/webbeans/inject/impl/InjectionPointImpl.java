@@ -73,6 +73,13 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
     
     private boolean delegate;
 
+    /**
+     * The Bean this InjectionPoint got resolved to.
+     * Only valid as long as the deployment generation did not change.
+     * @see org.apache.webbeans.container.InjectionResolver#getDeploymentGeneration()
+     */
+    private transient volatile ResolvedBean resolvedBean;
+
     InjectionPointImpl(Bean<?> ownerBean, Collection<Annotation> qualifiers, AnnotatedField<?> annotatedField)
     {
         this(ownerBean, annotatedField.getBaseType(), qualifiers, annotatedField,
@@ -127,6 +134,21 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
         }
     }
     
+    /**
+     * @return the Bean this InjectionPoint got resolved to in the given deployment generation
+     *         or {@code null} if it must get resolved again
+     */
+    public Bean<?> getResolvedBean(long deploymentGeneration)
+    {
+        ResolvedBean resolved = resolvedBean;
+        return resolved != null && resolved.deploymentGeneration == deploymentGeneration ? resolved.bean : null;
+    }
+
+    public void setResolvedBean(Bean<?> bean, long deploymentGeneration)
+    {
+        resolvedBean = new ResolvedBean(bean, deploymentGeneration);
+    }
+
     @Override
     public Bean<?> getBean()
     {
@@ -356,4 +378,16 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
         
         return buffer.toString();
     }
+
+    private static final class ResolvedBean
+    {
+        private final Bean<?> bean;
+        private final long deploymentGeneration;
+
+        private ResolvedBean(Bean<?> bean, long deploymentGeneration)
+        {
+            this.bean = bean;
+            this.deploymentGeneration = deploymentGeneration;
+        }
+    }
 }
@@ -82,6 +82,12 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
 
     private boolean strictValidation;
 
+    /**
+     * The Bean resolved by the last {@link #get()}, only valid as long as the
+     * {@link InjectionResolver#getDeploymentGeneration()} didn't change.
+     */
+    private transient volatile ResolvedBean resolvedBean;
+
     /**
      * Creates new instance.
      * 
@@ -117,10 +123,24 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public T get()
     {
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        InjectionResolver injectionResolver = beanManager.getInjectionResolver();
+        long deploymentGeneration = injectionResolver.getDeploymentGeneration();
+
+        // our type and qualifiers never change, so we only need to resolve again if the deployment changed
+        ResolvedBean resolved = resolvedBean;
+        if (resolved != null && resolved.deploymentGeneration == deploymentGeneration)
+        {
+            if (resolved.normalScopedProxy != null)
+            {
+                return (T) resolved.normalScopedProxy;
+            }
+            return create(resolved.bean);
+        }
 
         Set<Bean<?>> beans = resolveBeans();
 
-        Bean<?> bean = webBeansContext.getBeanManagerImpl().resolve(beans);
+        Bean<?> bean = beanManager.resolve(beans);
 
         if (bean == null)
         {
@@ -129,7 +149,17 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
             InjectionExceptionUtil.throwUnsatisfiedResolutionException(ClassUtil.getClazz(injectionClazz), injectionPoint, anns);
         }
 
-        return create(bean);
+        T reference = create(bean);
+
+        if (!injectionResolver.isStartup())
+        {
+            // the client proxy of a normal scoped bean is the same for all invocations
+            Object normalScopedProxy = reference instanceof OwbNormalScopeProxy && beanManager.isNormalScope(bean.getScope())
+                ? reference : null;
+            resolvedBean = new ResolvedBean(bean, normalScopedProxy, deploymentGeneration);
+        }
+
+        return reference;
     }
 
 
@@ -375,6 +405,20 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         }
     }
 
+    private static final class ResolvedBean
+    {
+        private final Bean<?> bean;
+        private final Object normalScopedProxy;
+        private final long deploymentGeneration;
+
+        private ResolvedBean(Bean<?> bean, Object normalScopedProxy, long deploymentGeneration)
+        {
+            this.bean = bean;
+            this.normalScopedProxy = normalScopedProxy;
+            this.deploymentGeneration = deploymentGeneration;
+        }
+    }
+
     private static class InstanceInjectionPoint implements InjectionPoint, Serializable
     {
         private InjectionPoint delegate;
@@ -30,6 +30,10 @@ import javax.enterprise.inject.spi.BeanManager;
  * we can simply cache this instance inside our bean. We only need to reload this instance
  * if it is null. This happens at the first usage and after the MethodHandler got deserialized</p>
  *
+ * <p>For beans served by this handler the {@link org.apache.webbeans.proxy.NormalScopeProxyFactory}
+ * generates direct dispatch proxies which additionally cache the instance in the proxy itself
+ * if {@link org.apache.webbeans.config.OpenWebBeansConfiguration#PROXY_DIRECT_DISPATCH} is enabled.</p>
+ *
  * <p>Also if the application uses the {@link javax.enterprise.context.spi.AlterableContext#destroy(javax.enterprise.context.spi.Contextual)}
  * method on any ApplicationScoped bean, then the standard NormalScopedBeanInterceptorHandler must be configured to prevent any caching.
  * Be careful as this might slow down your application!</p>
@@ -193,6 +193,7 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
             Producer<?> producer = ((OwbBean<?>)bean).getProducer();
             if (producer instanceof AbstractProducer)
             {
+                ((AbstractProducer<?>)producer).defineDeferredInterceptorStack();
                 interceptorInfo = ((AbstractProducer<?>)producer).getInterceptorInfo();
             }
         }
@@ -230,7 +230,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
         WebBeansContext webBeansContext = WebBeansContext.getInstance();
         BeanManager beanManager = webBeansContext.getBeanManagerImpl();
 
-        Map<Interceptor<?>, Object> tmpInstances = new HashMap<>();
+        Map<Interceptor<?>, Object> tmpInstances = new InterceptorInstanceMap(instancesSize);
         for (int i = 0; i < instancesSize; i++)
         {
             Interceptor<?> interceptor = readInterceptor(in.readUTF(), beanManager);
@@ -307,6 +307,7 @@ public class DefaultInterceptorHandler<T> implements InterceptorHandler, Externa
                 InjectionTarget<?> it = InjectionTargetBean.class.cast(bean).getInjectionTarget();
                 if (InjectionTargetImpl.class.isInstance(it))
                 {
+                    InjectionTargetImpl.class.cast(it).defineDeferredInterceptorStack();
                     InterceptorResolutionService.BeanInterceptorInfo info = InjectionTargetImpl.class.cast(it)
                                                                                                 .getInterceptorInfo();
                     return info.getSelfInterceptorBean();
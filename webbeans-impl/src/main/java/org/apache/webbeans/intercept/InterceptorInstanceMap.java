@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.intercept;
+
+import javax.enterprise.inject.spi.Interceptor;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Holds the Interceptor instances of a single intercepted bean instance.
+ *
+ * <p>Beans only have a handful of interceptors, so a pair of arrays which gets
+ * scanned linearly is smaller and faster than a HashMap with its entry objects.</p>
+ */
+public class InterceptorInstanceMap extends AbstractMap<Interceptor<?>, Object>
+{
+    private Interceptor<?>[] interceptors;
+    private Object[] instances;
+    private int size;
+
+    public InterceptorInstanceMap(int expectedSize)
+    {
+        interceptors = new Interceptor<?>[Math.max(expectedSize, 1)];
+        instances = new Object[interceptors.length];
+    }
+
+    @Override
+    public Object get(Object key)
+    {
+        int index = indexOf(key);
+        return index < 0 ? null : instances[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object put(Interceptor<?> key, Object value)
+    {
+        int index = indexOf(key);
+        if (index >= 0)
+        {
+            Object old = instances[index];
+            instances[index] = value;
+            return old;
+        }
+
+        if (size == interceptors.length)
+        {
+            interceptors = Arrays.copyOf(interceptors, size * 2);
+            instances = Arrays.copyOf(instances, size * 2);
+        }
+        interceptors[size] = key;
+        instances[size] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<Interceptor<?>, Object>> entrySet()
+    {
+        return new AbstractSet<Entry<Interceptor<?>, Object>>()
+        {
+            @Override
+            public Iterator<Entry<Interceptor<?>, Object>> iterator()
+            {
+                return new Iterator<Entry<Interceptor<?>, Object>>()
+                {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Entry<Interceptor<?>, Object> next()
+                    {
+                        if (next >= size)
+                        {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<Interceptor<?>, Object> entry = new SimpleImmutableEntry<>(interceptors[next], instances[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(Object key)
+    {
+        for (int i = 0; i < size; i++)
+        {
+            if (interceptors[i] == key)
+            {
+                return i;
+            }
+        }
+        if (key != null)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                if (key.equals(interceptors[i]))
+                {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -38,6 +38,7 @@ import org.apache.webbeans.util.ClassUtil;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.Intercepted;
 import javax.enterprise.inject.UnproxyableResolutionException;
 import javax.enterprise.inject.spi.Annotated;
 import javax.enterprise.inject.spi.AnnotatedCallable;
@@ -46,6 +47,7 @@ import javax.enterprise.inject.spi.AnnotatedMethod;
 import javax.enterprise.inject.spi.AnnotatedParameter;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Decorator;
+import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.InterceptionType;
 import javax.enterprise.inject.spi.Interceptor;
 import javax.inject.Inject;
@@ -69,6 +71,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -86,6 +90,21 @@ public class InterceptorResolutionService
      */
     private volatile Boolean enforceCheckedException;
 
+    /**
+     * @see OpenWebBeansConfiguration#STATELESS_INTERCEPTORS
+     */
+    private volatile Set<String> statelessInterceptorClasses;
+
+    /**
+     * Whether an Interceptor is stateless.
+     */
+    private final ConcurrentMap<Interceptor<?>, Boolean> statelessInterceptors = new ConcurrentHashMap<>();
+
+    /**
+     * The single instance of each stateless Interceptor.
+     */
+    private final ConcurrentMap<Interceptor<?>, SharedInterceptorInstance<?>> sharedInterceptorInstances = new ConcurrentHashMap<>();
+
 
     public InterceptorResolutionService(WebBeansContext webBeansContext)
     {
@@ -125,7 +144,7 @@ public class InterceptorResolutionService
         List<Interceptor<?>> classLevelInterceptors;
         if (classInterceptorBindings.size() > 0)
         {
-            classLevelInterceptors = webBeansContext.getBeanManagerImpl().resolveInterceptors(InterceptionType.AROUND_INVOKE, AnnotationUtil.asArray(classInterceptorBindings));
+            classLevelInterceptors = webBeansContext.getInterceptorsManager().resolveInterceptors(InterceptionType.AROUND_INVOKE, AnnotationUtil.asArray(classInterceptorBindings));
             allUsedCdiInterceptors.addAll(classLevelInterceptors);
         }
         else
@@ -277,15 +296,15 @@ public class InterceptorResolutionService
                                                       Set<Interceptor<?>> allUsedCdiInterceptors,
                                                       Set<Interceptor<?>> allUsedConstructorCdiInterceptors)
     {
-        BeanManagerImpl beanManagerImpl = webBeansContext.getBeanManagerImpl();
+        InterceptorsManager interceptorsManager = webBeansContext.getInterceptorsManager();
 
         Annotation[] interceptorBindings = null;
         if (classInterceptorBindings.size() > 0)
         {
             interceptorBindings = AnnotationUtil.asArray(classInterceptorBindings);
 
-            allUsedCdiInterceptors.addAll(beanManagerImpl.resolveInterceptors(InterceptionType.POST_CONSTRUCT, interceptorBindings));
-            allUsedCdiInterceptors.addAll(beanManagerImpl.resolveInterceptors(InterceptionType.PRE_DESTROY, interceptorBindings));
+            allUsedCdiInterceptors.addAll(interceptorsManager.resolveInterceptors(InterceptionType.POST_CONSTRUCT, interceptorBindings));
+            allUsedCdiInterceptors.addAll(interceptorsManager.resolveInterceptors(InterceptionType.PRE_DESTROY, interceptorBindings));
         }
 
         AnnotatedConstructor<?> constructorToUse = webBeansContext.getWebBeansUtil().getInjectedConstructor(annotatedType);
@@ -317,12 +336,12 @@ public class InterceptorResolutionService
             }
             if (!constructorAnnot.isEmpty())
             {
-                allUsedConstructorCdiInterceptors.addAll(beanManagerImpl.resolveInterceptors(InterceptionType.AROUND_CONSTRUCT, AnnotationUtil.asArray(constructorAnnot)));
+                allUsedConstructorCdiInterceptors.addAll(interceptorsManager.resolveInterceptors(InterceptionType.AROUND_CONSTRUCT, AnnotationUtil.asArray(constructorAnnot)));
             }
         }
         else if (interceptorBindings != null)
         {
-            allUsedConstructorCdiInterceptors.addAll(beanManagerImpl.resolveInterceptors(InterceptionType.AROUND_CONSTRUCT, interceptorBindings));
+            allUsedConstructorCdiInterceptors.addAll(interceptorsManager.resolveInterceptors(InterceptionType.AROUND_CONSTRUCT, interceptorBindings));
         }
         allUsedCdiInterceptors.addAll(allUsedConstructorCdiInterceptors);
     }
@@ -644,7 +663,7 @@ public class InterceptorResolutionService
         List<Interceptor<?>> methodInterceptors;
         if (hasMethodInterceptors || classLevelInterceptors == null)
         {
-            methodInterceptors = webBeansContext.getBeanManagerImpl().resolveInterceptors(interceptionType, AnnotationUtil.asArray(cummulatedInterceptorBindings.values()));
+            methodInterceptors = webBeansContext.getInterceptorsManager().resolveInterceptors(interceptionType, AnnotationUtil.asArray(cummulatedInterceptorBindings.values()));
             allUsedCdiInterceptors.addAll(methodInterceptors);
         }
         else
@@ -805,31 +824,127 @@ public class InterceptorResolutionService
     public <T> Map<Interceptor<?>, Object> createInterceptorInstances(BeanInterceptorInfo interceptorInfo,
                                                                       CreationalContextImpl<T> creationalContextImpl)
     {
-        Map<Interceptor<?>,Object> interceptorInstances  = new HashMap<>();
-        if (interceptorInfo != null)
+        if (interceptorInfo == null)
+        {
+            return new InterceptorInstanceMap(1);
+        }
+
+        Map<Interceptor<?>,Object> interceptorInstances  = new InterceptorInstanceMap(
+                interceptorInfo.getEjbInterceptors().size() + interceptorInfo.getCdiInterceptors().size()
+                        + interceptorInfo.getConstructorCdiInterceptors().size() + 1);
+
+        // apply interceptorInfo
+
+        // create EJB-style interceptors
+        for (Interceptor interceptorBean : interceptorInfo.getEjbInterceptors())
+        {
+            interceptorInstances.put(interceptorBean, createInterceptorInstance(interceptorBean, creationalContextImpl));
+        }
+
+        // create CDI-style interceptors
+        for (Interceptor interceptorBean : interceptorInfo.getCdiInterceptors())
+        {
+            interceptorInstances.put(interceptorBean, createInterceptorInstance(interceptorBean, creationalContextImpl));
+        }
+        for (Interceptor interceptorBean : interceptorInfo.getConstructorCdiInterceptors())
+        {
+            interceptorInstances.put(interceptorBean, createInterceptorInstance(interceptorBean, creationalContextImpl));
+        }
+        return interceptorInstances;
+    }
+
+    private Object createInterceptorInstance(Interceptor interceptorBean, CreationalContextImpl creationalContextImpl)
+    {
+        if (isStateless(interceptorBean))
+        {
+            return getSharedInterceptorInstance(interceptorBean);
+        }
+
+        creationalContextImpl.putContextual(interceptorBean);
+        return interceptorBean.create(creationalContextImpl);
+    }
+
+    /**
+     * @return {@code true} if the given Interceptor got configured as stateless
+     *         via {@link OpenWebBeansConfiguration#STATELESS_INTERCEPTORS}
+     *         and doesn't need any information about the intercepted bean.
+     */
+    public boolean isStateless(Interceptor<?> interceptorBean)
+    {
+        if (statelessInterceptorClasses == null)
+        {
+            statelessInterceptorClasses = webBeansContext.getOpenWebBeansConfiguration().getStatelessInterceptors();
+        }
+        if (statelessInterceptorClasses.isEmpty())
         {
-            // apply interceptorInfo
+            return false;
+        }
 
-            // create EJB-style interceptors
-            for (Interceptor interceptorBean : interceptorInfo.getEjbInterceptors())
+        Boolean stateless = statelessInterceptors.get(interceptorBean);
+        if (stateless == null)
+        {
+            stateless = statelessInterceptorClasses.contains(interceptorBean.getBeanClass().getName())
+                    && !dependsOnInterceptedBean(interceptorBean);
+            statelessInterceptors.putIfAbsent(interceptorBean, stateless);
+        }
+        return stateless;
+    }
+
+    private boolean dependsOnInterceptedBean(Interceptor<?> interceptorBean)
+    {
+        for (InjectionPoint injectionPoint : interceptorBean.getInjectionPoints())
+        {
+            if (InjectionPoint.class.equals(injectionPoint.getType()))
             {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
+                return true;
             }
+            for (Annotation qualifier : injectionPoint.getQualifiers())
+            {
+                if (Intercepted.class.equals(qualifier.annotationType()))
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-            // create CDI-style interceptors
-            for (Interceptor interceptorBean : interceptorInfo.getCdiInterceptors())
+    private <T> Object getSharedInterceptorInstance(Interceptor<T> interceptorBean)
+    {
+        SharedInterceptorInstance<T> shared = (SharedInterceptorInstance<T>) sharedInterceptorInstances.get(interceptorBean);
+        if (shared == null)
+        {
+            synchronized (sharedInterceptorInstances)
             {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
+                shared = (SharedInterceptorInstance<T>) sharedInterceptorInstances.get(interceptorBean);
+                if (shared == null)
+                {
+                    CreationalContextImpl<T> creationalContext
+                            = webBeansContext.getBeanManagerImpl().createCreationalContext(interceptorBean);
+                    shared = new SharedInterceptorInstance<>(interceptorBean.create(creationalContext), creationalContext);
+                    sharedInterceptorInstances.put(interceptorBean, shared);
+                }
             }
-            for (Interceptor interceptorBean : interceptorInfo.getConstructorCdiInterceptors())
+        }
+        return shared.instance;
+    }
+
+    /**
+     * Destroys the shared instances of all stateless Interceptors.
+     * Gets invoked at container shutdown.
+     */
+    public void destroySharedInterceptorInstances()
+    {
+        synchronized (sharedInterceptorInstances)
+        {
+            for (Map.Entry<Interceptor<?>, SharedInterceptorInstance<?>> entry : sharedInterceptorInstances.entrySet())
             {
-                creationalContextImpl.putContextual(interceptorBean);
-                interceptorInstances.put(interceptorBean, interceptorBean.create(creationalContextImpl));
+                SharedInterceptorInstance<Object> shared = (SharedInterceptorInstance<Object>) entry.getValue();
+                ((Interceptor<Object>) entry.getKey()).destroy(shared.instance, shared.creationalContext);
             }
+            sharedInterceptorInstances.clear();
+            statelessInterceptors.clear();
         }
-        return interceptorInstances;
     }
 
     public <T> T createProxiedInstance(T instance, CreationalContextImpl<T> creationalContextImpl,
@@ -868,6 +983,18 @@ public class InterceptorResolutionService
     }
 
 
+    private static final class SharedInterceptorInstance<T>
+    {
+        private final T instance;
+        private final CreationalContext<T> creationalContext;
+
+        private SharedInterceptorInstance(T instance, CreationalContext<T> creationalContext)
+        {
+            this.instance = instance;
+            this.creationalContext = creationalContext;
+        }
+    }
+
     /**
      * static information about interceptors and decorators for a
      * single bean.
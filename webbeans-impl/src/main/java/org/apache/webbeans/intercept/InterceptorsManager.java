@@ -21,6 +21,7 @@ package org.apache.webbeans.intercept;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -81,6 +82,14 @@ public class InterceptorsManager
 
     private final PriorityClasses priorityInterceptors = new PriorityClasses();
 
+    /**
+     * The sorted interceptors per interception type and set of interceptor bindings.
+     * Many methods share the very same bindings, e.g. &#064;Transactional,
+     * so we resolve and sort them only once.
+     * Gets cleared whenever the enabled interceptors or their order might change.
+     */
+    private final ConcurrentMap<InterceptorResolutionKey, List<Interceptor<?>>> resolvedInterceptors = new ConcurrentHashMap<>();
+
 
     public InterceptorsManager(WebBeansContext webBeansContext)
     {
@@ -100,6 +109,7 @@ public class InterceptorsManager
         cdiInterceptors.clear();
         ejbInterceptors.clear();
         priorityInterceptors.clear();
+        resolvedInterceptors.clear();
     }
 
 
@@ -113,6 +123,7 @@ public class InterceptorsManager
         if (!configuredInterceptorClasses.contains(interceptorClazz))
         {
             configuredInterceptorClasses.add(interceptorClazz);
+            resolvedInterceptors.clear();
         }
     }
 
@@ -202,7 +213,22 @@ public class InterceptorsManager
                 || priorityInterceptors.contains(interceptorClazz);
     }
 
+    /**
+     * @return the sorted and immutable list of enabled interceptors for the given bindings
+     */
     public List<Interceptor<?>> resolveInterceptors(InterceptionType type, Annotation... interceptorBindings)
+    {
+        InterceptorResolutionKey key = new InterceptorResolutionKey(type, interceptorBindings);
+        List<Interceptor<?>> interceptorList = resolvedInterceptors.get(key);
+        if (interceptorList == null)
+        {
+            interceptorList = Collections.unmodifiableList(doResolveInterceptors(type, interceptorBindings));
+            resolvedInterceptors.putIfAbsent(key, interceptorList);
+        }
+        return interceptorList;
+    }
+
+    private List<Interceptor<?>> doResolveInterceptors(InterceptionType type, Annotation[] interceptorBindings)
     {
         List<Interceptor<?>> interceptorList = new ArrayList<>();
         for (Interceptor<?> interceptor : cdiInterceptors)
@@ -283,6 +309,7 @@ public class InterceptorsManager
     {
         cdiInterceptors.add(interceptor);
         beanManager.addPassivationInfo(interceptor);
+        resolvedInterceptors.clear();
     }
 
 
@@ -306,12 +333,14 @@ public class InterceptorsManager
     public void addInterceptorBindingType(AnnotatedType<? extends Annotation> annotatedType)
     {
         additionalInterceptorBindingTypesAnnotatedTypes.add(annotatedType);
+        resolvedInterceptors.clear();
     }
 
     public void addInterceptorBindingType(Class<? extends Annotation> bindingType, Annotation... inheritsArray)
     {
         Set<Annotation> inherits = additionalInterceptorBindingTypes.computeIfAbsent(bindingType, k -> new HashSet<>());
         Collections.addAll(inherits, inheritsArray);
+        resolvedInterceptors.clear();
     }
 
     public boolean hasInterceptorBindingType(Class<? extends Annotation> bindingType)
@@ -349,16 +378,71 @@ public class InterceptorsManager
 
     public int getPriority(final Class<?> type)
     {
-        return priorityInterceptors.getPriority(type).orElseGet(() -> getPrioritizedInterceptors().indexOf(type));
+        return priorityInterceptors.getPriority(type).orElseGet(() -> priorityInterceptors.getSorted().indexOf(type));
     }
 
+    /**
+     * The returned list might get modified, e.g. by AfterTypeDiscovery observers,
+     * {@link #clearResolvedInterceptors()} must get invoked afterwards.
+     */
     public List<Class<?>> getPrioritizedInterceptors()
     {
         return priorityInterceptors.getSorted();
     }
 
+    /**
+     * Drops the interceptors resolved so far, e.g. after the prioritized interceptors got modified.
+     */
+    public void clearResolvedInterceptors()
+    {
+        resolvedInterceptors.clear();
+    }
+
     public void addPriorityClazzInterceptor(Class<?> javaClass, int priority)
     {
         priorityInterceptors.add(javaClass, priority);
+        resolvedInterceptors.clear();
+    }
+
+    /**
+     * Cache key for the interceptor resolution.
+     * The order of the interceptor bindings doesn't matter.
+     */
+    private static final class InterceptorResolutionKey
+    {
+        private final InterceptionType type;
+        private final Set<Annotation> interceptorBindings;
+        private final int hashCode;
+
+        private InterceptorResolutionKey(InterceptionType type, Annotation[] interceptorBindings)
+        {
+            this.type = type;
+            this.interceptorBindings = interceptorBindings.length == 1
+                ? Collections.singleton(interceptorBindings[0])
+                : new HashSet<>(Arrays.asList(interceptorBindings));
+            hashCode = 31 * type.hashCode() + this.interceptorBindings.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof InterceptorResolutionKey))
+            {
+                return false;
+            }
+
+            InterceptorResolutionKey other = (InterceptorResolutionKey) o;
+            return type == other.type && interceptorBindings.equals(other.interceptorBindings);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
     }
 }
@@ -91,6 +91,11 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
         return webBeansContext;
     }
 
+    public BeansDeployer getBeansDeployer()
+    {
+        return deployer;
+    }
+
     @Override
     public BeanManager getBeanManager()
     {        
@@ -135,6 +140,7 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
 
         //Deploy
         deployer.deploy(scannerService);
+        webBeansContext.getFootprintDiagnostics().registerMBean();
 
         //Start actual starting on sub-classes
         afterStartApplication(startupObject);
@@ -157,11 +163,17 @@ public abstract class AbstractLifeCycle implements ContainerLifecycle
             //Sub-classes operations            
             beforeStopApplication(endObject);
 
+            webBeansContext.getFootprintDiagnostics().unregisterMBean();
+
             //Fire shut down
             beanManager.fireLifecycleEvent(new BeforeShutdownImpl());
 
             contextsService.destroy(endObject);
 
+            // the request contexts handed their pooled instances back, so we can destroy them now
+            webBeansContext.getRequestBeanPool().destroy();
+            webBeansContext.getInterceptorResolutionService().destroySharedInterceptorInstances();
+
             //Unbind BeanManager
             jndiService.unbind(WebBeansConstants.WEB_BEANS_MANAGER_JNDI_NAME);
 
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.decorator.Delegate;
 import javax.enterprise.context.spi.Contextual;
@@ -54,6 +55,18 @@ public abstract class AbstractProducer<T> implements Producer<T>
     protected InterceptorDecoratorProxyFactory proxyFactory;
     protected Map<Method, List<Interceptor<?>>> methodInterceptors;
 
+    /**
+     * Creates the InjectionPoints on first access, {@code null} once they got created.
+     */
+    private volatile Supplier<Set<InjectionPoint>> deferredInjectionPoints;
+
+    /**
+     * Defines the interceptor stack on first use, {@code null} once it got defined.
+     */
+    private volatile Runnable deferredInterceptorStack;
+    private volatile boolean interceptorStackDeferred;
+    private boolean definingInterceptorStack;
+
     public AbstractProducer()
     {
         this(Collections.<InjectionPoint>emptySet());
@@ -65,6 +78,73 @@ public abstract class AbstractProducer<T> implements Producer<T>
         injectionPoints = points;
     }
 
+    /**
+     * Used by the lazy bean mode, the InjectionPoints get created when they are needed for the first time.
+     */
+    public AbstractProducer(Supplier<Set<InjectionPoint>> points)
+    {
+        deferredInjectionPoints = points;
+    }
+
+    /**
+     * Used by the lazy bean mode instead of {@link #defineInterceptorStack(Bean, AnnotatedType, WebBeansContext)}.
+     * The interceptor stack and the proxy class get defined when the first instance gets produced
+     * or when {@link #defineDeferredInterceptorStack()} gets invoked.
+     */
+    public void deferInterceptorStack(Bean<T> bean, Supplier<AnnotatedType<T>> annotatedType, WebBeansContext webBeansContext)
+    {
+        deferredInterceptorStack = () -> defineInterceptorStack(bean, annotatedType.get(), webBeansContext);
+        interceptorStackDeferred = true;
+    }
+
+    /**
+     * Defines the interceptor stack if it got deferred and is not yet defined.
+     *
+     * @return {@code true} if the interceptor stack got deferred, it is defined once this method returns
+     */
+    public boolean defineDeferredInterceptorStack()
+    {
+        if (deferredInterceptorStack != null)
+        {
+            synchronized (this)
+            {
+                Runnable definition = deferredInterceptorStack;
+                // the definition itself might end up here again
+                if (definition != null && !definingInterceptorStack)
+                {
+                    definingInterceptorStack = true;
+                    try
+                    {
+                        definition.run();
+                        deferredInterceptorStack = null;
+                    }
+                    finally
+                    {
+                        definingInterceptorStack = false;
+                    }
+                }
+            }
+            return true;
+        }
+        return interceptorStackDeferred;
+    }
+
+    /**
+     * @return {@code true} if the InjectionPoints got deferred and are not yet created
+     */
+    public boolean isInjectionPointsDeferred()
+    {
+        return deferredInjectionPoints != null;
+    }
+
+    /**
+     * @return {@code true} if the interceptor stack got deferred and is not yet defined
+     */
+    public boolean isInterceptorStackDeferred()
+    {
+        return deferredInterceptorStack != null;
+    }
+
     /**
      *
      * Configure bean instance interceptor stack.
@@ -118,6 +198,18 @@ public abstract class AbstractProducer<T> implements Producer<T>
     @Override
     public Set<InjectionPoint> getInjectionPoints()
     {
+        if (deferredInjectionPoints != null)
+        {
+            synchronized (this)
+            {
+                Supplier<Set<InjectionPoint>> points = deferredInjectionPoints;
+                if (points != null)
+                {
+                    injectionPoints = points.get();
+                    deferredInjectionPoints = null;
+                }
+            }
+        }
         return injectionPoints;
     }
 
@@ -129,6 +221,8 @@ public abstract class AbstractProducer<T> implements Producer<T>
     @Override
     public T produce(CreationalContext<T> creationalContext)
     {
+        defineDeferredInterceptorStack();
+
         CreationalContextImpl<T> creationalContextImpl = (CreationalContextImpl<T>) creationalContext;
 
         Contextual<T> oldContextual = creationalContextImpl.getContextual();
@@ -73,6 +73,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static java.util.Arrays.asList;
 
@@ -125,6 +126,21 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         this.postConstructMethods = postConstructMethods;
         this.preDestroyMethods = preDestroyMethods;
     }
+
+    /**
+     * Used by the lazy bean mode, the InjectionPoints get created on first access.
+     */
+    public InjectionTargetImpl(AnnotatedType<T> annotatedType, Supplier<Set<InjectionPoint>> injectionPoints, WebBeansContext webBeansContext,
+                               List<AnnotatedMethod<?>> postConstructMethods, List<AnnotatedMethod<?>> preDestroyMethods)
+    {
+        super(injectionPoints);
+        Asserts.assertNotNull(annotatedType);
+        Asserts.assertNotNull(webBeansContext);
+        this.annotatedType = annotatedType;
+        this.webBeansContext = webBeansContext;
+        this.postConstructMethods = postConstructMethods;
+        this.preDestroyMethods = preDestroyMethods;
+    }
     
     @Override
     protected void defineLifecycleInterceptors(Bean<T> bean, AnnotatedType<T> annotatedType, WebBeansContext webBeansContext)
@@ -191,6 +207,18 @@ public class InjectionTargetImpl<T> extends AbstractProducer<T> implements Injec
         return super.needsProxy() || !postConstructInterceptors.isEmpty() || !preDestroyInterceptors.isEmpty();
     }
     
+    /**
+     * @return {@code true} if the interceptor stack got defined and neither a PreDestroy method
+     *         nor any interceptor or decorator needs to get invoked for an instance of this InjectionTarget
+     */
+    public boolean isDestroyNoOp()
+    {
+        return getInterceptorInfo() != null
+            && (preDestroyMethods == null || preDestroyMethods.isEmpty())
+            && !needsProxy()
+            && !hasAroundConstruct();
+    }
+
     protected boolean hasAroundConstruct()
     {
         return aroundConstructInterceptors != null && !aroundConstructInterceptors.isEmpty();
@@ -29,6 +29,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 import org.apache.webbeans.config.WebBeansContext;
@@ -67,11 +69,20 @@ public abstract class AbstractProxyFactory
 
     private final boolean useStaticNames;
     private final boolean useXXhash64;
+    private final boolean sharedProxyClasses;
 
     protected WebBeansContext webBeansContext;
 
     private final int javaVersion;
 
+    /**
+     * The size of the generated bytecode per proxy class.
+     * Only recorded if the footprint diagnostics are enabled.
+     */
+    private final ConcurrentMap<Class<?>, Integer> proxyClassSizes = new ConcurrentHashMap<>();
+
+    private final boolean recordProxyClassSizes;
+
 
     /**
      * The name of the field which stores the passivationID of the Bean this proxy serves.
@@ -97,6 +108,12 @@ public abstract class AbstractProxyFactory
         useXXhash64 = Boolean.parseBoolean(webBeansContext.getOpenWebBeansConfiguration()
                 .getProperty("org.apache.webbeans.proxy.staticNames.useXxHash64"));
 
+        // a DefiningClassService decides itself where the classes end up, so we can't share them
+        sharedProxyClasses = definingService == null
+                && webBeansContext.getOpenWebBeansConfiguration().isSharedProxyClasses();
+
+        recordProxyClassSizes = webBeansContext.getOpenWebBeansConfiguration().isFootprintDiagnostics();
+
         // we have fallbacks bellow to try Unsafe anyways if we can't do otherwise
         unsafe = definingService == null || instantiatingService == null ? new Unsafe() : null;
     }
@@ -156,6 +173,14 @@ public abstract class AbstractProxyFactory
     }
 
 
+    /**
+     * @return whether proxy class names must be stable, e.g. to find pre-generated proxies
+     */
+    protected boolean isUseStaticNames()
+    {
+        return useStaticNames;
+    }
+
     protected ClassLoader getProxyClassLoader(Class<?> beanClass)
     {
         if (definingService != null)
@@ -256,22 +281,74 @@ public abstract class AbstractProxyFactory
     {
         if (useXXhash64)
         {
-            // xxhash64 has very low collision so for this kind of has it is safe enough
-            // and enables to avoid a big concatenation for names
-            return Long.toString(Math.abs(XxHash64.apply(Stream.concat(
-                    proxiedMethods == null ? Stream.empty() :
-                            Stream.of(proxiedMethods).map(Method::toGenericString).sorted(),
-                    notProxiedMethods == null ? Stream.empty() :
-                            Stream.of(notProxiedMethods)
-                                    .filter(it -> it.getDeclaringClass() != Object.class)
-                                    .map(Method::toGenericString)
-                                    .map(it -> "<NOT>" + it).sorted()
-            ).collect(joining("_")))));
+            return methodsHash(proxiedMethods, notProxiedMethods);
         }
         // else unsafe - 1 proxy per class max!
         return "0";
     }
 
+    private String methodsHash(Method[] proxiedMethods, Method[] notProxiedMethods)
+    {
+        // xxhash64 has very low collision so for this kind of has it is safe enough
+        // and enables to avoid a big concatenation for names
+        return Long.toString(Math.abs(XxHash64.apply(Stream.concat(
+                proxiedMethods == null ? Stream.empty() :
+                        Stream.of(proxiedMethods).map(Method::toGenericString).sorted(),
+                notProxiedMethods == null ? Stream.empty() :
+                        Stream.of(notProxiedMethods)
+                                .filter(it -> it.getDeclaringClass() != Object.class)
+                                .map(Method::toGenericString)
+                                .map(it -> "<NOT>" + it).sorted()
+        ).collect(joining("_")))));
+    }
+
+    /**
+     * @param proxyClassName the proxy name before it got made unique
+     * @return the key of the proxy class in the JVM wide {@link SharedProxyClasses}
+     *         or {@code null} if proxy classes don't get shared
+     */
+    protected String getSharedProxyClassKey(ClassLoader classLoader, String proxyClassName,
+                                            Method[] proxiedMethods, Method[] notProxiedMethods)
+    {
+        if (!sharedProxyClasses || classLoader == null)
+        {
+            return null;
+        }
+        return getClass().getName() + ':' + javaVersion + ':' + proxyClassName + ':' + methodsHash(proxiedMethods, notProxiedMethods);
+    }
+
+    /**
+     * @return the proxy class another container already generated in the given ClassLoader or {@code null}
+     */
+    protected <T> Class<T> getSharedProxyClass(ClassLoader classLoader, String key, Class<T> classToProxy)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        SharedProxyClasses.SharedProxyClass sharedProxyClass = SharedProxyClasses.get(classLoader, key);
+        Class<?> proxyClass = sharedProxyClass == null ? null : sharedProxyClass.getProxyClass();
+        if (proxyClass == null || !classToProxy.isAssignableFrom(proxyClass))
+        {
+            return null;
+        }
+
+        if (recordProxyClassSizes)
+        {
+            proxyClassSizes.put(proxyClass, sharedProxyClass.getSize());
+        }
+        return (Class<T>) proxyClass;
+    }
+
+    protected void putSharedProxyClass(ClassLoader classLoader, String key, Class<?> proxyClass)
+    {
+        if (key != null && proxyClass != null)
+        {
+            SharedProxyClasses.put(classLoader, key, proxyClass, getProxyClassSize(proxyClass));
+        }
+    }
+
     protected  <T> String getSignedClassProxyName(final Class<T> classToProxy)
     {
         // avoid java.lang.SecurityException: class's signer information
@@ -339,11 +416,30 @@ public abstract class AbstractProxyFactory
                 sortOutDuplicateMethods(nonInterceptedMethods),
                 constructor);
 
+        Class<T> proxyClass;
         if (definingService != null)
         {
-            return definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
+            proxyClass = definingService.defineAndLoad(proxyClassName, proxyBytes, classToProxy);
         }
-        return unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        else
+        {
+            proxyClass = unsafe.defineAndLoadClass(classLoader, proxyClassName, proxyBytes, classToProxy);
+        }
+        if (proxyClass != null && recordProxyClassSizes)
+        {
+            proxyClassSizes.put(proxyClass, proxyBytes.length);
+        }
+        return proxyClass;
+    }
+
+    /**
+     * @return the size of the bytecode of the given proxy class or 0 if it didn't get generated by this factory
+     *         or the footprint diagnostics are disabled
+     */
+    public int getProxyClassSize(Class<?> proxyClass)
+    {
+        Integer size = proxyClass == null ? null : proxyClassSizes.get(proxyClass);
+        return size == null ? 0 : size;
     }
 
     protected <T> T newInstance(final Class<? extends T> proxyClass)
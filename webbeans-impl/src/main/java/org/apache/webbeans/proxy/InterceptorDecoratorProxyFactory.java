@@ -199,11 +199,18 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
                                           Method[] interceptedMethods, Method[] nonInterceptedMethods)
             throws ProxyGenerationException
     {
-        String proxyClassName = getUnusedProxyClassName(
-                classLoader,
-                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbInterceptProxy",
-                interceptedMethods, nonInterceptedMethods);
+        String baseProxyClassName =
+                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbInterceptProxy";
 
+        String sharedProxyClassKey = getSharedProxyClassKey(classLoader, baseProxyClassName, interceptedMethods, nonInterceptedMethods);
+        Class<T> sharedProxyClass = getSharedProxyClass(classLoader, sharedProxyClassKey, classToProxy);
+        if (sharedProxyClass != null)
+        {
+            // the intercepted Method[] of the class matches the bytecode already
+            return sharedProxyClass;
+        }
+
+        String proxyClassName = getUnusedProxyClassName(classLoader, baseProxyClassName, interceptedMethods, nonInterceptedMethods);
 
         Class<T> clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
 
@@ -218,6 +225,7 @@ public class InterceptorDecoratorProxyFactory extends AbstractProxyFactory
             throw new ProxyGenerationException(e);
         }
 
+        putSharedProxyClass(classLoader, sharedProxyClassKey, clazz);
         return clazz;
     }
 
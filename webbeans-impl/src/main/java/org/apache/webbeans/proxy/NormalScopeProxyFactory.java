@@ -37,11 +37,13 @@ import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.intercept.ApplicationScopedBeanInterceptorHandler;
 import org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler;
 import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.xbean.asm9.ClassWriter;
+import org.apache.xbean.asm9.Label;
 import org.apache.xbean.asm9.MethodVisitor;
 import org.apache.xbean.asm9.Opcodes;
 import org.apache.xbean.asm9.Type;
@@ -59,16 +61,45 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
     /** the Method[] for all protected methods. We need to invoke them via reflection. */
     public static final String FIELD_PROTECTED_METHODS = "owbProtectedMethods";
 
+    /** the name of the field which caches the Contextual Instance in direct dispatch proxies */
+    public static final String FIELD_CACHED_INSTANCE = "owbCachedContextualInstance";
+
+    /** the name of the method which resolves the Contextual Instance in direct dispatch proxies */
+    private static final String METHOD_RESOLVE_INSTANCE = "owbResolveContextualInstance";
+
     /**
      * Caches the proxy classes for each bean.
      * We need this to prevent filling up the ClassLoaders by
      */
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
 
+    /**
+     * Whether the generated proxies cache the Contextual Instance in a field of the proxy itself.
+     * This is only allowed for beans served by an {@link ApplicationScopedBeanInterceptorHandler},
+     * which means there is exactly one Contextual Instance for the lifetime of the proxy.
+     */
+    private final boolean directDispatch;
+
+    /**
+     * Creates the direct dispatch proxies or {@code null} if they are disabled.
+     */
+    private final NormalScopeProxyFactory directDispatchProxyFactory;
+
 
     public NormalScopeProxyFactory(WebBeansContext webBeansContext)
+    {
+        this(webBeansContext, false);
+    }
+
+    private NormalScopeProxyFactory(WebBeansContext webBeansContext, boolean directDispatch)
     {
         super(webBeansContext);
+        this.directDispatch = directDispatch;
+        // stable proxy names must not depend on the proxy variant
+        directDispatchProxyFactory = !directDispatch && !isUseStaticNames()
+                && webBeansContext.getOpenWebBeansConfiguration().isProxyDirectDispatch()
+            ? new NormalScopeProxyFactory(webBeansContext, true)
+            : null;
     }
 
     @Override
@@ -142,6 +173,17 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             classToProxy = (Class<T>) bean.getBeanClass();
         }
 
+        Provider provider = getInstanceProvider(classLoader, bean);
+        if (directDispatchProxyFactory != null && provider.getClass() == ApplicationScopedBeanInterceptorHandler.class)
+        {
+            return directDispatchProxyFactory.createNormalScopeProxy(bean, classLoader, classToProxy, provider);
+        }
+
+        return createNormalScopeProxy(bean, classLoader, classToProxy, provider);
+    }
+
+    private <T> T createNormalScopeProxy(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy, Provider provider)
+    {
         Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
 
         if (proxyClass == null)
@@ -149,7 +191,7 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             proxyClass = createProxyClass(bean, classLoader, classToProxy);
         }
 
-        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+        return createProxyInstance(proxyClass, provider);
     }
 
     public Provider getInstanceProvider(ClassLoader classLoader, Bean<?> bean)
@@ -183,6 +225,19 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         }
     }
 
+    /**
+     * @return the size of the bytecode of the proxy class of the given bean or 0 if there is none yet
+     */
+    public int getProxyClassSize(Bean<?> bean)
+    {
+        int size = getProxyClassSize(cachedProxyClasses.get(bean));
+        if (directDispatchProxyFactory != null)
+        {
+            size += directDispatchProxyFactory.getProxyClassSize(bean);
+        }
+        return size;
+    }
+
     public synchronized <T> Class<T> createProxyClass(Bean<T> bean, ClassLoader classLoader, Class<T> classToProxy)
     {
         Class<T> proxyClass = (Class<T>) cachedProxyClasses.get(bean);
@@ -256,10 +311,17 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             interceptedMethods = protectedMethods.toArray(new Method[protectedMethods.size()]);
         }
 
-        String proxyClassName = getUnusedProxyClassName(
-                classLoader,
-                (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName()) + "$$OwbNormalScopeProxy",
-                interceptedMethods, nonInterceptedMethods);
+        String baseProxyClassName = (classToProxy.getSigners() != null ? getSignedClassProxyName(classToProxy) : classToProxy.getName())
+                + (directDispatch ? "$$OwbDirectNormalScopeProxy" : "$$OwbNormalScopeProxy");
+
+        String sharedProxyClassKey = getSharedProxyClassKey(classLoader, baseProxyClassName, interceptedMethods, nonInterceptedMethods);
+        Class<T> sharedProxyClass = getSharedProxyClass(classLoader, sharedProxyClassKey, classToProxy);
+        if (sharedProxyClass != null)
+        {
+            return sharedProxyClass;
+        }
+
+        String proxyClassName = getUnusedProxyClassName(classLoader, baseProxyClassName, interceptedMethods, nonInterceptedMethods);
 
         Class<T> clazz = createProxyClass(classLoader, proxyClassName, classToProxy, interceptedMethods, nonInterceptedMethods);
 
@@ -276,6 +338,7 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
                 throw new ProxyGenerationException(e);
             }
         }
+        putSharedProxyClass(classLoader, sharedProxyClassKey, clazz);
         return clazz;
     }
 
@@ -337,6 +400,46 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         {
             throw new ProxyGenerationException(e);
         }
+
+        if (directDispatch)
+        {
+            createResolveInstanceMethod(cw, proxyClassFileName);
+        }
+    }
+
+    /**
+     * Generates the slow path of the direct dispatch proxies:
+     *
+     * <pre>
+     * private Object owbResolveContextualInstance()
+     * {
+     *     Object instance = owbContextualInstanceProvider.get();
+     *     owbCachedContextualInstance = instance;
+     *     return instance;
+     * }
+     * </pre>
+     *
+     * The cache field is volatile, so other threads only ever see a safely published instance.
+     */
+    private void createResolveInstanceMethod(ClassWriter cw, String proxyClassFileName)
+    {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC, METHOD_RESOLVE_INSTANCE, "()Ljava/lang/Object;", null, null);
+        mv.visitCode();
+
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INSTANCE_PROVIDER, Type.getDescriptor(Provider.class));
+        mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Provider.class), "get", "()Ljava/lang/Object;", true);
+        mv.visitVarInsn(Opcodes.ASTORE, 1);
+
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitFieldInsn(Opcodes.PUTFIELD, proxyClassFileName, FIELD_CACHED_INSTANCE, Type.getDescriptor(Object.class));
+
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitInsn(Opcodes.ARETURN);
+
+        mv.visitMaxs(-1, -1);
+        mv.visitEnd();
     }
 
     @Override
@@ -349,6 +452,13 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
         // variable #2, the Method[] for all protected methods
         cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC,
                 FIELD_PROTECTED_METHODS, Type.getDescriptor(Method[].class), null, null).visitEnd();
+
+        if (directDispatch)
+        {
+            // variable #3, the cached Contextual Instance
+            cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_VOLATILE | Opcodes.ACC_TRANSIENT,
+                    FIELD_CACHED_INSTANCE, Type.getDescriptor(Object.class), null, null).visitEnd();
+        }
     }
 
     /**
@@ -402,12 +512,28 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             // fill method body
             mv.visitCode();
 
-            // load the contextual instance Provider
-            mv.visitVarInsn(Opcodes.ALOAD, 0);
-            mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INSTANCE_PROVIDER, Type.getDescriptor(Provider.class));
+            if (directDispatch)
+            {
+                // load the cached contextual instance and only resolve it if it is not yet set
+                Label resolved = new Label();
+                mv.visitVarInsn(Opcodes.ALOAD, 0);
+                mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_CACHED_INSTANCE, Type.getDescriptor(Object.class));
+                mv.visitInsn(Opcodes.DUP);
+                mv.visitJumpInsn(Opcodes.IFNONNULL, resolved);
+                mv.visitInsn(Opcodes.POP);
+                mv.visitVarInsn(Opcodes.ALOAD, 0);
+                mv.visitMethodInsn(Opcodes.INVOKESPECIAL, proxyClassFileName, METHOD_RESOLVE_INSTANCE, "()Ljava/lang/Object;", false);
+                mv.visitLabel(resolved);
+            }
+            else
+            {
+                // load the contextual instance Provider
+                mv.visitVarInsn(Opcodes.ALOAD, 0);
+                mv.visitFieldInsn(Opcodes.GETFIELD, proxyClassFileName, FIELD_INSTANCE_PROVIDER, Type.getDescriptor(Provider.class));
 
-            // invoke the get() method on the Provider
-            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Provider.class), "get", "()Ljava/lang/Object;", true);
+                // invoke the get() method on the Provider
+                mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, Type.getInternalName(Provider.class), "get", "()Ljava/lang/Object;", true);
+            }
 
             // and convert the Object to the target class type
             mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(classToProxy));
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.proxy;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JVM wide registry of generated proxy classes, used if
+ * {@link org.apache.webbeans.config.OpenWebBeansConfiguration#SHARED_PROXY_CLASSES} is enabled.
+ *
+ * <p>The proxy classes are registered per ClassLoader they got defined in. The ClassLoader only gets
+ * referenced weakly and so do the proxy classes themselves (a class strongly references its ClassLoader),
+ * so an undeployed application can still get garbage collected.</p>
+ *
+ * <p>The key is built by the proxy factory and must contain everything which influences the generated
+ * bytecode: the factory, the proxied class, the proxy name and the hash of the proxied methods.</p>
+ */
+final class SharedProxyClasses
+{
+    private static final Map<ClassLoader, ConcurrentMap<String, SharedProxyClass>> PROXY_CLASSES = new WeakHashMap<>();
+
+    private SharedProxyClasses()
+    {
+        // utility
+    }
+
+    /**
+     * @return the shared proxy class or {@code null} if there is none yet
+     */
+    static SharedProxyClass get(ClassLoader classLoader, String key)
+    {
+        ConcurrentMap<String, SharedProxyClass> proxyClasses;
+        synchronized (PROXY_CLASSES)
+        {
+            proxyClasses = PROXY_CLASSES.get(classLoader);
+        }
+        if (proxyClasses == null)
+        {
+            return null;
+        }
+
+        SharedProxyClass sharedProxyClass = proxyClasses.get(key);
+        if (sharedProxyClass != null && sharedProxyClass.getProxyClass() == null)
+        {
+            proxyClasses.remove(key, sharedProxyClass);
+            return null;
+        }
+        return sharedProxyClass;
+    }
+
+    static void put(ClassLoader classLoader, String key, Class<?> proxyClass, int size)
+    {
+        ConcurrentMap<String, SharedProxyClass> proxyClasses;
+        synchronized (PROXY_CLASSES)
+        {
+            proxyClasses = PROXY_CLASSES.computeIfAbsent(classLoader, cl -> new ConcurrentHashMap<>());
+        }
+        proxyClasses.put(key, new SharedProxyClass(proxyClass, size));
+    }
+
+    static final class SharedProxyClass
+    {
+        private final WeakReference<Class<?>> proxyClass;
+        private final int size;
+
+        private SharedProxyClass(Class<?> proxyClass, int size)
+        {
+            this.proxyClass = new WeakReference<>(proxyClass);
+            this.size = size;
+        }
+
+        Class<?> getProxyClass()
+        {
+            return proxyClass.get();
+        }
+
+        /**
+         * @return the size of the generated bytecode
+         */
+        int getSize()
+        {
+            return size;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,15 @@ public final class GenericsUtil
 
     private static final int MAX_GENERIC_LOOPS = 4; // todo: config? it is already crazy :s
 
+    /**
+     * Same as {@link #satisfiesDependency(boolean, boolean, Type, Type, Map)} but the loop detection
+     * map only gets created once a wildcard or type variable actually gets visited.
+     */
+    public static boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        return satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType, null);
+    }
+
     public static boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType,
                                               Map<Type, Integer> visited)
     {
@@ -113,8 +123,19 @@ public final class GenericsUtil
         return false;
     }
 
+    /**
+     * Same as {@link #isAssignableFrom(boolean, boolean, Type, Type, Map)} but the loop detection
+     * map only gets created once a wildcard or type variable actually gets visited.
+     */
+    public static boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+    {
+        return isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType, null);
+    }
+
     /**
      * 5.2.3 and 5.2.4
+     *
+     * @param visited loop detection state, might be {@code null} and will then get created lazily
      */
     public static boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType,
                                            Map<Type, Integer> visited)
@@ -240,6 +261,10 @@ public final class GenericsUtil
     private static boolean isAssignableFrom(boolean isDelegateOrEvent, Type injectionPointType, WildcardType beanType,
                                             Map<Type, Integer> visited)
     {
+        if (visited == null)
+        {
+            visited = new HashMap<>();
+        }
         if (isGenericLoop(beanType, visited))
         {
             return false;
@@ -415,6 +440,10 @@ public final class GenericsUtil
     private static boolean isAssignableFrom(boolean isDelegateOrEvent, TypeVariable<?> injectionPointType, Type beanType,
                                             Map<Type, Integer> visited)
     {
+        if (visited == null)
+        {
+            visited = new HashMap<>();
+        }
         if (isGenericLoop(beanType, visited))
         {
             return false; // looping type so not resolvable
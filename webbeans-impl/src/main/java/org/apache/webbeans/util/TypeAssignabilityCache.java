@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Memoizes the results of {@link GenericsUtil#satisfiesDependency(boolean, boolean, Type, Type)}
+ * and {@link GenericsUtil#isAssignableFrom(boolean, boolean, Type, Type)}.
+ *
+ * The results only depend on the given types and flags, so they never need to get
+ * invalidated. There is one instance per WebBeansContext to not keep any
+ * application ClassLoader alive longer than the container itself.
+ * Types get compared via their equals() which is implemented in a canonical way
+ * for the JVM and our Owb*TypeImpl representations.
+ *
+ * The cache is bounded. Once more than maxSize results got stored it simply
+ * gets flushed and starts filling up again.
+ */
+public class TypeAssignabilityCache
+{
+    private static final int SATISFIES_DEPENDENCY = 0;
+    private static final int IS_ASSIGNABLE_FROM = 4;
+
+    /**
+     * Indexed by operation | delegateOrEvent | producer, keyed by required type and then by bean type.
+     */
+    private final ConcurrentMap<Type, ConcurrentMap<Type, Boolean>>[] results;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final int maxSize;
+
+    public TypeAssignabilityCache(int maxSize)
+    {
+        this.maxSize = maxSize;
+        results = new ConcurrentMap[8];
+        for (int i = 0; i < results.length; i++)
+        {
+            results[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        if (maxSize <= 0 || isTrivial(injectionPointType, beanType))
+        {
+            return GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType);
+        }
+
+        ConcurrentMap<Type, Boolean> perBeanType = getResults(SATISFIES_DEPENDENCY, isDelegateOrEvent, isProducer, injectionPointType);
+        Boolean result = perBeanType.get(beanType);
+        if (result == null)
+        {
+            result = GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType);
+            store(SATISFIES_DEPENDENCY, isDelegateOrEvent, isProducer, injectionPointType, beanType, result);
+        }
+        return result;
+    }
+
+    public boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+    {
+        if (maxSize <= 0 || isTrivial(requiredType, beanType))
+        {
+            return GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType);
+        }
+
+        ConcurrentMap<Type, Boolean> perBeanType = getResults(IS_ASSIGNABLE_FROM, isDelegateOrEvent, isProducer, requiredType);
+        Boolean result = perBeanType.get(beanType);
+        if (result == null)
+        {
+            result = GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType);
+            store(IS_ASSIGNABLE_FROM, isDelegateOrEvent, isProducer, requiredType, beanType, result);
+        }
+        return result;
+    }
+
+    public int size()
+    {
+        return size.get();
+    }
+
+    public void clear()
+    {
+        for (ConcurrentMap<Type, ConcurrentMap<Type, Boolean>> result : results)
+        {
+            result.clear();
+        }
+        size.set(0);
+    }
+
+    /**
+     * Class to Class checks are a plain identity or {@link Class#isAssignableFrom(Class)} check,
+     * so caching them would only waste memory.
+     */
+    private boolean isTrivial(Type requiredType, Type beanType)
+    {
+        return requiredType instanceof Class && beanType instanceof Class;
+    }
+
+    private ConcurrentMap<Type, Boolean> getResults(int operation, boolean isDelegateOrEvent, boolean isProducer, Type requiredType)
+    {
+        ConcurrentMap<Type, ConcurrentMap<Type, Boolean>> perRequiredType
+            = results[operation | (isDelegateOrEvent ? 2 : 0) | (isProducer ? 1 : 0)];
+
+        ConcurrentMap<Type, Boolean> perBeanType = perRequiredType.get(requiredType);
+        if (perBeanType == null)
+        {
+            perBeanType = new ConcurrentHashMap<>();
+            ConcurrentMap<Type, Boolean> existing = perRequiredType.putIfAbsent(requiredType, perBeanType);
+            if (existing != null)
+            {
+                perBeanType = existing;
+            }
+        }
+        return perBeanType;
+    }
+
+    private void store(int operation, boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType,
+                       Boolean result)
+    {
+        if (size.incrementAndGet() > maxSize)
+        {
+            clear();
+            size.incrementAndGet();
+        }
+
+        // fetched after a possible flush, the map of the caller might have been dropped
+        ConcurrentMap<Type, Boolean> perBeanType = getResults(operation, isDelegateOrEvent, isProducer, requiredType);
+        if (perBeanType.putIfAbsent(beanType, result) != null)
+        {
+            // stored by another thread in the meantime
+            size.decrementAndGet();
+        }
+    }
+}
@@ -20,15 +20,22 @@ package org.apache.webbeans.xml;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -42,11 +49,15 @@ import org.apache.webbeans.util.UrlSet;
 import org.apache.webbeans.util.WebBeansConstants;
 import org.apache.xbean.finder.archive.FileArchive;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Please note that this implementation is not thread safe.
+ *
+ * <p>beans.xml files get parsed with StAX. The result of the parsing gets cached JVM wide,
+ * keyed by the URL and validated against the last modification time and size of the file,
+ * so restarted containers don't need to parse unchanged files again. beans.xml files which
+ * contain conditional excludes don't get cached as their result depends on the environment.
+ * Subclasses which override {@link #readBeansXml(InputStream, String)} don't use the cache.</p>
  */
 public class DefaultBeanArchiveService implements BeanArchiveService
 {
@@ -56,6 +67,18 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     private static final Logger logger = WebBeansLoggerFacade.getLogger(BeanArchiveService.class);
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    /**
+     * The maximum number of parsed beans.xml files in {@link #PARSED_BEANS_XMLS}.
+     */
+    private static final int PARSED_BEANS_XMLS_MAX_SIZE = 2048;
+
+    /**
+     * The parsed beans.xml files, keyed by the URL externalForm.
+     */
+    private static final ConcurrentMap<String, ParsedBeansXml> PARSED_BEANS_XMLS = new ConcurrentHashMap<>();
+
     /**
      * Contains a map from the URL externalForm to the stored BeanArchiveInformation
      */
@@ -63,6 +86,16 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     private UrlSet registeredBeanArchives = new UrlSet();
 
+    /**
+     * Whether {@link #readBeansXml(InputStream, String)} is not overridden, the cached results are only valid for it.
+     */
+    private final boolean cacheParsedBeansXml = !isReadBeansXmlOverridden(getClass());
+
+    /**
+     * Whether the last {@link #readBeansXml(InputStream, String)} read a beans.xml which may get cached.
+     */
+    private boolean lastBeansXmlCacheable;
+
 
     @Override
     public BeanArchiveInformation getBeanArchiveInformation(URL beanArchiveUrl)
@@ -225,10 +258,33 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         InputStream xmlStream = null;
         try
         {
-            xmlStream = beansXmlUrl.openStream();
+            URLConnection connection = beansXmlUrl.openConnection();
+            // always open the stream, so closing it releases whatever the connection holds, e.g. for file: URLs
+            xmlStream = connection.getInputStream();
 
-            return readBeansXml(xmlStream, beansXmlUrl.toExternalForm());
+            String cacheKey = beansXmlUrl.toExternalForm();
+            long lastModified = connection.getLastModified();
+            long size = connection.getContentLengthLong();
 
+            ParsedBeansXml parsedBeansXml = cacheParsedBeansXml ? PARSED_BEANS_XMLS.get(cacheKey) : null;
+            if (parsedBeansXml != null && parsedBeansXml.isUpToDate(lastModified, size))
+            {
+                return copyBeanArchiveInformation(parsedBeansXml.bdaInfo, beansXmlUrl.toExternalForm());
+            }
+
+            lastBeansXmlCacheable = false;
+            BeanArchiveInformation bdaInfo = readBeansXml(xmlStream, beansXmlUrl.toExternalForm());
+
+            if (cacheParsedBeansXml && lastBeansXmlCacheable && lastModified > 0 && size >= 0)
+            {
+                if (PARSED_BEANS_XMLS.size() >= PARSED_BEANS_XMLS_MAX_SIZE)
+                {
+                    PARSED_BEANS_XMLS.clear();
+                }
+                PARSED_BEANS_XMLS.put(cacheKey, new ParsedBeansXml(lastModified, size,
+                    copyBeanArchiveInformation(bdaInfo, bdaInfo.getBdaUrl())));
+            }
+            return bdaInfo;
         }
         catch (Exception e)
         {
@@ -274,6 +330,27 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return urlPath;
     }
 
+    private DefaultBeanArchiveInformation copyBeanArchiveInformation(BeanArchiveInformation source, String bdaUrl)
+    {
+        DefaultBeanArchiveInformation copy = createBeanArchiveInformation(bdaUrl);
+        copy.setVersion(source.getVersion());
+        copy.setBeanDiscoveryMode(source.getBeanDiscoveryMode());
+        copy.getInterceptors().addAll(source.getInterceptors());
+        copy.getDecorators().addAll(source.getDecorators());
+        copy.getAlternativeClasses().addAll(source.getAlternativeClasses());
+        copy.getAlternativeStereotypes().addAll(source.getAlternativeStereotypes());
+        copy.getAllowProxyingClasses().addAll(source.getAllowProxyingClasses());
+        if (source.getExcludedClasses() != null)
+        {
+            copy.setExcludedClasses(new ArrayList<>(source.getExcludedClasses()));
+        }
+        if (source.getExcludedPackages() != null)
+        {
+            copy.setExcludedPackages(new ArrayList<>(source.getExcludedPackages()));
+        }
+        return copy;
+    }
+
 
 
 
@@ -283,6 +360,7 @@ public class DefaultBeanArchiveService implements BeanArchiveService
      */
     protected BeanArchiveInformation readBeansXml(InputStream xmlStreamIn, String beansXmlLocation) throws IOException
     {
+        BeansXmlReader beansXmlReader = new BeansXmlReader();
         DefaultBeanArchiveInformation bdaInfo = createBeanArchiveInformation(beansXmlLocation);
 
         if (xmlStreamIn != null)
@@ -301,28 +379,7 @@ public class DefaultBeanArchiveService implements BeanArchiveService
                 // put the first byte back on the stream so we can properly parse the XML.
                 xmlStream.unread(firstVal);
 
-                //Get root element of the XML document
-                Element webBeansRoot = getBeansRootElement(xmlStream);
-                if (webBeansRoot == null)
-                {
-                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
-                }
-                else
-                {
-                    if (!"beans".equalsIgnoreCase(webBeansRoot.getLocalName()))
-                    {
-                        throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + webBeansRoot.getLocalName() +
-                                                                 " in " + beansXmlLocation);
-                    }
-
-                    bdaInfo.setVersion(getTrimmedAttribute(webBeansRoot, "version"));
-
-                    String beanDiscoveryMode = getTrimmedAttribute(webBeansRoot, "bean-discovery-mode");
-                    bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
-
-                    readBeanChildren(bdaInfo, webBeansRoot, beansXmlLocation);
-                }
-
+                beansXmlReader.read(bdaInfo, xmlStream, beansXmlLocation);
 
                 if (bdaInfo.getVersion() != null && !"1.0".equals(bdaInfo.getVersion()) && bdaInfo.getBeanDiscoveryMode() == null)
                 {
@@ -344,163 +401,286 @@ public class DefaultBeanArchiveService implements BeanArchiveService
             bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ANNOTATED);
         }
 
+        lastBeansXmlCacheable = !beansXmlReader.environmentDependent;
         return bdaInfo;
     }
 
-    private void readBeanChildren(DefaultBeanArchiveInformation bdaInfo, Element webBeansRoot, String beansXmlLocation)
+    private static boolean isReadBeansXmlOverridden(Class<?> clazz)
     {
-        ElementIterator elit = new ElementIterator(webBeansRoot);
-        while (elit.hasNext())
+        for (Class<?> current = clazz; current != DefaultBeanArchiveService.class; current = current.getSuperclass())
         {
-            Element child = elit.next();
-
-            if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillDecorators(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillInterceptors(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillAlternatives(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillExcludes(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+            try
             {
-                fillAllowProxying(bdaInfo, child);
+                current.getDeclaredMethod("readBeansXml", InputStream.class, String.class);
+                return true;
             }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+            catch (NoSuchMethodException e)
             {
-                logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
-                bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
+                // continue with the super class
             }
         }
+        return false;
     }
 
-    private void fillDecorators(DefaultBeanArchiveInformation bdaInfo, Element decoratorsElement)
+    private static boolean isClassAvailable(ClassLoader loader, String name)
     {
-        ElementIterator elit = new ElementIterator(decoratorsElement);
-        while (elit.hasNext())
+        try
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            // no Class.forName(name) since it doesn't attach the classloader loader to the class in some cases
+            loader.loadClass(name);
+            return true;
+        }
+        catch (Throwable e) // NoClassDefFoundError or ClassNotFoundException
+        {
+            return false;
+        }
+    }
+
+    @Override
+    public void release()
+    {
+        beanArchiveInformations.clear();
+    }
+
+    private static XMLInputFactory createXmlInputFactory()
+    {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+    /**
+     * @deprecated beans.xml files get parsed with StAX now, this method is not used anymore.
+     */
+    @Deprecated
+    protected Element getBeansRootElement(InputStream xmlStream) throws WebBeansException
+    {
+        try
+        {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setCoalescing(false);
+            factory.setExpandEntityReferences(true);
+            factory.setIgnoringComments(true);
+            factory.setIgnoringElementContentWhitespace(true);
+            factory.setNamespaceAware(true);
+            factory.setValidating(false);
+            DocumentBuilder documentBuilder = factory.newDocumentBuilder();
+            documentBuilder.setErrorHandler(new WebBeansErrorHandler());
+
+            return documentBuilder.parse(xmlStream).getDocumentElement();
+        }
+        catch (Exception e)
+        {
+            logger.log(Level.SEVERE, OWBLogConst.FATAL_0002, e);
+            throw new WebBeansException(WebBeansLoggerFacade.getTokenString(OWBLogConst.EXCEPT_0013), e);
+        }
+    }
+
+    /**
+     * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
+     * @deprecated beans.xml files get parsed with StAX now, use {@link #getTrimmedAttribute(XMLStreamReader, String)}
+     */
+    @Deprecated
+    protected String getTrimmedAttribute(Element element, String attributeName)
+    {
+        String val = element.getAttribute(attributeName);
+        if (val != null)
+        {
+            val = val.trim();
+            if (!val.isEmpty())
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("decorators <class> element must not be empty!");
-                }
-                bdaInfo.getDecorators().add(clazz);
+                return val;
             }
         }
+        return null;
     }
 
-    private void fillInterceptors(DefaultBeanArchiveInformation bdaInfo, Element interceptorsElement)
+    /**
+     * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
+     */
+    protected String getTrimmedAttribute(XMLStreamReader reader, String attributeName)
     {
-        ElementIterator elit = new ElementIterator(interceptorsElement);
-        while (elit.hasNext())
+        String val = reader.getAttributeValue(null, attributeName);
+        if (val != null)
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            val = val.trim();
+            if (!val.isEmpty())
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("interceptors <class> element must not be empty!");
-                }
-                bdaInfo.getInterceptors().add(clazz);
+                return val;
             }
         }
+        return null;
     }
 
-    private void fillAlternatives(DefaultBeanArchiveInformation bdaInfo, Element alternativesElement)
+    /**
+     * Streams over a single beans.xml file.
+     */
+    private final class BeansXmlReader
     {
-        ElementIterator elit = new ElementIterator(alternativesElement);
-        while (elit.hasNext())
+        /**
+         * Whether the result depends on available classes or system properties.
+         */
+        private boolean environmentDependent;
+
+        private void read(DefaultBeanArchiveInformation bdaInfo, InputStream xmlStream, String beansXmlLocation)
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            XMLStreamReader reader = null;
+            try
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
+                reader = XML_INPUT_FACTORY.createXMLStreamReader(xmlStream);
+
+                if (!nextElement(reader))
+                {
+                    // no root element
+                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
+                    return;
+                }
+                if (!"beans".equalsIgnoreCase(reader.getLocalName()))
                 {
-                    throw new WebBeansConfigurationException("alternatives <class> element must not be empty!");
+                    throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + reader.getLocalName() +
+                                                             " in " + beansXmlLocation);
                 }
-                bdaInfo.getAlternativeClasses().add(clazz);
+
+                bdaInfo.setVersion(getTrimmedAttribute(reader, "version"));
+
+                String beanDiscoveryMode = getTrimmedAttribute(reader, "bean-discovery-mode");
+                bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
+
+                readBeanChildren(bdaInfo, reader, beansXmlLocation);
+            }
+            catch (XMLStreamException e)
+            {
+                logger.log(Level.SEVERE, OWBLogConst.FATAL_0002, e);
+                throw new WebBeansException(WebBeansLoggerFacade.getTokenString(OWBLogConst.EXCEPT_0013), e);
             }
-            if (WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(child.getLocalName()))
+            finally
             {
-                String stereotype = child.getTextContent().trim();
-                if (stereotype.isEmpty())
+                if (reader != null)
                 {
-                    throw new WebBeansConfigurationException("alternatives <stereotype> element must not be empty!");
+                    try
+                    {
+                        reader.close();
+                    }
+                    catch (XMLStreamException e)
+                    {
+                        // the underlying stream gets closed by the caller
+                    }
                 }
-                bdaInfo.getAlternativeStereotypes().add(stereotype);
             }
         }
-    }
 
-
-    private void fillExcludes(DefaultBeanArchiveInformation bdaInfo, Element scanElement)
-    {
-        ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        NodeList childNodes = scanElement.getChildNodes();
-        for (int i = 0; i < childNodes.getLength(); i++)
+        private void readBeanChildren(DefaultBeanArchiveInformation bdaInfo, XMLStreamReader reader, String beansXmlLocation)
+            throws XMLStreamException
         {
-            Node nd = childNodes.item(i);
-            if (!Element.class.isInstance(nd))
+            while (nextElement(reader))
             {
-                continue;
+                String localName = reader.getLocalName();
+                if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readClasses(reader, bdaInfo.getDecorators(), null, "decorators");
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readClasses(reader, bdaInfo.getInterceptors(), null, "interceptors");
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readClasses(reader, bdaInfo.getAlternativeClasses(), bdaInfo.getAlternativeStereotypes(), "alternatives");
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readExcludes(bdaInfo, reader);
+                }
+                else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(localName))
+                {
+                    readClasses(reader, bdaInfo.getAllowProxyingClasses(), null, "allowProxying");
+                }
+                else
+                {
+                    if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(localName))
+                    {
+                        logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
+                        bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
+                    }
+                    skipElement(reader);
+                }
             }
+        }
 
-            Element child = Element.class.cast(nd);
-            if (WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(child.getLocalName()))
+        /**
+         * Reads the &lt;class&gt; and optionally the &lt;stereotype&gt; children of the current element.
+         */
+        private void readClasses(XMLStreamReader reader, List<String> classes, List<String> stereotypes, String elementName)
+            throws XMLStreamException
+        {
+            while (nextElement(reader))
             {
-                String name = getTrimmedAttribute(child, "name");
-                NodeList children = child.getChildNodes();
-                boolean skip = false;
-                for (int j = 0; j < children.getLength(); j++)
+                String localName = reader.getLocalName();
+                if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(localName))
+                {
+                    String clazz = reader.getElementText().trim();
+                    if (clazz.isEmpty())
+                    {
+                        throw new WebBeansConfigurationException(elementName + " <class> element must not be empty!");
+                    }
+                    classes.add(clazz);
+                }
+                else if (stereotypes != null && WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(localName))
                 {
-                    Node ndChild = children.item(j);
-                    if (!Element.class.isInstance(ndChild))
+                    String stereotype = reader.getElementText().trim();
+                    if (stereotype.isEmpty())
                     {
-                        continue;
+                        throw new WebBeansConfigurationException(elementName + " <stereotype> element must not be empty!");
                     }
+                    stereotypes.add(stereotype);
+                }
+                else
+                {
+                    skipElement(reader);
+                }
+            }
+        }
 
-                    Element condition = Element.class.cast(ndChild);
+        private void readExcludes(DefaultBeanArchiveInformation bdaInfo, XMLStreamReader reader) throws XMLStreamException
+        {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            while (nextElement(reader))
+            {
+                if (!WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(reader.getLocalName()))
+                {
+                    skipElement(reader);
+                    continue;
+                }
 
-                    String localName = condition.getLocalName();
-                    if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
+                String name = getTrimmedAttribute(reader, "name");
+                boolean skip = false;
+                while (nextElement(reader))
+                {
+                    String localName = reader.getLocalName();
+                    if (!skip)
                     {
-                        if (!isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
+                        if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
                         {
-                            skip = true;
-                            break;
+                            environmentDependent = true;
+                            skip = !isClassAvailable(loader, getTrimmedAttribute(reader, "name"));
                         }
-                    }
-                    else if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
-                    {
-                        if (isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
+                        else if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
                         {
-                            skip = true;
-                            break;
+                            environmentDependent = true;
+                            skip = isClassAvailable(loader, getTrimmedAttribute(reader, "name"));
                         }
-                    }
-                    else if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
-                    {
-                        String value = getTrimmedAttribute(condition, "value");
-                        String systProp = System.getProperty(getTrimmedAttribute(condition, "name"));
-                        if ((value == null && systProp == null) || !(value != null && value.equals(systProp)))
+                        else if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
                         {
-                            skip = true;
-                            break;
+                            environmentDependent = true;
+                            String value = getTrimmedAttribute(reader, "value");
+                            String systProp = System.getProperty(getTrimmedAttribute(reader, "name"));
+                            skip = value == null || !value.equals(systProp);
                         }
                     }
+                    skipElement(reader);
                 }
                 if (skip)
                 {
@@ -523,97 +703,66 @@ public class DefaultBeanArchiveService implements BeanArchiveService
                 }
             }
         }
-    }
 
-    private void fillAllowProxying(DefaultBeanArchiveInformation bdaInfo, Element allowProxyingElement)
-    {
-        ElementIterator elit = new ElementIterator(allowProxyingElement);
-        while (elit.hasNext())
+        /**
+         * Moves the reader to the next start or end tag, ignoring text, comments and processing instructions.
+         *
+         * @return {@code true} if the reader is positioned on a start tag
+         */
+        private boolean nextElement(XMLStreamReader reader) throws XMLStreamException
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            while (reader.hasNext())
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT)
                 {
-                    throw new WebBeansConfigurationException("allowProxying <class> element must not be empty!");
+                    return true;
+                }
+                if (event == XMLStreamConstants.END_ELEMENT)
+                {
+                    return false;
                 }
-                bdaInfo.getAllowProxyingClasses().add(clazz);
             }
+            return false;
         }
-    }
-
 
-
-    private static boolean isClassAvailable(ClassLoader loader, String name)
-    {
-        try
-        {
-            // no Class.forName(name) since it doesn't attach the classloader loader to the class in some cases
-            loader.loadClass(name);
-            return true;
-        }
-        catch (Throwable e) // NoClassDefFoundError or ClassNotFoundException
+        /**
+         * Moves the reader to the end of the current element.
+         */
+        private void skipElement(XMLStreamReader reader) throws XMLStreamException
         {
-            return false;
+            int depth = 1;
+            while (depth > 0)
+            {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT)
+                {
+                    depth++;
+                }
+                else if (event == XMLStreamConstants.END_ELEMENT)
+                {
+                    depth--;
+                }
+            }
         }
     }
 
-    @Override
-    public void release()
+    private static final class ParsedBeansXml
     {
-        beanArchiveInformations.clear();
-    }
-
+        private final long lastModified;
+        private final long size;
+        private final BeanArchiveInformation bdaInfo;
 
-    /**
-     * Gets the root element of the parsed document.
-     *
-     * @param xmlStream parsed document
-     * @return root element of the document
-     * @throws org.apache.webbeans.exception.WebBeansException if any runtime exception occurs
-     */
-    protected Element getBeansRootElement(InputStream xmlStream) throws WebBeansException
-    {
-        try
+        private ParsedBeansXml(long lastModified, long size, BeanArchiveInformation bdaInfo)
         {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setCoalescing(false);
-            factory.setExpandEntityReferences(true);
-            factory.setIgnoringComments(true);
-            factory.setIgnoringElementContentWhitespace(true);
-            factory.setNamespaceAware(true);
-            factory.setValidating(false);
-            DocumentBuilder documentBuilder = factory.newDocumentBuilder();
-            documentBuilder.setErrorHandler(new WebBeansErrorHandler());
-
-            Element root = documentBuilder.parse(xmlStream).getDocumentElement();
-
-            return root;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.bdaInfo = bdaInfo;
         }
-        catch (Exception e)
-        {
-            logger.log(Level.SEVERE, OWBLogConst.FATAL_0002, e);
-            throw new WebBeansException(WebBeansLoggerFacade.getTokenString(OWBLogConst.EXCEPT_0013), e);
-        }
-    }
 
-    /**
-     * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
-     */
-    protected String getTrimmedAttribute(Element element, String attributeName)
-    {
-        String val = element.getAttribute(attributeName);
-        if (val != null)
+        private boolean isUpToDate(long currentLastModified, long currentSize)
         {
-            val = val.trim();
-            if (!val.isEmpty())
-            {
-                return val;
-            }
+            return currentLastModified > 0 && lastModified == currentLastModified && size == currentSize;
         }
-        return null;
     }
-
-
 }
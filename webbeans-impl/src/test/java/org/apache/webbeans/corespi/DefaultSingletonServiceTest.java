@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DefaultSingletonServiceTest
+{
+    @Test
+    public void lookup()
+    {
+        DefaultSingletonService singletonService = new DefaultSingletonService();
+        ClassLoader first = new URLClassLoader(new URL[0]);
+        ClassLoader second = new URLClassLoader(new URL[0]);
+
+        assertFalse(singletonService.exists(first));
+
+        WebBeansContext firstContext = singletonService.get(first);
+        assertTrue(singletonService.exists(first));
+        assertSame(firstContext, singletonService.get(first));
+
+        WebBeansContext secondContext = new WebBeansContext();
+        singletonService.register(second, secondContext);
+        assertSame(secondContext, singletonService.get(second));
+        assertSame(firstContext, singletonService.get(first));
+
+        try
+        {
+            singletonService.register(second, new WebBeansContext());
+            fail("duplicate registration must fail");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // expected
+        }
+
+        singletonService.clear(first);
+        assertFalse(singletonService.exists(first));
+        assertSame(secondContext, singletonService.get(second));
+        assertNotSame(firstContext, singletonService.get(first));
+    }
+}
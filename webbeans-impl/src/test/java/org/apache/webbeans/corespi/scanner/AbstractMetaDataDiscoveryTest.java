@@ -42,6 +42,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 
@@ -50,9 +51,11 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.Extension;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
 import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.apache.webbeans.lifecycle.AbstractLifeCycle;
 import org.apache.webbeans.spi.ContainerLifecycle;
 import org.apache.xbean.asm9.ClassWriter;
 import org.apache.xbean.asm9.MethodVisitor;
@@ -170,6 +173,175 @@ public class AbstractMetaDataDiscoveryTest
         }
     }
 
+    @Test
+    public void skipSubclassesOfUnloadableClasses() throws Exception
+    {
+        final File file = temp.newFile("test-unloadable.jar");
+        try (final JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+        {
+            createBean(outputStream, "org/apache/openwebbeans/generated/test/Foo.class", null);
+            // the super class of Base is not part of the classpath
+            createBean(outputStream, "org/apache/openwebbeans/generated/test/Base.class",
+                    "org/apache/openwebbeans/generated/test/Missing", null);
+            createBean(outputStream, "org/apache/openwebbeans/generated/test/Sub.class",
+                    "org/apache/openwebbeans/generated/test/Base", null);
+            createBean(outputStream, "org/apache/openwebbeans/generated/test/SubSub.class",
+                    "org/apache/openwebbeans/generated/test/Sub", null);
+            outputStream.putNextEntry(new JarEntry("META-INF/beans.xml"));
+            outputStream.closeEntry();
+        }
+
+        final AtomicInteger missingLookups = new AtomicInteger();
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        final URL[] urls = {file.toURI().toURL()};
+        try (final URLClassLoader loader = new URLClassLoader(urls, new ClassLoader() {
+            @Override
+            public Class<?> loadClass(final String name) throws ClassNotFoundException
+            {
+                return oldLoader.loadClass(name);
+            }
+
+            @Override
+            public URL getResource(final String name)
+            {
+                return oldLoader.getResource(name);
+            }
+
+            @Override
+            public Enumeration<URL> getResources(final String name) throws IOException
+            {
+                if ("META-INF".equals(name) || "".equals(name)) // scanning
+                {
+                    return emptyEnumeration();
+                }
+                return oldLoader.getResources(name);
+            }
+        })
+        {
+            @Override
+            public URL[] getURLs()
+            {
+                return urls;
+            }
+
+            @Override
+            protected Class<?> findClass(final String name) throws ClassNotFoundException
+            {
+                if (name.endsWith(".Missing"))
+                {
+                    missingLookups.incrementAndGet();
+                }
+                return super.findClass(name);
+            }
+        })
+        {
+            thread.setContextClassLoader(loader);
+
+            final Properties config = new Properties();
+            config.setProperty("org.apache.webbeans.scanExclusionPaths", "/classes,/test-classes," +
+                    "/xbean,/ham,/junit-,/junit5-,/debugger,/idea,/openwebbeans,/geronimo");
+            final WebBeansContext context = new WebBeansContext(emptyMap(), config);
+            final DefaultSingletonService singletonService = DefaultSingletonService.class.cast(
+                    WebBeansFinder.getSingletonService());
+            singletonService.register(loader, context);
+            final ContainerLifecycle lifecycle = context.getService(ContainerLifecycle.class);
+            lifecycle.startApplication(null);
+            try
+            {
+                final Set<Bean<?>> foos = context.getBeanManagerImpl().getBeans(
+                        loader.loadClass("org.apache.openwebbeans.generated.test.Foo"));
+                assertEquals(1, foos.size());
+
+                // only the first class of the hierarchy tries to load the missing class
+                assertEquals(1, missingLookups.get());
+            }
+            finally
+            {
+                lifecycle.stopApplication(null);
+                singletonService.clear(loader);
+            }
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    @Test
+    public void trimReleasesBeanClassesPerBda() throws Exception
+    {
+        final URL scannedModule = createScannedModule();
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        final URL[] urls = {scannedModule};
+        try (final URLClassLoader loader = new URLClassLoader(urls, new ClassLoader() {
+            @Override
+            public Class<?> loadClass(final String name) throws ClassNotFoundException
+            {
+                return oldLoader.loadClass(name);
+            }
+
+            @Override
+            public URL getResource(final String name)
+            {
+                return oldLoader.getResource(name);
+            }
+
+            @Override
+            public Enumeration<URL> getResources(final String name) throws IOException
+            {
+                if ("META-INF".equals(name) || "".equals(name)) // scanning
+                {
+                    return emptyEnumeration();
+                }
+                return oldLoader.getResources(name);
+            }
+        })
+        {
+            @Override
+            public URL[] getURLs()
+            {
+                return urls;
+            }
+        })
+        {
+            thread.setContextClassLoader(loader);
+
+            final Properties config = new Properties();
+            config.setProperty(OpenWebBeansConfiguration.TRIM_METADATA, "true");
+            config.setProperty("org.apache.webbeans.scanExclusionPaths", "/classes,/test-classes," +
+                    "/xbean,/ham,/junit-,/junit5-,/debugger,/idea,/openwebbeans,/geronimo");
+            final WebBeansContext context = new WebBeansContext(emptyMap(), config);
+            final DefaultSingletonService singletonService = DefaultSingletonService.class.cast(
+                    WebBeansFinder.getSingletonService());
+            singletonService.register(loader, context);
+            final ContainerLifecycle lifecycle = context.getService(ContainerLifecycle.class);
+            lifecycle.startApplication(null);
+            try
+            {
+                // Foo is the only scanned bean class
+                assertEquals(1, AbstractLifeCycle.class.cast(lifecycle).getBeansDeployer().getTrimmedMetaDataEntries());
+
+                final AbstractMetaDataDiscovery scanner = AbstractMetaDataDiscovery.class.cast(context.getScannerService());
+                assertTrue(scanner.getBeanClassesPerBda().isEmpty());
+
+                assertEquals(1, context.getBeanManagerImpl().getBeans(
+                        loader.loadClass("org.apache.openwebbeans.generated.test.Foo")).size());
+            }
+            finally
+            {
+                lifecycle.stopApplication(null);
+                singletonService.clear(loader);
+            }
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
     private URL createScannedModule() throws IOException
     {
         final File file = temp.newFile("test-scanned.jar");
@@ -198,6 +370,13 @@ public class AbstractMetaDataDiscoveryTest
 
     private void createBean(final JarOutputStream outputStream, final String resource, final Class<?> itf)
             throws IOException
+    {
+        createBean(outputStream, resource, Type.getInternalName(Object.class), itf);
+    }
+
+    private void createBean(final JarOutputStream outputStream, final String resource, final String superName,
+                            final Class<?> itf)
+            throws IOException
     {
         outputStream.putNextEntry(new JarEntry(resource));
         final ClassWriter writer = new ClassWriter(COMPUTE_FRAMES);
@@ -205,12 +384,12 @@ public class AbstractMetaDataDiscoveryTest
         writer.visitAnnotation(Type.getDescriptor(ApplicationScoped.class), true).visitEnd();
         writer.visit(V1_8, ACC_PUBLIC + ACC_SUPER,
                 resource.substring(0, resource.length() - ".class".length()), null,
-                Type.getInternalName(Object.class), itf == null ? null : new String[]{ Type.getInternalName(itf) });
+                superName, itf == null ? null : new String[]{ Type.getInternalName(itf) });
         writer.visitSource(resource.replace(".class", ".java"), null);
         final MethodVisitor constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
         constructor.visitCode();
         constructor.visitVarInsn(ALOAD, 0);
-        constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
         constructor.visitInsn(RETURN);
         constructor.visitMaxs(1, 1);
         constructor.visitEnd();
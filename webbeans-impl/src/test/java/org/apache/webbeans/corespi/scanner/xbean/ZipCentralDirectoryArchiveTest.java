@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.JarArchive;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZipCentralDirectoryArchiveTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void sameContentAsJarArchive() throws Exception
+    {
+        final URL jar = Archive.class.getProtectionDomain().getCodeSource().getLocation();
+        final Archive archive = ZipCentralDirectoryArchive.archive(getClass().getClassLoader(), jar);
+        assertTrue(archive instanceof ZipCentralDirectoryArchive);
+
+        final Map<String, byte[]> expected = read(new JarArchive(getClass().getClassLoader(), jar));
+        final Map<String, byte[]> actual = read(archive);
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.keySet(), actual.keySet());
+        for (final Map.Entry<String, byte[]> entry : expected.entrySet())
+        {
+            assertArrayEquals(entry.getKey(), entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void storedAndDeflatedEntries() throws Exception
+    {
+        final byte[] stored = "stored bytecode".getBytes(StandardCharsets.UTF_8);
+        final byte[] deflated = "deflated bytecode, deflated bytecode, deflated bytecode".getBytes(StandardCharsets.UTF_8);
+
+        final File file = temp.newFile("test.jar");
+        try (final JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+        {
+            outputStream.putNextEntry(new JarEntry("org/acme/"));
+            outputStream.closeEntry();
+
+            final JarEntry storedEntry = new JarEntry("org/acme/Stored.class");
+            final CRC32 crc = new CRC32();
+            crc.update(stored);
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(stored.length);
+            storedEntry.setCrc(crc.getValue());
+            outputStream.putNextEntry(storedEntry);
+            outputStream.write(stored);
+            outputStream.closeEntry();
+
+            outputStream.putNextEntry(new JarEntry("org/acme/Deflated.class"));
+            outputStream.write(deflated);
+            outputStream.closeEntry();
+
+            outputStream.putNextEntry(new JarEntry("META-INF/beans.xml"));
+            outputStream.closeEntry();
+            outputStream.putNextEntry(new JarEntry("module-info.class"));
+            outputStream.closeEntry();
+        }
+
+        final Archive archive = ZipCentralDirectoryArchive.archive(getClass().getClassLoader(), file.toURI().toURL());
+        assertTrue(archive instanceof ZipCentralDirectoryArchive);
+
+        final Map<String, byte[]> content = read(archive);
+        assertEquals(2, content.size());
+        assertArrayEquals(stored, content.get("org.acme.Stored"));
+        assertArrayEquals(deflated, content.get("org.acme.Deflated"));
+        assertArrayEquals(deflated, read(archive.getBytecode("org/acme/Deflated.class")));
+
+        try
+        {
+            archive.getBytecode("org.acme.Missing");
+            fail("org.acme.Missing is not in the jar");
+        }
+        catch (final ClassNotFoundException cnfe)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void multiReleaseJarFallsBack() throws Exception
+    {
+        final File file = temp.newFile("mjar.jar");
+        try (final JarOutputStream outputStream = new JarOutputStream(new FileOutputStream(file)))
+        {
+            outputStream.putNextEntry(new JarEntry("META-INF/versions/11/org/acme/Foo.class"));
+            outputStream.closeEntry();
+        }
+        assertFalse(ZipCentralDirectoryArchive.archive(getClass().getClassLoader(), file.toURI().toURL())
+                instanceof ZipCentralDirectoryArchive);
+    }
+
+    private static Map<String, byte[]> read(final Archive archive) throws IOException
+    {
+        final Map<String, byte[]> content = new LinkedHashMap<>();
+        for (final Archive.Entry entry : archive)
+        {
+            content.put(entry.getName(), read(entry.getBytecode()));
+        }
+        return content;
+    }
+
+    private static byte[] read(final InputStream stream) throws IOException
+    {
+        try (final InputStream in = stream)
+        {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) >= 0)
+            {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
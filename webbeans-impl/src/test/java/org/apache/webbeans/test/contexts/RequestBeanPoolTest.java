@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.RequestBeanPool;
+import org.apache.webbeans.context.Resettable;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RequestBeanPoolTest extends AbstractUnitTest
+{
+    @Test
+    public void testPooledRequestBeans()
+    {
+        addConfiguration(OpenWebBeansConfiguration.POOLED_REQUEST_BEANS,
+            PooledBean.class.getName() + ", " + NotResettableBean.class.getName());
+        startContainer(PooledBean.class, NotResettableBean.class, PlainBean.class);
+
+        RequestBeanPool pool = getWebBeansContext().getRequestBeanPool();
+        Assert.assertTrue(pool.isEnabled());
+
+        for (int i = 0; i < 3; i++)
+        {
+            PooledBean pooledBean = getInstance(PooledBean.class);
+            Assert.assertEquals(0, pooledBean.getRequestCount());
+            pooledBean.request();
+
+            getInstance(NotResettableBean.class).touch();
+            getInstance(PlainBean.class).touch();
+
+            restartContext(RequestScoped.class);
+        }
+
+        Assert.assertEquals(1, PooledBean.created.get());
+        Assert.assertEquals(3, PooledBean.reset.get());
+        Assert.assertEquals(0, PooledBean.destroyed.get());
+        Assert.assertEquals(3, NotResettableBean.destroyed.get());
+        Assert.assertEquals(3, PlainBean.destroyed.get());
+
+        Assert.assertEquals(2, pool.getHits());
+        Assert.assertEquals(4, pool.getMisses());
+        Assert.assertEquals(1, pool.getSize());
+
+        shutDownContainer();
+        Assert.assertEquals(1, PooledBean.destroyed.get());
+        Assert.assertEquals(0, pool.getSize());
+    }
+
+    @RequestScoped
+    public static class PooledBean implements Resettable
+    {
+        private static final AtomicInteger created = new AtomicInteger();
+        private static final AtomicInteger reset = new AtomicInteger();
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        private int requestCount;
+
+        @PostConstruct
+        public void init()
+        {
+            created.incrementAndGet();
+        }
+
+        public void request()
+        {
+            requestCount++;
+        }
+
+        public int getRequestCount()
+        {
+            return requestCount;
+        }
+
+        @Override
+        public void reset()
+        {
+            requestCount = 0;
+            reset.incrementAndGet();
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @RequestScoped
+    public static class NotResettableBean
+    {
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        public void touch()
+        {
+            // just create the instance
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @RequestScoped
+    public static class PlainBean
+    {
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        public void touch()
+        {
+            // just create the instance
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.diagnostics;
+
+import java.io.Serializable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.webbeans.component.ManagedBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.diagnostics.BeanFootprint;
+import org.apache.webbeans.diagnostics.FootprintDiagnostics;
+import org.apache.webbeans.portable.AbstractProducer;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FootprintDiagnosticsTest extends AbstractUnitTest
+{
+    @Test
+    public void testFootprint() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.FOOTPRINT_DIAGNOSTICS, "true");
+        startContainer(Traced.class, TracingInterceptor.class, TracedService.class, UserSession.class);
+
+        Assert.assertEquals("traced-hello", getInstance(TracedService.class).hello());
+        getInstance(UserSession.class).setName("owb");
+
+        FootprintDiagnostics diagnostics = getWebBeansContext().getFootprintDiagnostics();
+
+        BeanFootprint serviceFootprint = findFootprint(diagnostics.getBeanFootprints(), TracedService.class);
+        Assert.assertTrue(serviceFootprint.getAnnotatedTypeBytes() > 0);
+        Assert.assertTrue(serviceFootprint.getInjectionPointBytes() > 0);
+        Assert.assertTrue(serviceFootprint.getInterceptorInfoBytes() > 0);
+        Assert.assertTrue(serviceFootprint.getProxyClassBytes() > 0);
+
+        Map<String, Long> subsystems = diagnostics.getSubsystemFootprints();
+        Assert.assertTrue(subsystems.get(FootprintDiagnostics.SUBSYSTEM_INTERCEPTOR_INFO) >= serviceFootprint.getInterceptorInfoBytes());
+        Assert.assertTrue(diagnostics.getEstimatedBytes() >= serviceFootprint.getTotalBytes());
+
+        Map<String, Integer> liveInstances = diagnostics.getLiveInstancesPerScope();
+        Assert.assertTrue(liveInstances.get(ApplicationScoped.class.getSimpleName()) >= 1);
+        Assert.assertEquals(1, liveInstances.get(SessionScoped.class.getSimpleName()).intValue());
+        Assert.assertEquals(1, diagnostics.getSessionCount());
+
+        ObjectName objectName = diagnostics.getObjectName();
+        Assert.assertNotNull(objectName);
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        Assert.assertEquals(diagnostics.getEstimatedBytes(), mBeanServer.getAttribute(objectName, "EstimatedBytes"));
+        String[] heaviest = (String[]) mBeanServer.invoke(objectName, "heaviestBeans",
+            new Object[]{3}, new String[]{int.class.getName()});
+        Assert.assertEquals(3, heaviest.length);
+
+        shutDownContainer();
+        Assert.assertFalse(mBeanServer.isRegistered(objectName));
+    }
+
+    @Test
+    public void testNoMBeanByDefault()
+    {
+        startContainer(TracedService.class, UserSession.class);
+
+        Assert.assertNull(getWebBeansContext().getFootprintDiagnostics().getObjectName());
+        Assert.assertFalse(getWebBeansContext().getFootprintDiagnostics().getBeanFootprints().isEmpty());
+
+        // the proxy class sizes only get recorded for the diagnostics
+        Assert.assertNotNull(getInstance(TracedService.class).hello());
+        Assert.assertEquals(0, getWebBeansContext().getNormalScopeProxyFactory().getProxyClassSize(getBean(TracedService.class)));
+    }
+
+    @Test
+    public void testLazyBeansDoNotGetMaterialized()
+    {
+        addConfiguration(OpenWebBeansConfiguration.FOOTPRINT_DIAGNOSTICS, "true");
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEANS, "true");
+        startContainer(Traced.class, TracingInterceptor.class, TracedService.class, UserSession.class);
+
+        FootprintDiagnostics diagnostics = getWebBeansContext().getFootprintDiagnostics();
+        AbstractProducer<?> producer = ((ManagedBean<?>) getBean(TracedService.class)).getOriginalInjectionTarget();
+
+        BeanFootprint serviceFootprint = findFootprint(diagnostics.getBeanFootprints(), TracedService.class);
+        Assert.assertFalse(serviceFootprint.isMaterialized());
+        Assert.assertEquals(0, serviceFootprint.getInjectionPointBytes());
+        Assert.assertEquals(0, serviceFootprint.getInterceptorInfoBytes());
+        Assert.assertTrue(producer.isInjectionPointsDeferred());
+        Assert.assertTrue(producer.isInterceptorStackDeferred());
+
+        Assert.assertEquals("traced-hello", getInstance(TracedService.class).hello());
+
+        serviceFootprint = findFootprint(diagnostics.getBeanFootprints(), TracedService.class);
+        Assert.assertTrue(serviceFootprint.isMaterialized());
+        Assert.assertTrue(serviceFootprint.getInjectionPointBytes() > 0);
+        Assert.assertTrue(serviceFootprint.getInterceptorInfoBytes() > 0);
+    }
+
+    private static BeanFootprint findFootprint(List<BeanFootprint> footprints, Class<?> beanClass)
+    {
+        for (BeanFootprint footprint : footprints)
+        {
+            if (footprint.getBean().getBeanClass() == beanClass)
+            {
+                return footprint;
+            }
+        }
+        Assert.fail("no footprint for " + beanClass);
+        return null;
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Traced
+    {
+    }
+
+    @Traced
+    @Interceptor
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class TracingInterceptor
+    {
+        @AroundInvoke
+        public Object trace(InvocationContext context) throws Exception
+        {
+            return "traced-" + context.proceed();
+        }
+    }
+
+    @Traced
+    @ApplicationScoped
+    public static class TracedService
+    {
+        @Inject
+        private UserSession userSession;
+
+        public String hello()
+        {
+            return "hello";
+        }
+    }
+
+    @SessionScoped
+    public static class UserSession implements Serializable
+    {
+        private String name;
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public void setName(String name)
+        {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.events.observer;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.BeanManager;
+
+import org.apache.webbeans.event.ObserverMethodImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ObserverMethodInvocationTest extends AbstractUnitTest
+{
+    @Test
+    public void testInvocationPlanGetsReused() throws Exception
+    {
+        startContainer(Counter.class, CountingObserver.class);
+
+        getBeanManager().fireEvent(new Ping());
+        Object plan = getInvocationPlan();
+        Assert.assertNotNull(plan);
+
+        getBeanManager().fireEvent(new Ping());
+        Assert.assertSame(plan, getInvocationPlan());
+        Assert.assertEquals(2, getInstance(Counter.class).get());
+    }
+
+    @Test
+    public void testInvocationPlanGetsRebuiltAfterBeanAdded() throws Exception
+    {
+        startContainer(Counter.class, CountingObserver.class);
+
+        getBeanManager().fireEvent(new Ping());
+        Object plan = getInvocationPlan();
+
+        BeanManager beanManager = getBeanManager();
+        AnnotatedType<Unrelated> annotatedType = beanManager.createAnnotatedType(Unrelated.class);
+        getWebBeansContext().getBeanManagerImpl().addBean(beanManager.createBean(
+                beanManager.createBeanAttributes(annotatedType), Unrelated.class,
+                beanManager.getInjectionTargetFactory(annotatedType)));
+
+        getBeanManager().fireEvent(new Ping());
+        Assert.assertNotSame(plan, getInvocationPlan());
+        Assert.assertEquals(2, getInstance(Counter.class).get());
+    }
+
+    @Test
+    public void testDependentParametersGetDestroyed()
+    {
+        DependentParameter.destroyed = 0;
+        startContainer(DependentParameter.class, DependentObserver.class);
+
+        getBeanManager().fireEvent(new Ping());
+        Assert.assertEquals(1, DependentParameter.destroyed);
+
+        getBeanManager().fireEvent(new Ping());
+        Assert.assertEquals(2, DependentParameter.destroyed);
+    }
+
+    @Test
+    public void testExceptionOfObserverMethodGetsPropagated()
+    {
+        startContainer(FailingObserver.class);
+
+        try
+        {
+            getBeanManager().fireEvent(new Ping());
+            Assert.fail("the ClassCastException of the observer method must get propagated");
+        }
+        catch (RuntimeException e)
+        {
+            Assert.assertTrue(hasCause(e, FailingObserver.FAILURE));
+        }
+    }
+
+    @Test
+    public void testInvalidArgumentsGetRejected() throws Exception
+    {
+        startContainer(FailingObserver.class);
+
+        ObserverMethodImpl<?> observerMethod = getObserverMethod();
+        Method invoke = ObserverMethodImpl.class.getDeclaredMethod("invoke", Object.class, Object[].class);
+        invoke.setAccessible(true);
+
+        try
+        {
+            invoke.invoke(observerMethod, new FailingObserver(), new Object[]{"not a Ping"});
+            Assert.fail("the arguments don't fit the observer method");
+        }
+        catch (InvocationTargetException e)
+        {
+            // like Method#invoke
+            Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    private ObserverMethodImpl<?> getObserverMethod()
+    {
+        return (ObserverMethodImpl<?>) getBeanManager().resolveObserverMethods(new Ping()).iterator().next();
+    }
+
+    private Object getInvocationPlan() throws Exception
+    {
+        Field invocationPlan = ObserverMethodImpl.class.getDeclaredField("invocationPlan");
+        invocationPlan.setAccessible(true);
+        return invocationPlan.get(getObserverMethod());
+    }
+
+    private static boolean hasCause(Throwable throwable, Throwable cause)
+    {
+        for (Throwable current = throwable; current != null; current = current.getCause())
+        {
+            if (current == cause)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static class Ping
+    {
+    }
+
+    public static class Unrelated
+    {
+    }
+
+    @ApplicationScoped
+    public static class Counter
+    {
+        private int count;
+
+        public void increment()
+        {
+            count++;
+        }
+
+        public int get()
+        {
+            return count;
+        }
+    }
+
+    @ApplicationScoped
+    public static class CountingObserver
+    {
+        public void observe(@Observes Ping ping, Counter counter)
+        {
+            counter.increment();
+        }
+    }
+
+    @Dependent
+    public static class DependentParameter
+    {
+        private static int destroyed;
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class DependentObserver
+    {
+        public void observe(@Observes Ping ping, DependentParameter parameter)
+        {
+            Assert.assertNotNull(parameter);
+        }
+    }
+
+    @ApplicationScoped
+    public static class FailingObserver
+    {
+        private static final ClassCastException FAILURE = new ClassCastException("thrown by the observer method");
+
+        public void observe(@Observes Ping ping)
+        {
+            throw FAILURE;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.injectionpoint;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * InjectionPoints keep the Bean they got resolved to during deployment validation.
+ */
+public class ResolvedInjectionPointBeanTest extends AbstractUnitTest
+{
+    @Test
+    public void testResolvedBeanGetsKept()
+    {
+        startContainer(Service.class, Client.class);
+
+        InjectionResolver injectionResolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
+        Bean<Service> serviceBean = getBean(Service.class);
+
+        InjectionPoint injectionPoint = getBean(Client.class).getInjectionPoints().iterator().next();
+        Assert.assertTrue(injectionPoint instanceof InjectionPointImpl);
+        InjectionPointImpl injectionPointImpl = (InjectionPointImpl) injectionPoint;
+
+        // filled during the validation
+        long generation = injectionResolver.getDeploymentGeneration();
+        Assert.assertSame(serviceBean, injectionPointImpl.getResolvedBean(generation));
+        Assert.assertSame(serviceBean, injectionResolver.getInjectionPointBean(injectionPoint));
+
+        Assert.assertEquals("service", getInstance(Client.class).getService().name());
+
+        // a changed deployment invalidates the resolved Bean
+        injectionResolver.clearCaches();
+        long newGeneration = injectionResolver.getDeploymentGeneration();
+        Assert.assertNull(injectionPointImpl.getResolvedBean(newGeneration));
+        Assert.assertSame(serviceBean, injectionResolver.getInjectionPointBean(injectionPoint));
+        Assert.assertSame(serviceBean, injectionPointImpl.getResolvedBean(newGeneration));
+    }
+
+    @Dependent
+    public static class Service
+    {
+        public String name()
+        {
+            return "service";
+        }
+    }
+
+    @Dependent
+    public static class Client
+    {
+        @Inject
+        private Service service;
+
+        public Service getService()
+        {
+            return service;
+        }
+    }
+}
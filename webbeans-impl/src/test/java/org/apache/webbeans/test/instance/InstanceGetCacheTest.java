@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.instance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Repeated {@link Instance#get()} calls must behave the same
+ * whether the resolved Bean got cached or not.
+ */
+public class InstanceGetCacheTest extends AbstractUnitTest
+{
+    @Test
+    public void testRepeatedGet()
+    {
+        startContainer(Holder.class, AppScopedBean.class, DependentBean.class);
+
+        Holder holder = getInstance(Holder.class);
+
+        AppScopedBean appScopedBean = holder.getAppScoped().get();
+        Assert.assertSame(appScopedBean, holder.getAppScoped().get());
+        Assert.assertEquals("app", appScopedBean.name());
+
+        DependentBean first = holder.getDependent().get();
+        DependentBean second = holder.getDependent().get();
+        Assert.assertNotSame(first, second);
+
+        holder.getDependent().destroy(second);
+        Assert.assertEquals(1, DependentBean.destroyed.get());
+
+        // the resolution must survive a changed deployment
+        getWebBeansContext().getBeanManagerImpl().getInjectionResolver().clearCaches();
+        Assert.assertSame(appScopedBean, holder.getAppScoped().get());
+        Assert.assertNotNull(holder.getDependent().get());
+    }
+
+    @ApplicationScoped
+    public static class Holder
+    {
+        @Inject
+        private Instance<AppScopedBean> appScoped;
+
+        @Inject
+        private Instance<DependentBean> dependent;
+
+        public Instance<AppScopedBean> getAppScoped()
+        {
+            return appScoped;
+        }
+
+        public Instance<DependentBean> getDependent()
+        {
+            return dependent;
+        }
+    }
+
+    @ApplicationScoped
+    public static class AppScopedBean
+    {
+        public String name()
+        {
+            return "app";
+        }
+    }
+
+    @Dependent
+    public static class DependentBean
+    {
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.incrementAndGet();
+        }
+    }
+}
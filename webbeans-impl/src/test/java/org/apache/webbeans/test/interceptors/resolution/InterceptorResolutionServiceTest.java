@@ -21,17 +21,20 @@ package org.apache.webbeans.test.interceptors.resolution;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InterceptionType;
+import javax.enterprise.inject.spi.Interceptor;
 import javax.enterprise.util.AnnotationLiteral;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import org.apache.webbeans.intercept.InterceptorResolutionService;
+import org.apache.webbeans.intercept.InterceptorsManager;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.decorators.common.Cow;
 import org.apache.webbeans.test.interceptors.factory.beans.ClassInterceptedClass;
@@ -198,6 +201,59 @@ public class InterceptorResolutionServiceTest extends AbstractUnitTest
         shutDownContainer();
     }
 
+    @Test
+    public void testMemoizedInterceptorResolution() throws Exception
+    {
+        Collection<String> beanXmls = new ArrayList<String>();
+        beanXmls.add(getXmlPath(this.getClass().getPackage().getName(), this.getClass().getSimpleName()));
+
+        Collection<Class<?>> beanClasses = new ArrayList<Class<?>>();
+        beanClasses.add(ClassMultiInterceptedClass.class);
+        beanClasses.add(Transactional.class);
+        beanClasses.add(Secure.class);
+        beanClasses.add(Action.class);
+        beanClasses.add(ActionInterceptor.class);
+        beanClasses.add(SecureInterceptor.class);
+        beanClasses.add(TransactionalInterceptor.class);
+
+        startContainer(beanClasses, beanXmls);
+
+        Transactional transactional = new TransactionalLiteral();
+        Secure secure = new SecureLiteral();
+        InterceptorsManager interceptorsManager = getWebBeansContext().getInterceptorsManager();
+
+        List<Interceptor<?>> interceptors = interceptorsManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, transactional, secure);
+        Assert.assertEquals(2, interceptors.size());
+
+        // same bindings in a different order get the very same sorted list
+        Assert.assertSame(interceptors, interceptorsManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, secure, transactional));
+        Assert.assertNotSame(interceptors, interceptorsManager.resolveInterceptors(InterceptionType.POST_CONSTRUCT, transactional, secure));
+
+        try
+        {
+            interceptors.clear();
+            Assert.fail("the resolved interceptors must not be modifiable");
+        }
+        catch (UnsupportedOperationException e)
+        {
+            // expected
+        }
+
+        // the BeanManager hands out a copy of the cached list
+        List<Interceptor<?>> copy = getBeanManager().resolveInterceptors(InterceptionType.AROUND_INVOKE, transactional, secure);
+        Assert.assertEquals(interceptors, copy);
+        copy.clear();
+        Assert.assertEquals(2, interceptorsManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, transactional, secure).size());
+
+        // changing the enabled interceptors drops the cache
+        interceptorsManager.addPriorityClazzInterceptor(Interceptor1.class, 100);
+        List<Interceptor<?>> reResolved = interceptorsManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, transactional, secure);
+        Assert.assertNotSame(interceptors, reResolved);
+        Assert.assertEquals(interceptors, reResolved);
+
+        shutDownContainer();
+    }
+
     @Test
     public void testMethodLevelInterceptor() throws Exception
     {
@@ -337,4 +393,16 @@ public class InterceptorResolutionServiceTest extends AbstractUnitTest
         shutDownContainer();
     }
 
+    public static class TransactionalLiteral extends AnnotationLiteral<Transactional> implements Transactional
+    {
+    }
+
+    public static class SecureLiteral extends AnnotationLiteral<Secure> implements Secure
+    {
+        @Override
+        public String[] rolesAllowed()
+        {
+            return new String[0];
+        }
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.stateless;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Priority;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Interceptors which got configured as stateless get instantiated only once
+ * and are shared between all intercepted bean instances.
+ */
+public class StatelessInterceptorTest extends AbstractUnitTest
+{
+    @Before
+    public void reset()
+    {
+        CountingInterceptor.created.set(0);
+        InterceptorResource.destroyed.set(0);
+    }
+
+    @Test
+    public void testStatelessInterceptorIsShared()
+    {
+        addConfiguration(OpenWebBeansConfiguration.STATELESS_INTERCEPTORS, CountingInterceptor.class.getName());
+        startContainer(CountingInterceptor.class, InterceptorResource.class, FirstBean.class, SecondBean.class);
+
+        Assert.assertEquals("counted-first", getInstance(FirstBean.class).name());
+        Assert.assertEquals("counted-first", getInstance(FirstBean.class).name());
+        Assert.assertEquals("counted-second", getInstance(SecondBean.class).name());
+
+        Assert.assertEquals(1, CountingInterceptor.created.get());
+
+        shutDownContainer();
+        Assert.assertEquals(1, InterceptorResource.destroyed.get());
+    }
+
+    @Test
+    public void testInterceptorsAreNotSharedByDefault()
+    {
+        startContainer(CountingInterceptor.class, InterceptorResource.class, FirstBean.class, SecondBean.class);
+
+        Assert.assertEquals("counted-first", getInstance(FirstBean.class).name());
+        Assert.assertEquals("counted-first", getInstance(FirstBean.class).name());
+        Assert.assertEquals("counted-second", getInstance(SecondBean.class).name());
+
+        Assert.assertEquals(3, CountingInterceptor.created.get());
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    public @interface Counted
+    {
+    }
+
+    @Counted
+    @Interceptor
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class CountingInterceptor
+    {
+        private static final AtomicInteger created = new AtomicInteger();
+
+        @Inject
+        private InterceptorResource resource;
+
+        public CountingInterceptor()
+        {
+            created.incrementAndGet();
+        }
+
+        @AroundInvoke
+        public Object intercept(InvocationContext context) throws Exception
+        {
+            return resource.prefix() + context.proceed();
+        }
+    }
+
+    @Dependent
+    public static class InterceptorResource
+    {
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        public String prefix()
+        {
+            return "counted-";
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @Counted
+    @Dependent
+    public static class FirstBean
+    {
+        public String name()
+        {
+            return "first";
+        }
+    }
+
+    @Counted
+    @Dependent
+    public static class SecondBean
+    {
+        public String name()
+        {
+            return "second";
+        }
+    }
+}
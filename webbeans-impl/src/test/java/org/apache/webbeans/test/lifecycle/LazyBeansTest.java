@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.lifecycle;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.component.ManagedBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.exception.WebBeansConfigurationException;
+import org.apache.webbeans.exception.WebBeansDeploymentException;
+import org.apache.webbeans.lifecycle.AbstractLifeCycle;
+import org.apache.webbeans.portable.InjectionTargetImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LazyBeansTest extends AbstractUnitTest
+{
+    @Test
+    public void testInterceptorStackGetsDefinedOnFirstUse()
+    {
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEANS, "true");
+        startContainer(Greeter.class, Name.class, Loud.class, LoudInterceptor.class);
+
+        InjectionTargetImpl<?> injectionTarget = ((ManagedBean<?>) getBean(Greeter.class)).getOriginalInjectionTarget();
+        Assert.assertNull(injectionTarget.getInterceptorInfo());
+
+        Assert.assertEquals("HELLO OWB", getInstance(Greeter.class).greet());
+        Assert.assertNotNull(injectionTarget.getInterceptorInfo());
+        Assert.assertEquals(1, injectionTarget.getInjectionPoints().size());
+    }
+
+    @Test
+    public void testValidationOnDemand()
+    {
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEANS, "true");
+        startContainer(Unsatisfied.class);
+
+        try
+        {
+            ((AbstractLifeCycle) getLifecycle()).getBeansDeployer().validateDeployment();
+            Assert.fail("the InjectionPoint of Unsatisfied must not be valid");
+        }
+        catch (WebBeansDeploymentException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testValidationOnDemandOfValidDeployment()
+    {
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEANS, "true");
+        startContainer(Greeter.class, Name.class, Loud.class, LoudInterceptor.class);
+
+        ((AbstractLifeCycle) getLifecycle()).getBeansDeployer().validateDeployment();
+        Assert.assertNotNull(((ManagedBean<?>) getBean(Greeter.class)).getOriginalInjectionTarget().getInterceptorInfo());
+
+        Assert.assertEquals("HELLO OWB", getInstance(Greeter.class).greet());
+    }
+
+    @Test
+    public void testPassivationScopeGetsValidatedAtDeployment()
+    {
+        addConfiguration(OpenWebBeansConfiguration.LAZY_BEANS, "true");
+        try
+        {
+            startContainer(NotSerializableSessionBean.class);
+            Assert.fail("a @SessionScoped bean must be passivation capable");
+        }
+        catch (WebBeansConfigurationException e)
+        {
+            Assert.assertTrue(e.getCause() instanceof WebBeansDeploymentException);
+        }
+    }
+
+    @InterceptorBinding
+    @Retention(RUNTIME)
+    @Target({TYPE, METHOD})
+    public @interface Loud
+    {
+    }
+
+    @Loud
+    @Interceptor
+    @Priority(Interceptor.Priority.APPLICATION)
+    public static class LoudInterceptor
+    {
+        @AroundInvoke
+        public Object upperCase(InvocationContext context) throws Exception
+        {
+            return context.proceed().toString().toUpperCase();
+        }
+    }
+
+    public static class Name
+    {
+        public String get()
+        {
+            return "owb";
+        }
+    }
+
+    @Loud
+    @ApplicationScoped
+    public static class Greeter
+    {
+        @Inject
+        private Name name;
+
+        public String greet()
+        {
+            return "hello " + name.get();
+        }
+    }
+
+    public static class Unsatisfied
+    {
+        @Inject
+        private Runnable missing;
+    }
+
+    @SessionScoped
+    public static class NotSerializableSessionBean
+    {
+    }
+}
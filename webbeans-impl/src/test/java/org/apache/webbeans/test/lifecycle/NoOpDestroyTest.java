@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.lifecycle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.apache.webbeans.component.AbstractOwbBean;
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * &#0064;Dependent beans whose destruction is a no-op must not get
+ * tracked in the CreationalContext of their parent.
+ */
+public class NoOpDestroyTest extends AbstractUnitTest
+{
+    @Test
+    public void testNoOpDestroyBeansDoNotGetTracked()
+    {
+        startContainer(Pojo.class, PojoHolder.class, Destroyable.class, Holder.class, AppScopedBean.class);
+
+        Assert.assertTrue(isDestroyNoOp(Pojo.class));
+        Assert.assertTrue(isDestroyNoOp(PojoHolder.class));
+        Assert.assertFalse(isDestroyNoOp(Destroyable.class));
+        Assert.assertFalse(isDestroyNoOp(Holder.class));
+
+        Bean<Holder> holderBean = getBean(Holder.class);
+        CreationalContextImpl<Holder> creationalContext = getWebBeansContext().getBeanManagerImpl().createCreationalContext(holderBean);
+        Holder holder = (Holder) getBeanManager().getReference(holderBean, Holder.class, creationalContext);
+
+        Assert.assertNotNull(holder.getPojoHolder().getPojo());
+        Assert.assertEquals(Holder.class, holder.getPojoHolder().getInjectionPoint().getBean().getBeanClass());
+        Assert.assertEquals("app", holder.getAppScoped().name());
+
+        Assert.assertTrue(creationalContext.containsDependent(holderBean, holder));
+        Assert.assertTrue(creationalContext.containsDependent(getBean(Destroyable.class), holder.getDestroyable()));
+        Assert.assertFalse(creationalContext.containsDependent(getBean(PojoHolder.class), holder.getPojoHolder()));
+        Assert.assertFalse(creationalContext.containsDependent(getBean(Pojo.class), holder.getPojoHolder().getPojo()));
+
+        creationalContext.release();
+        Assert.assertEquals(1, Destroyable.destroyed.get());
+    }
+
+    private boolean isDestroyNoOp(Class<?> beanClass)
+    {
+        return ((AbstractOwbBean<?>) getBean(beanClass)).isDestroyNoOp();
+    }
+
+    @Dependent
+    public static class Pojo
+    {
+    }
+
+    @Dependent
+    public static class PojoHolder
+    {
+        @Inject
+        private Pojo pojo;
+
+        @Inject
+        private InjectionPoint injectionPoint;
+
+        public Pojo getPojo()
+        {
+            return pojo;
+        }
+
+        public InjectionPoint getInjectionPoint()
+        {
+            return injectionPoint;
+        }
+    }
+
+    @Dependent
+    public static class Destroyable
+    {
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @ApplicationScoped
+    public static class AppScopedBean
+    {
+        public String name()
+        {
+            return "app";
+        }
+    }
+
+    @Dependent
+    public static class Holder
+    {
+        @Inject
+        private PojoHolder pojoHolder;
+
+        @Inject
+        private Destroyable destroyable;
+
+        @Inject
+        private AppScopedBean appScoped;
+
+        public PojoHolder getPojoHolder()
+        {
+            return pojoHolder;
+        }
+
+        public Destroyable getDestroyable()
+        {
+            return destroyable;
+        }
+
+        public AppScopedBean getAppScoped()
+        {
+            return appScoped;
+        }
+    }
+}
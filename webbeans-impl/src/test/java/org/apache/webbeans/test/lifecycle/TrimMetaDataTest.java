@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.lifecycle;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.corespi.scanner.AbstractMetaDataDiscovery;
+import org.apache.webbeans.lifecycle.AbstractLifeCycle;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TrimMetaDataTest extends AbstractUnitTest
+{
+    @Test
+    public void testTrimMetaData()
+    {
+        addConfiguration(OpenWebBeansConfiguration.TRIM_METADATA, "true");
+        startContainer(Greeter.class);
+
+        // the test scanner does not group the classes per bean archive, so nothing got released
+        Assert.assertEquals(0, ((AbstractLifeCycle) getLifecycle()).getBeansDeployer().getTrimmedMetaDataEntries());
+
+        AbstractMetaDataDiscovery scanner = (AbstractMetaDataDiscovery) getWebBeansContext().getScannerService();
+        Assert.assertTrue(scanner.getBeanClassesPerBda().isEmpty());
+
+        Assert.assertEquals("hello", getInstance(Greeter.class).greet());
+    }
+
+    @Test
+    public void testNoTrimmingByDefault()
+    {
+        startContainer(Greeter.class);
+
+        Assert.assertEquals(-1, ((AbstractLifeCycle) getLifecycle()).getBeansDeployer().getTrimmedMetaDataEntries());
+    }
+
+    @ApplicationScoped
+    public static class Greeter
+    {
+        public String greet()
+        {
+            return "hello";
+        }
+    }
+}
@@ -21,8 +21,11 @@ package org.apache.webbeans.test.portable.javaee;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import javax.enterprise.inject.spi.InjectionTarget;
+
 import org.junit.Assert;
 
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.inject.OWBInjector;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.junit.Test;
@@ -47,4 +50,25 @@ public class JavaEeInjectionTest extends AbstractUnitTest
         
     }
 
+    @Test
+    public void testInjectionTargetGetsReused()
+    {
+        startContainer(SampleBean.class);
+
+        BeanManagerImpl beanManager = getWebBeansContext().getBeanManagerImpl();
+        InjectionTarget<MockInstance> injectionTarget = beanManager.getNonContextualInjectionTarget(MockInstance.class);
+        Assert.assertSame(injectionTarget, beanManager.getNonContextualInjectionTarget(MockInstance.class));
+
+        MockInstance first = new MockInstance();
+        MockInstance second = new MockInstance();
+        OWBInjector.inject(beanManager, first, null);
+        OWBInjector.inject(beanManager, second, null);
+
+        Assert.assertNotNull(first.getSample());
+        Assert.assertNotNull(second.getSample());
+        Assert.assertNotNull(second.getViaMethod());
+        Assert.assertSame(injectionTarget, beanManager.getNonContextualInjectionTarget(MockInstance.class));
+
+        shutDownContainer();
+    }
 }
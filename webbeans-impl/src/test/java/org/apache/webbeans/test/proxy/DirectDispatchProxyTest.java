@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import java.lang.reflect.Field;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * If enabled, proxies for &#064;ApplicationScoped beans cache the Contextual Instance
+ * in the proxy itself and dispatch directly to it.
+ */
+public class DirectDispatchProxyTest extends AbstractUnitTest
+{
+    @Test
+    public void testDirectDispatch() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.PROXY_DIRECT_DISPATCH, "true");
+        startContainer(Counter.class, RequestCounter.class);
+
+        Counter counter = getInstance(Counter.class);
+        Assert.assertTrue(counter instanceof OwbNormalScopeProxy);
+
+        Field cachedInstance = counter.getClass().getDeclaredField(NormalScopeProxyFactory.FIELD_CACHED_INSTANCE);
+        cachedInstance.setAccessible(true);
+        Assert.assertNull(cachedInstance.get(counter));
+
+        Assert.assertEquals(1, counter.increment(1));
+        Assert.assertEquals(3L, counter.add(1L, 2));
+        Assert.assertEquals(4, counter.protectedIncrement());
+
+        Object instance = cachedInstance.get(counter);
+        Assert.assertNotNull(instance);
+        Assert.assertSame(instance, NormalScopeProxyFactory.unwrapInstance(counter));
+        Assert.assertEquals(4, counter.getCount());
+
+        // a second proxy resolves the very same instance
+        Counter other = getWebBeansContext().getNormalScopeProxyFactory().createNormalScopeProxy(getBean(Counter.class));
+        Assert.assertNotSame(counter, other);
+        Assert.assertEquals(5, other.increment(1));
+        Assert.assertSame(instance, cachedInstance.get(other));
+
+        // other scopes must not cache anything in the proxy
+        RequestCounter requestCounter = getInstance(RequestCounter.class);
+        Assert.assertEquals(1, requestCounter.increment());
+        assertNoCachedInstanceField(requestCounter);
+    }
+
+    @Test
+    public void testDirectDispatchDisabledByDefault()
+    {
+        startContainer(Counter.class);
+
+        Counter counter = getInstance(Counter.class);
+        Assert.assertEquals(1, counter.increment(1));
+        assertNoCachedInstanceField(counter);
+    }
+
+    private void assertNoCachedInstanceField(Object proxy)
+    {
+        try
+        {
+            proxy.getClass().getDeclaredField(NormalScopeProxyFactory.FIELD_CACHED_INSTANCE);
+            Assert.fail("the proxy must not cache the contextual instance");
+        }
+        catch (NoSuchFieldException e)
+        {
+            // expected
+        }
+    }
+
+    @ApplicationScoped
+    public static class Counter
+    {
+        private int count;
+
+        public int increment(int delta)
+        {
+            count += delta;
+            return count;
+        }
+
+        public long add(long delta, int times)
+        {
+            count += delta * times;
+            return count;
+        }
+
+        protected int protectedIncrement()
+        {
+            return ++count;
+        }
+
+        public int getCount()
+        {
+            return count;
+        }
+    }
+
+    @RequestScoped
+    public static class RequestCounter
+    {
+        private int count;
+
+        public int increment()
+        {
+            return ++count;
+        }
+    }
+}
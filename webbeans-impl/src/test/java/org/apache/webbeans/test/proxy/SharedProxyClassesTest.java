@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.proxy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+
+import javax.enterprise.context.RequestScoped;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InterceptorBinding;
+import javax.interceptor.InvocationContext;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.proxy.OwbInterceptorProxy;
+import org.apache.webbeans.proxy.OwbNormalScopeProxy;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Proxy classes get reused by a restarted container if
+ * {@link OpenWebBeansConfiguration#SHARED_PROXY_CLASSES} is enabled.
+ */
+public class SharedProxyClassesTest extends AbstractUnitTest
+{
+    @Test
+    public void testSharedProxyClasses()
+    {
+        Class<?>[] firstRun = startAndGetProxyClasses(true);
+        Class<?>[] secondRun = startAndGetProxyClasses(true);
+
+        Assert.assertSame(firstRun[0], secondRun[0]);
+        Assert.assertSame(firstRun[1], secondRun[1]);
+    }
+
+    @Test
+    public void testProxyClassesNotSharedByDefault()
+    {
+        Class<?>[] firstRun = startAndGetProxyClasses(false);
+        Class<?>[] secondRun = startAndGetProxyClasses(false);
+
+        Assert.assertNotSame(firstRun[0], secondRun[0]);
+        Assert.assertNotSame(firstRun[1], secondRun[1]);
+    }
+
+    private Class<?>[] startAndGetProxyClasses(boolean shared)
+    {
+        // the configuration gets cleared at each shutdown
+        addConfiguration(OpenWebBeansConfiguration.SHARED_PROXY_CLASSES, Boolean.toString(shared));
+        addInterceptor(CountingInterceptor.class);
+        startContainer(Arrays.<Class<?>>asList(RequestBean.class, InterceptedBean.class), null, true);
+        try
+        {
+            RequestBean requestBean = getInstance(RequestBean.class);
+            Assert.assertTrue(requestBean instanceof OwbNormalScopeProxy);
+            Assert.assertEquals("request", requestBean.name());
+
+            InterceptedBean interceptedBean = getInstance(InterceptedBean.class);
+            Assert.assertTrue(interceptedBean instanceof OwbInterceptorProxy);
+            Assert.assertEquals("intercepted!", interceptedBean.name());
+
+            return new Class<?>[] { requestBean.getClass(), interceptedBean.getClass() };
+        }
+        finally
+        {
+            shutDownContainer();
+        }
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        public String name()
+        {
+            return "request";
+        }
+    }
+
+    @Counted
+    public static class InterceptedBean
+    {
+        public String name()
+        {
+            return "intercepted";
+        }
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.METHOD })
+    public @interface Counted
+    {
+    }
+
+    @Counted
+    @Interceptor
+    public static class CountingInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed() + "!";
+        }
+    }
+}
@@ -20,12 +20,14 @@ package org.apache.webbeans.test.unittests.inject;
 
 import java.util.Set;
 
+import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 
 import org.junit.Assert;
 
 import org.apache.webbeans.annotation.DefaultLiteral;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectionResolver;
 import org.apache.webbeans.test.AbstractUnitTest;
 import org.apache.webbeans.test.component.service.ITyped;
@@ -50,4 +52,24 @@ public class TypedComponentTest extends AbstractUnitTest
         Assert.assertTrue(beans.size() == 1);
     }
 
+    @Test
+    public void testBeanAddedAfterDeployment()
+    {
+        startContainer(TypedComponent.class);
+
+        BeanManagerImpl beanManager = getWebBeansContext().getBeanManagerImpl();
+        InjectionResolver injectionResolver = beanManager.getInjectionResolver();
+        Assert.assertTrue(injectionResolver.implResolveByType(false, LateBean.class).isEmpty());
+
+        AnnotatedType<LateBean> annotatedType = beanManager.createAnnotatedType(LateBean.class);
+        beanManager.addBean(beanManager.createBean(
+                beanManager.createBeanAttributes(annotatedType), LateBean.class, beanManager.getInjectionTargetFactory(annotatedType)));
+
+        Assert.assertEquals(1, injectionResolver.implResolveByType(false, LateBean.class).size());
+    }
+
+    public static class LateBean
+    {
+    }
+
 }
@@ -34,10 +34,13 @@ import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.webbeans.config.OwbParametrizedTypeImpl;
+import org.apache.webbeans.config.OwbWildcardTypeImpl;
 import org.apache.webbeans.util.GenericsUtil;
+import org.apache.webbeans.util.TypeAssignabilityCache;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -183,6 +186,54 @@ public class GenericsUtilTest {
         };
         final ParameterizedType beanType = new OwbParametrizedTypeImpl(null, GenericFoo.class, t);
         assertFalse(GenericsUtil.satisfiesDependency(false, false, injectionPointType, beanType, new HashMap<>()));
+        assertFalse(GenericsUtil.satisfiesDependency(false, false, injectionPointType, beanType));
+        assertFalse(new TypeAssignabilityCache(10).satisfiesDependency(false, false, injectionPointType, beanType));
+    }
+
+    @Test
+    public void typeAssignabilityCache() throws Exception
+    {
+        final TypeAssignabilityCache cache = new TypeAssignabilityCache(2);
+        final Type stringObject = new OwbParametrizedTypeImpl(null, AbstractObject.class, String.class);
+        final Type integerObject = new OwbParametrizedTypeImpl(null, AbstractObject.class, Integer.class);
+        final Type genericType = StringObject.class.getGenericSuperclass();
+
+        assertTrue(cache.satisfiesDependency(false, false, stringObject, genericType));
+        assertFalse(cache.satisfiesDependency(false, false, integerObject, genericType));
+        assertEquals(2, cache.size());
+
+        // served from the cache, equal but not identical types
+        assertTrue(cache.satisfiesDependency(false, false, new OwbParametrizedTypeImpl(null, AbstractObject.class, String.class), genericType));
+        assertEquals(2, cache.size());
+
+        // plain class checks don't get cached
+        assertTrue(cache.isAssignableFrom(false, false, Number.class, Integer.class));
+        assertEquals(2, cache.size());
+
+        // bounded, the result which caused the flush still gets stored
+        assertTrue(cache.isAssignableFrom(false, false, stringObject, genericType));
+        assertEquals(1, cache.size());
+        assertTrue(cache.isAssignableFrom(false, false, stringObject, genericType));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void wildcardTypeEquality() throws Exception
+    {
+        final Type jdkWildcard = ((ParameterizedType) WildcardHolder.class.getDeclaredField("numbers").getGenericType())
+                .getActualTypeArguments()[0];
+        final Type owbWildcard = new OwbWildcardTypeImpl(new Type[]{ Number.class }, new Type[0]);
+
+        assertEquals(owbWildcard, jdkWildcard);
+        assertEquals(jdkWildcard, owbWildcard);
+        assertEquals(jdkWildcard.hashCode(), owbWildcard.hashCode());
+        assertEquals(owbWildcard, new OwbWildcardTypeImpl(new Type[]{ Number.class }, new Type[0]));
+        assertFalse(owbWildcard.equals(new OwbWildcardTypeImpl(new Type[]{ Object.class }, new Type[]{ Number.class })));
+    }
+
+    public static class WildcardHolder
+    {
+        private List<? extends Number> numbers;
     }
 
     public static abstract class AbstractObject<V>
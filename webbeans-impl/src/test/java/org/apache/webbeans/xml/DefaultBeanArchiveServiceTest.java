@@ -19,16 +19,25 @@
 package org.apache.webbeans.xml;
 
 import org.apache.webbeans.spi.BeanArchiveService;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode.ALL;
 import static org.apache.webbeans.spi.BeanArchiveService.BeanDiscoveryMode.ANNOTATED;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 
 public class DefaultBeanArchiveServiceTest
 {
@@ -39,6 +48,9 @@ public class DefaultBeanArchiveServiceTest
             "</interceptors>" +
             "";
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void parseEE8() throws IOException
     {
@@ -77,6 +89,80 @@ public class DefaultBeanArchiveServiceTest
                 "", "4.0");
     }
 
+    @Test
+    public void parseWithCommentsAndUnknownElements() throws IOException
+    {
+        try (final InputStream stream = new ByteArrayInputStream(("" +
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<!-- a comment -->\n" +
+                "<beans bean-discovery-mode=\"all\">\n" +
+                "  <unknown><class>com.acme.Ignored</class></unknown>\n" +
+                "  <alternatives>\n" +
+                "    <!-- another comment -->\n" +
+                "    <class> com.acme.Alternative </class>\n" +
+                "    <stereotype>com.acme.Stereotype</stereotype>\n" +
+                "  </alternatives>\n" +
+                "  <scan>\n" +
+                "    <exclude name=\"com.acme.excluded.**\"/>\n" +
+                "    <exclude name=\"com.acme.Conditional\"><if-class-available name=\"com.acme.DoesNotExist\"/></exclude>\n" +
+                "  </scan>\n" +
+                "</beans>").getBytes(StandardCharsets.UTF_8)))
+        {
+            final BeanArchiveService.BeanArchiveInformation info = new DefaultBeanArchiveService().readBeansXml(stream, "mem");
+            assertNull(info.getVersion());
+            assertEquals(ALL, info.getBeanDiscoveryMode());
+            assertEquals(singletonList("com.acme.Alternative"), info.getAlternativeClasses());
+            assertEquals(singletonList("com.acme.Stereotype"), info.getAlternativeStereotypes());
+            assertEquals(singletonList("com.acme.excluded"), info.getExcludedPackages());
+            assertNull(info.getExcludedClasses());
+        }
+    }
+
+    @Test
+    public void parsedBeansXmlGetsReused() throws IOException
+    {
+        final File beansXml = temporaryFolder.newFile("beans.xml");
+        Files.write(beansXml.toPath(), ("<beans bean-discovery-mode=\"annotated\">" + CONTENT + "</beans>").getBytes(StandardCharsets.UTF_8));
+
+        final BeanArchiveService.BeanArchiveInformation first = new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL());
+        final BeanArchiveService.BeanArchiveInformation second = new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL());
+        assertNotSame(first, second);
+        assertEquals(ANNOTATED, second.getBeanDiscoveryMode());
+        assertEquals(asList("com.acme.First", "com.acme.Second"), second.getInterceptors());
+
+        // a changed file must get parsed again
+        Files.write(beansXml.toPath(), "<beans bean-discovery-mode=\"all\"/>".getBytes(StandardCharsets.UTF_8));
+        beansXml.setLastModified(beansXml.lastModified() + 2000);
+        final BeanArchiveService.BeanArchiveInformation changed = new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL());
+        assertEquals(ALL, changed.getBeanDiscoveryMode());
+        assertEquals(0, changed.getInterceptors().size());
+    }
+
+    @Test
+    public void overriddenReadBeansXmlGetsUsed() throws IOException
+    {
+        final File beansXml = temporaryFolder.newFile("beans.xml");
+        Files.write(beansXml.toPath(), "<beans bean-discovery-mode=\"annotated\"/>".getBytes(StandardCharsets.UTF_8));
+
+        // fill the cache first
+        new DefaultBeanArchiveService().getBeanArchiveInformation(beansXml.toURI().toURL());
+
+        final AtomicInteger reads = new AtomicInteger();
+        final DefaultBeanArchiveService service = new DefaultBeanArchiveService()
+        {
+            @Override
+            protected BeanArchiveInformation readBeansXml(final InputStream xmlStreamIn, final String beansXmlLocation) throws IOException
+            {
+                reads.incrementAndGet();
+                final BeanArchiveInformation info = super.readBeansXml(xmlStreamIn, beansXmlLocation);
+                ((DefaultBeanArchiveInformation) info).setBeanDiscoveryMode(ALL);
+                return info;
+            }
+        };
+        assertEquals(ALL, service.getBeanArchiveInformation(beansXml.toURI().toURL()).getBeanDiscoveryMode());
+        assertEquals(1, reads.get());
+    }
+
     private void assertBeansXml(final String beansXml, final String version) throws IOException
     {
         try (final InputStream stream = new ByteArrayInputStream(beansXml.getBytes(StandardCharsets.UTF_8))) {
@@ -26,6 +26,7 @@ import org.apache.webbeans.jms.JMSModel;
 import org.apache.webbeans.jms.component.JmsComponentFactory;
 import org.apache.webbeans.jms.component.JmsBean;
 import org.apache.webbeans.jms.util.JmsProxyHandler;
+import org.apache.webbeans.jms.util.JmsResourcePool;
 import org.apache.webbeans.jms.util.JmsUtil;
 import org.apache.webbeans.spi.plugins.AbstractOwbPlugin;
 
@@ -38,6 +39,8 @@ public class OpenWebBeansJmsPlugin extends AbstractOwbPlugin implements org.apac
 {
     private WebBeansContext webBeansContext;
 
+    private volatile JmsResourcePool resourcePool;
+
     public OpenWebBeansJmsPlugin(WebBeansContext webBeansContext)
     {
         super();
@@ -53,9 +56,34 @@ public class OpenWebBeansJmsPlugin extends AbstractOwbPlugin implements org.apac
 
     }
 
+    /**
+     * @return the pool of the JMS resources of this application, created on first use
+     */
+    public JmsResourcePool getResourcePool()
+    {
+        if (resourcePool == null)
+        {
+            synchronized (this)
+            {
+                if (resourcePool == null)
+                {
+                    String poolSize = webBeansContext.getOpenWebBeansConfiguration().getProperty(JmsResourcePool.POOL_SIZE,
+                        Integer.toString(JmsResourcePool.DEFAULT_POOL_SIZE));
+                    resourcePool = new JmsResourcePool(JmsUtil.getConnectionFactory(), Integer.parseInt(poolSize.trim()));
+                }
+            }
+        }
+        return resourcePool;
+    }
+
     @Override
     public void shutDown() throws WebBeansConfigurationException
     {
+        if (resourcePool != null)
+        {
+            resourcePool.destroy();
+            resourcePool = null;
+        }
         JmsProxyHandler.clearConnections();
     }
 
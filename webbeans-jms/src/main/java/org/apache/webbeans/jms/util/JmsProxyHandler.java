@@ -19,44 +19,42 @@
 package org.apache.webbeans.jms.util;
 
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.jms.Connection;
-import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
-import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageConsumer;
 import javax.jms.MessageProducer;
-import javax.jms.QueueConnection;
-import javax.jms.QueueConnectionFactory;
 import javax.jms.Session;
-import javax.jms.TopicConnection;
-import javax.jms.TopicConnectionFactory;
 
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.jms.JMSModel;
-import org.apache.webbeans.jms.JMSModel.JMSType;
 import org.apache.webbeans.jms.component.JmsBean;
+import org.apache.webbeans.jms.plugin.OpenWebBeansJmsPlugin;
 import org.apache.webbeans.util.ClassUtil;
 
-
+/**
+ * Delegates the calls of an injected JMS proxy to the real JMS resource.
+ * Sessions, MessageProducers and MessageConsumers get borrowed from the {@link JmsResourcePool}
+ * on first use and go back to the pool if the proxy gets closed.
+ */
 public class JmsProxyHandler implements InvocationHandler
 {
-    private JmsBean<?> jmsComponent;
+    private static Map<String, Destination> dests = new ConcurrentHashMap<>();
 
-    private static volatile ConnectionFactory connectionFactory;
+    private JmsBean<?> jmsComponent;
 
-    private AtomicBoolean cfSet = new AtomicBoolean(false);
+    private Object jmsObject;
 
-    private static Map<JMSType, Connection> connections = new ConcurrentHashMap<>();
+    /**
+     * The pooled Session, MessageProducer or MessageConsumer behind {@link #jmsObject}.
+     */
+    private JmsResourcePool.PooledResource pooledResource;
 
-    private static Map<String, Destination> dests = new ConcurrentHashMap<>();
-    
-    private Object jmsObject;
-    
     private Class<?> injectionClazz;
 
     public JmsProxyHandler(JmsBean<?> jmsComponent, Class<?> injectionClazz)
@@ -73,228 +71,105 @@ public class JmsProxyHandler implements InvocationHandler
     @Override
     public Object invoke(Object instance, Method method, Object[] arguments) throws Throwable
     {
-        if(method.getName().equals("closeJMSObject"))
+        String methodName = method.getName();
+        if (methodName.equals("closeJMSObject") || methodName.equals("close"))
         {
             close();
-            
+
             return null;
         }
-        
-        if (!ClassUtil.isObjectMethod(method.getName()))
-        {            
-            Object cf = null;
-
-            if (this.jmsObject == null)
-            {
-                Class<?> jmsClazz = this.injectionClazz;
-
-                if (cf == null && Connection.class.isAssignableFrom(jmsClazz))
-                {
-                    cf = createOrReturnQueueOrTopicConnection();
-                }
 
-                if (cf == null && Destination.class.isAssignableFrom(jmsClazz))
-                {
-                    cf = createOrReturnQueueOrTopic();
-
-                }
-
-                if (cf == null && Session.class.isAssignableFrom(jmsClazz))
-                {
-                    cf = createSession();
-                }
-
-                if (cf == null && MessageProducer.class.isAssignableFrom(jmsClazz))
-                {
-                    cf = createMessageProducers();
-                }
-
-                if (cf == null && MessageConsumer.class.isAssignableFrom(jmsClazz))
-                {
-                    cf = createMessageConsumers();
-                }
-
-                if (method.getName().equals("close"))
-                {
-                    throw new UnsupportedOperationException("close method is not supported for JMS resources");
-                }
-
-                if (cf == null)
-                {
-                    throw new WebBeansException("JMS Resource type is not correct!. Does not create JMS resource object to handle request");
-                }
-
-                this.jmsObject = cf;
-            }
-            else
-            {
-                cf = this.jmsObject;
-            }
-
-            return method.invoke(cf, arguments);
-        }
-        else
+        if (ClassUtil.isObjectMethod(methodName))
         {
             return method.invoke(instance, arguments);
         }
-    }
 
-    private Object createOrReturnConnectionFactory()
-    {
-        if (connectionFactory != null)
-        {
-            return connectionFactory;
-        }
-        else
+        Object jmsResource = getJmsObject();
+
+        // direct dispatch for the hottest calls
+        if (jmsResource instanceof MessageProducer && methodName.equals("send") && arguments != null)
         {
-            if (cfSet.compareAndSet(false, true))
+            if (arguments.length == 1 && arguments[0] instanceof Message)
             {
-                connectionFactory = JmsUtil.getConnectionFactory();
-
-                return connectionFactory;
+                ((MessageProducer) jmsResource).send((Message) arguments[0]);
+                return null;
+            }
+            if (arguments.length == 2 && arguments[0] instanceof Destination && arguments[1] instanceof Message)
+            {
+                ((MessageProducer) jmsResource).send((Destination) arguments[0], (Message) arguments[1]);
+                return null;
             }
         }
 
-        return null;
-    }
-
-    private Session createSession()
-    {
-        Connection connection = null;
         try
         {
-
-            connection = createOrReturnQueueOrTopicConnection();
-
-            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-
+            return method.invoke(jmsResource, arguments);
         }
-        catch (JMSException e)
+        catch (InvocationTargetException e)
         {
-            ensureConnectionClosing(connection);
-            throw new WebBeansException("Unable to create jms session", e);
+            throw e.getCause();
         }
-
     }
 
-    private void ensureConnectionClosing(Connection connection)
+    private synchronized Object getJmsObject()
     {
-        if (connection != null)
+        if (jmsObject != null)
         {
-            try
-            {
-                connection.close();
-            }
-            catch (JMSException jmse)
-            {
-                // do nothing, we are already throwing up anyway...
-            }
+            return jmsObject;
         }
-    }
 
-    private MessageProducer createMessageProducers()
-    {
-        Connection connection = null;
-        try
-        {
-            connection = createOrReturnQueueOrTopicConnection();
+        JmsResourcePool pool = getResourcePool();
+        JMSModel.JMSType jmsType = jmsComponent.getJmsModel().getJmsType();
 
-            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createProducer(createOrReturnQueueOrTopic());
+        if (Connection.class.isAssignableFrom(injectionClazz))
+        {
+            jmsObject = pool.getConnection(jmsType);
         }
-        catch (JMSException e)
+        else if (Destination.class.isAssignableFrom(injectionClazz))
         {
-            ensureConnectionClosing(connection);
-            throw new WebBeansException("Unable to create jms message producer", e);
+            jmsObject = createOrReturnQueueOrTopic();
         }
-
-    }
-
-    private MessageConsumer createMessageConsumers()
-    {
-        Connection connection = null;
-        try
+        else if (Session.class.isAssignableFrom(injectionClazz))
         {
-            connection = createOrReturnQueueOrTopicConnection();
-
-            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createConsumer(createOrReturnQueueOrTopic());
+            pooledResource = pool.borrowSession(jmsType);
+            jmsObject = pooledResource.getSession();
         }
-        catch (JMSException e)
+        else if (MessageProducer.class.isAssignableFrom(injectionClazz))
         {
-            ensureConnectionClosing(connection);
-            throw new WebBeansException("Unable to create jms message producer", e);
+            pooledResource = pool.borrowProducer(jmsType, createOrReturnQueueOrTopic());
+            jmsObject = pooledResource.getProducer();
         }
-
-    }
-
-    private Connection createOrReturnQueueOrTopicConnection()
-    {
-        JMSModel jmsModel = this.jmsComponent.getJmsModel();
-
-        try
+        else if (MessageConsumer.class.isAssignableFrom(injectionClazz))
         {
-            if (jmsModel.getJmsType() == JMSType.QUEUE)
-            {
-                if (connections.containsKey(JMSType.QUEUE))
-                {
-                    return connections.get(JMSType.QUEUE);
-                }
-                else
-                {
-                    QueueConnectionFactory ccf = (QueueConnectionFactory) createOrReturnConnectionFactory();
-                    QueueConnection qc = ccf.createQueueConnection();
-                    connections.put(JMSType.QUEUE, qc);
-
-                    return qc;
-                }
-            }
-            else if (jmsModel.getJmsType() == JMSType.TOPIC)
-            {
-                if (connections.containsKey(JMSType.TOPIC))
-                {
-                    return connections.get(JMSType.TOPIC);
-                }
-                else
-                {
-                    TopicConnectionFactory ccf = (TopicConnectionFactory) createOrReturnConnectionFactory();
-                    TopicConnection qc = ccf.createTopicConnection();
-                    connections.put(JMSType.TOPIC, qc);
-
-                    return qc;
-                }
-
-            }
-
+            pooledResource = pool.borrowConsumer(jmsType, createOrReturnQueueOrTopic());
+            jmsObject = pooledResource.getConsumer();
         }
-        catch (JMSException e)
+        else
         {
-            throw new WebBeansException("Unable to create jms connection", e);
+            throw new WebBeansException("JMS Resource type is not correct!. Does not create JMS resource object to handle request");
         }
 
-        return null;
+        return jmsObject;
     }
-    
-    private void close()
+
+    private JmsResourcePool getResourcePool()
     {
-        try
-        {
-            if(this.jmsObject != null)
-            {
-                Method method = this.jmsObject.getClass().getMethod("close");
-                
-                if(!method.isAccessible())
-                {
-                    jmsComponent.getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(method, true);
-                }
-                
-                method.invoke(this.jmsObject);
-            }
-            
-        }
-        catch (Exception e)
+        OpenWebBeansJmsPlugin jmsPlugin = (OpenWebBeansJmsPlugin) jmsComponent.getWebBeansContext().getPluginLoader().getJmsPlugin();
+        return jmsPlugin.getResourcePool();
+    }
+
+    /**
+     * Hands the JMS resource back to the pool.
+     * The shared Connection and the Destinations stay open.
+     */
+    private synchronized void close()
+    {
+        if (pooledResource != null)
         {
-            throw new WebBeansException("Unable to close JMS resources");
+            getResourcePool().release(pooledResource);
+            pooledResource = null;
         }
-        
+        jmsObject = null;
     }
 
     private Destination createOrReturnQueueOrTopic()
@@ -302,40 +177,23 @@ public class JmsProxyHandler implements InvocationHandler
         JMSModel jmsModel = this.jmsComponent.getJmsModel();
         String jndiName = jmsModel.isJndiNameDefined() ? jmsModel.getJndiName() : jmsModel.getMappedName();
 
-        if (dests.get(jndiName) != null)
+        Destination res = dests.get(jndiName);
+        if (res != null)
         {
-            return dests.get(jndiName);
+            return res;
         }
 
-        Destination res = (Destination) JmsUtil.getInstanceFromJndi(this.jmsComponent.getJmsModel(), this.injectionClazz);
+        Class<?> destinationClass = Destination.class.isAssignableFrom(injectionClazz) ? injectionClazz : Destination.class;
+        res = (Destination) JmsUtil.getInstanceFromJndi(jmsModel, destinationClass);
 
         dests.put(jndiName, res);
 
         return res;
-
     }
 
     public static void clearConnections()
     {
-        try
-        {
-            connectionFactory = null;
-
-            for (Connection connection : connections.values())
-            {
-                connection.close();
-            }
-
-            connections = null;
-
-            dests.clear();
-            dests = null;
-
-        }
-        catch (Exception e)
-        {
-            throw new WebBeansException(e);
-        }
+        dests.clear();
     }
 
 }
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.jms.util;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.QueueConnectionFactory;
+import javax.jms.Session;
+import javax.jms.TopicConnectionFactory;
+
+import org.apache.webbeans.exception.WebBeansException;
+import org.apache.webbeans.jms.JMSModel.JMSType;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+/**
+ * Pools the JMS resources behind the injected JMS proxies.
+ *
+ * <p>One Connection per {@link JMSType} gets shared by all proxies. Sessions and
+ * MessageProducers don't get closed if a proxy gets closed but go back into a
+ * bounded pool. MessageProducers get pooled per Destination together with their Session.
+ * Pooled resources get validated before they get handed out again.</p>
+ */
+public class JmsResourcePool
+{
+    /**
+     * The maximum number of idle Sessions per JMSType and idle MessageProducers per Destination.
+     */
+    public static final String POOL_SIZE = "org.apache.webbeans.jms.poolSize";
+
+    public static final int DEFAULT_POOL_SIZE = 8;
+
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(JmsResourcePool.class);
+
+    private final ConnectionFactory connectionFactory;
+    private final int maxIdle;
+
+    private final ConcurrentMap<JMSType, Connection> connections = new ConcurrentHashMap<>();
+    private final ConcurrentMap<JMSType, BlockingQueue<PooledResource>> idleSessions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Destination, BlockingQueue<PooledResource>> idleProducers = new ConcurrentHashMap<>();
+
+    public JmsResourcePool(ConnectionFactory connectionFactory, int maxIdle)
+    {
+        this.connectionFactory = connectionFactory;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * @return the Connection which is shared by all resources of the given type
+     */
+    public Connection getConnection(JMSType jmsType)
+    {
+        Connection connection = connections.get(jmsType);
+        if (connection == null)
+        {
+            synchronized (connections)
+            {
+                connection = connections.get(jmsType);
+                if (connection == null)
+                {
+                    connection = createConnection(jmsType);
+                    connections.put(jmsType, connection);
+                }
+            }
+        }
+        return connection;
+    }
+
+    public PooledResource borrowSession(JMSType jmsType)
+    {
+        PooledResource resource = pollValid(idleSessions.get(jmsType));
+        if (resource == null)
+        {
+            resource = new PooledResource(jmsType, null, createSession(jmsType));
+        }
+        return resource;
+    }
+
+    public PooledResource borrowProducer(JMSType jmsType, Destination destination)
+    {
+        PooledResource resource = pollValid(idleProducers.get(destination));
+        if (resource == null)
+        {
+            resource = borrowSession(jmsType);
+            try
+            {
+                resource.producer = resource.session.createProducer(destination);
+                resource.destination = destination;
+            }
+            catch (JMSException e)
+            {
+                close(resource);
+                throw new WebBeansException("Unable to create jms message producer", e);
+            }
+        }
+        return resource;
+    }
+
+    /**
+     * MessageConsumers keep state, thus only their Session gets pooled.
+     */
+    public PooledResource borrowConsumer(JMSType jmsType, Destination destination)
+    {
+        PooledResource resource = borrowSession(jmsType);
+        try
+        {
+            resource.consumer = resource.session.createConsumer(destination);
+        }
+        catch (JMSException e)
+        {
+            release(resource);
+            throw new WebBeansException("Unable to create jms message consumer", e);
+        }
+        return resource;
+    }
+
+    /**
+     * Hands the given resource back to the pool. If the pool is full it gets closed.
+     */
+    public void release(PooledResource resource)
+    {
+        if (resource.consumer != null)
+        {
+            try
+            {
+                resource.consumer.close();
+            }
+            catch (JMSException e)
+            {
+                logger.log(Level.FINE, "Unable to close jms message consumer", e);
+            }
+            resource.consumer = null;
+        }
+
+        BlockingQueue<PooledResource> pool;
+        if (resource.producer != null)
+        {
+            pool = getPool(idleProducers, resource.destination);
+        }
+        else
+        {
+            pool = getPool(idleSessions, resource.jmsType);
+        }
+
+        if (!pool.offer(resource))
+        {
+            close(resource);
+        }
+    }
+
+    /**
+     * @return the number of idle Sessions and MessageProducers
+     */
+    public int getIdleCount()
+    {
+        int count = 0;
+        for (BlockingQueue<PooledResource> pool : idleSessions.values())
+        {
+            count += pool.size();
+        }
+        for (BlockingQueue<PooledResource> pool : idleProducers.values())
+        {
+            count += pool.size();
+        }
+        return count;
+    }
+
+    /**
+     * Closes all idle resources and the shared Connections.
+     */
+    public void destroy()
+    {
+        closeAll(idleProducers);
+        closeAll(idleSessions);
+
+        for (Connection connection : connections.values())
+        {
+            try
+            {
+                connection.close();
+            }
+            catch (JMSException e)
+            {
+                logger.log(Level.FINE, "Unable to close jms connection", e);
+            }
+        }
+        connections.clear();
+    }
+
+    private Connection createConnection(JMSType jmsType)
+    {
+        try
+        {
+            Connection connection;
+            if (jmsType == JMSType.QUEUE)
+            {
+                connection = ((QueueConnectionFactory) connectionFactory).createQueueConnection();
+            }
+            else
+            {
+                connection = ((TopicConnectionFactory) connectionFactory).createTopicConnection();
+            }
+
+            // a broken connection gets replaced on the next use
+            connection.setExceptionListener(e -> invalidate(jmsType));
+            return connection;
+        }
+        catch (JMSException e)
+        {
+            throw new WebBeansException("Unable to create jms connection", e);
+        }
+    }
+
+    private Session createSession(JMSType jmsType)
+    {
+        try
+        {
+            return getConnection(jmsType).createSession(false, Session.AUTO_ACKNOWLEDGE);
+        }
+        catch (JMSException e)
+        {
+            invalidate(jmsType);
+            throw new WebBeansException("Unable to create jms session", e);
+        }
+    }
+
+    private void invalidate(JMSType jmsType)
+    {
+        Connection connection = connections.remove(jmsType);
+        if (connection != null)
+        {
+            try
+            {
+                connection.close();
+            }
+            catch (JMSException e)
+            {
+                // the connection is broken anyway
+            }
+        }
+    }
+
+    private PooledResource pollValid(BlockingQueue<PooledResource> pool)
+    {
+        if (pool == null)
+        {
+            return null;
+        }
+
+        PooledResource resource;
+        while ((resource = pool.poll()) != null)
+        {
+            if (resource.isValid())
+            {
+                return resource;
+            }
+            close(resource);
+        }
+        return null;
+    }
+
+    private <K> BlockingQueue<PooledResource> getPool(ConcurrentMap<K, BlockingQueue<PooledResource>> pools, K key)
+    {
+        BlockingQueue<PooledResource> pool = pools.get(key);
+        if (pool == null)
+        {
+            pool = new ArrayBlockingQueue<>(Math.max(1, maxIdle));
+            BlockingQueue<PooledResource> existing = pools.putIfAbsent(key, pool);
+            if (existing != null)
+            {
+                pool = existing;
+            }
+        }
+        return pool;
+    }
+
+    private <K> void closeAll(ConcurrentMap<K, BlockingQueue<PooledResource>> pools)
+    {
+        for (Map.Entry<K, BlockingQueue<PooledResource>> entry : pools.entrySet())
+        {
+            PooledResource resource;
+            while ((resource = entry.getValue().poll()) != null)
+            {
+                close(resource);
+            }
+        }
+        pools.clear();
+    }
+
+    private void close(PooledResource resource)
+    {
+        try
+        {
+            // closing the Session also closes its producers and consumers
+            resource.session.close();
+        }
+        catch (JMSException e)
+        {
+            logger.log(Level.FINE, "Unable to close jms session", e);
+        }
+    }
+
+    /**
+     * A pooled Session and optionally the MessageProducer or MessageConsumer created with it.
+     */
+    public static final class PooledResource
+    {
+        private final JMSType jmsType;
+        private final Session session;
+        private Destination destination;
+        private MessageProducer producer;
+        private MessageConsumer consumer;
+
+        private PooledResource(JMSType jmsType, Destination destination, Session session)
+        {
+            this.jmsType = jmsType;
+            this.destination = destination;
+            this.session = session;
+        }
+
+        public Session getSession()
+        {
+            return session;
+        }
+
+        public MessageProducer getProducer()
+        {
+            return producer;
+        }
+
+        public MessageConsumer getConsumer()
+        {
+            return consumer;
+        }
+
+        /**
+         * JMS has no isValid(), but all getters throw an IllegalStateException once closed.
+         */
+        private boolean isValid()
+        {
+            try
+            {
+                session.getAcknowledgeMode();
+                if (producer != null)
+                {
+                    producer.getDeliveryMode();
+                }
+                return true;
+            }
+            catch (JMSException | RuntimeException e)
+            {
+                return false;
+            }
+        }
+    }
+}
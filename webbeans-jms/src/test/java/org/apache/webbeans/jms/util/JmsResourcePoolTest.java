@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.jms.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Connection;
+import javax.jms.IllegalStateException;
+import javax.jms.MessageProducer;
+import javax.jms.Queue;
+import javax.jms.QueueConnection;
+import javax.jms.QueueConnectionFactory;
+import javax.jms.QueueSession;
+import javax.jms.Session;
+
+import org.apache.webbeans.jms.JMSModel.JMSType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JmsResourcePoolTest
+{
+    private final AtomicInteger connectionsCreated = new AtomicInteger();
+    private final AtomicInteger connectionsClosed = new AtomicInteger();
+    private final AtomicInteger sessionsCreated = new AtomicInteger();
+    private final AtomicInteger sessionsClosed = new AtomicInteger();
+    private final AtomicInteger producersCreated = new AtomicInteger();
+
+    private QueueConnectionFactory connectionFactory;
+    private Queue queue;
+
+    @Before
+    public void setUp()
+    {
+        queue = stub(Queue.class, (proxy, method, args) -> "getQueueName".equals(method.getName()) ? "orders" : null);
+        connectionFactory = stub(QueueConnectionFactory.class, (proxy, method, args) ->
+        {
+            connectionsCreated.incrementAndGet();
+            return newConnection();
+        });
+    }
+
+    @Test
+    public void testSharedConnectionAndPooledProducers() throws Exception
+    {
+        JmsResourcePool pool = new JmsResourcePool(connectionFactory, 2);
+
+        Connection connection = pool.getConnection(JMSType.QUEUE);
+        Assert.assertSame(connection, pool.getConnection(JMSType.QUEUE));
+
+        JmsResourcePool.PooledResource first = pool.borrowProducer(JMSType.QUEUE, queue);
+        JmsResourcePool.PooledResource second = pool.borrowProducer(JMSType.QUEUE, queue);
+        JmsResourcePool.PooledResource third = pool.borrowProducer(JMSType.QUEUE, queue);
+        Assert.assertNotSame(first.getProducer(), second.getProducer());
+        Assert.assertEquals(3, producersCreated.get());
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        Assert.assertEquals(2, pool.getIdleCount());
+        Assert.assertEquals(1, sessionsClosed.get());
+
+        // closing returns to the pool, so the next request reuses the producer
+        JmsResourcePool.PooledResource reused = pool.borrowProducer(JMSType.QUEUE, queue);
+        Assert.assertSame(first.getProducer(), reused.getProducer());
+        Assert.assertEquals(3, producersCreated.get());
+        Assert.assertEquals(1, connectionsCreated.get());
+
+        // invalid resources get dropped on borrow
+        pool.release(reused);
+        second.getSession().close();
+        first.getSession().close();
+        JmsResourcePool.PooledResource fresh = pool.borrowProducer(JMSType.QUEUE, queue);
+        Assert.assertNotSame(first.getProducer(), fresh.getProducer());
+        Assert.assertEquals(4, producersCreated.get());
+
+        pool.release(fresh);
+        pool.destroy();
+        Assert.assertEquals(0, pool.getIdleCount());
+        Assert.assertEquals(1, connectionsClosed.get());
+        Assert.assertEquals(sessionsCreated.get(), sessionsClosed.get());
+    }
+
+    @Test
+    public void testPooledSessions()
+    {
+        JmsResourcePool pool = new JmsResourcePool(connectionFactory, 2);
+
+        Session session = pool.borrowSession(JMSType.QUEUE).getSession();
+        JmsResourcePool.PooledResource resource = pool.borrowSession(JMSType.QUEUE);
+        Assert.assertNotSame(session, resource.getSession());
+
+        pool.release(resource);
+        Assert.assertSame(resource.getSession(), pool.borrowSession(JMSType.QUEUE).getSession());
+        Assert.assertEquals(2, sessionsCreated.get());
+    }
+
+    private QueueConnection newConnection()
+    {
+        return stub(QueueConnection.class, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "createSession":
+                case "createQueueSession":
+                    sessionsCreated.incrementAndGet();
+                    return newSession();
+                case "close":
+                    connectionsClosed.incrementAndGet();
+                    return null;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private QueueSession newSession()
+    {
+        boolean[] closed = new boolean[1];
+        return stub(QueueSession.class, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "createProducer":
+                    producersCreated.incrementAndGet();
+                    return newProducer(closed);
+                case "getAcknowledgeMode":
+                    if (closed[0])
+                    {
+                        throw new IllegalStateException("closed");
+                    }
+                    return Session.AUTO_ACKNOWLEDGE;
+                case "close":
+                    if (!closed[0])
+                    {
+                        closed[0] = true;
+                        sessionsClosed.incrementAndGet();
+                    }
+                    return null;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private MessageProducer newProducer(boolean[] sessionClosed)
+    {
+        return stub(MessageProducer.class, (proxy, method, args) ->
+        {
+            if ("getDeliveryMode".equals(method.getName()))
+            {
+                if (sessionClosed[0])
+                {
+                    throw new IllegalStateException("closed");
+                }
+                return 2;
+            }
+            return null;
+        });
+    }
+
+    private static <T> T stub(Class<T> type, InvocationHandler handler)
+    {
+        return type.cast(Proxy.newProxyInstance(JmsResourcePoolTest.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+        {
+            if (method.getDeclaringClass() == Object.class)
+            {
+                switch (method.getName())
+                {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return type.getSimpleName();
+                }
+            }
+            return handler.invoke(proxy, method, args);
+        }));
+    }
+}
@@ -31,8 +31,6 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
  * Activates CDI based on SE API for the decorated test.
- *
- * IMPORTANT: this is not thread safe - yet - so ensure to use a single fork in surefire/gradle/....
  */
 @Target(TYPE)
 @Retention(RUNTIME)
@@ -90,13 +88,21 @@ public @interface Cdi
     Class<? extends OnStart>[] onStarts() default {};
 
     /**
+     * A reusable container is shared by all the tests using the very same configuration,
+     * different configurations get their own container.
      * TIP: it is recommended to alias the configuration when this is true to avoid to have a not unified configuration.
-     * IMPORTANT: this is not thread safe so ensure to use a single fork when using it.
      *
      * @return true if the underlying container must stay up until the end of the tests.
      */
     boolean reusable() default false;
 
+    /**
+     * Only used for reusable containers.
+     *
+     * @return true if the request, session, application and singleton contexts must be restarted after each test.
+     */
+    boolean resetContexts() default false;
+
     /**
      * Will be execute before the container starts and can return a closeable called after the container stops.
      */
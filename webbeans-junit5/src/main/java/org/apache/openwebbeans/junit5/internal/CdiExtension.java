@@ -19,6 +19,8 @@
 package org.apache.openwebbeans.junit5.internal;
 
 import org.apache.openwebbeans.junit5.Cdi;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.spi.ContextsService;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
@@ -26,24 +28,44 @@ import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.platform.commons.util.AnnotationUtils;
 
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.se.SeContainer;
 import javax.enterprise.inject.se.SeContainerInitializer;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.InjectionTarget;
+import javax.inject.Singleton;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
-// todo: enhance the setup to be thread safe? see Meecrowave ClassLoaderLock class and friends
+/**
+ * Boots the container configured by {@link Cdi} and injects the test instances.
+ *
+ * Reusable containers are cached per effective {@link Cdi} configuration (the annotation itself, so an alias
+ * or an identical declaration hits the same container). Each of them gets booted with a dedicated
+ * {@link ClassLoader} - which only delegates to the test one - so several configurations can live side by side
+ * and get used by parallel test classes. The deployed metadata and proxies are reused, only the contexts get
+ * restarted between tests if {@link Cdi#resetContexts()} is set.
+ */
 public class CdiExtension extends CdiParametersResolverExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback
 {
-    private static SeContainer reusableContainer;
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CdiExtension.class);
+
+    private static final ConcurrentMap<Cdi, FutureTask<ReusableContainer>> REUSABLE_CONTAINERS = new ConcurrentHashMap<>();
 
     private SeContainer testInstanceContainer;
+    private ReusableContainer reusableContainer;
     private Collection<CreationalContext<?>> creationalContexts = new ArrayList<>();
     private AutoCloseable[] onStop;
 
@@ -56,61 +78,15 @@ public class CdiExtension extends CdiParametersResolverExtension implements Befo
             return;
         }
 
-        final boolean reusable = config.reusable();
-        if (reusable && reusableContainer != null)
-        {
-            return;
-        }
-        if (!reusable && reusableContainer != null)
-        {
-            throw new IllegalStateException(
-                    "You can't mix @Cdi(reusable=true) and @Cdi(reusable=false) in the same suite");
-        }
-
-        final SeContainerInitializer initializer = SeContainerInitializer.newInstance();
-        if (config.disableDiscovery())
-        {
-            initializer.disableDiscovery();
-        }
-        initializer.setClassLoader(Thread.currentThread().getContextClassLoader());
-        initializer.addBeanClasses(config.classes());
-        initializer.enableDecorators(config.decorators());
-        initializer.enableInterceptors(config.interceptors());
-        initializer.selectAlternatives(config.alternatives());
-        initializer.selectAlternativeStereotypes(config.alternativeStereotypes());
-        initializer.addPackages(
-                Stream.of(config.packages()).map(Class::getPackage).toArray(Package[]::new));
-        initializer.addPackages(true,
-                Stream.of(config.recursivePackages()).map(Class::getPackage).toArray(Package[]::new));
-        Stream.of(config.properties()).forEach(property -> initializer.addProperty(property.name(), property.value()));
-        onStop = Stream.of(config.onStarts())
-                .map(it ->
-                {
-                    try
-                    {
-                        return it.getConstructor().newInstance();
-                    }
-                    catch (final InstantiationException | IllegalAccessException | NoSuchMethodException e)
-                    {
-                        throw new IllegalStateException(e);
-                    }
-                    catch (final InvocationTargetException e)
-                    {
-                        throw new IllegalStateException(e.getTargetException());
-                    }
-                })
-                .map(Supplier::get)
-                .toArray(AutoCloseable[]::new);
-        SeContainer container = initializer.initialize();
-        if (reusable)
+        if (config.reusable())
         {
-            reusableContainer = container;
-            Runtime.getRuntime().addShutdownHook(new Thread(
-                () -> doClose(reusableContainer), getClass().getName() + "-shutdown"));
+            reusableContainer = getReusableContainer(config);
+            activate(extensionContext);
         }
         else
         {
-            testInstanceContainer = container;
+            onStop = onStart(config);
+            testInstanceContainer = configure(config, Thread.currentThread().getContextClassLoader()).initialize();
         }
     }
 
@@ -119,9 +95,10 @@ public class CdiExtension extends CdiParametersResolverExtension implements Befo
     {
         if (testInstanceContainer != null)
         {
-            doClose(testInstanceContainer);
+            doClose(testInstanceContainer, onStop);
             testInstanceContainer = null;
         }
+        deactivate(extensionContext);
     }
 
     @Override
@@ -132,6 +109,7 @@ public class CdiExtension extends CdiParametersResolverExtension implements Befo
         {
             return;
         }
+        activate(extensionContext);
         extensionContext.getTestInstances().ifPresent(testInstances ->
         {
             testInstances.getAllInstances().stream().distinct().forEach(instance ->
@@ -155,9 +133,80 @@ public class CdiExtension extends CdiParametersResolverExtension implements Befo
             creationalContexts.forEach(CreationalContext::release);
             creationalContexts.clear();
         }
+        if (reusableContainer != null && reusableContainer.config.resetContexts())
+        {
+            reusableContainer.resetContexts();
+        }
+        deactivate(extensionContext);
+    }
+
+    /**
+     * Makes the reusable container the current one for the running thread.
+     */
+    private void activate(final ExtensionContext extensionContext)
+    {
+        if (reusableContainer == null)
+        {
+            return;
+        }
+        final Thread thread = Thread.currentThread();
+        extensionContext.getStore(NAMESPACE).put(ClassLoader.class, thread.getContextClassLoader());
+        thread.setContextClassLoader(reusableContainer.loader);
+    }
+
+    private void deactivate(final ExtensionContext extensionContext)
+    {
+        final ClassLoader previous = extensionContext.getStore(NAMESPACE).remove(ClassLoader.class, ClassLoader.class);
+        if (previous != null)
+        {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    private static SeContainerInitializer configure(final Cdi config, final ClassLoader loader)
+    {
+        final SeContainerInitializer initializer = SeContainerInitializer.newInstance();
+        if (config.disableDiscovery())
+        {
+            initializer.disableDiscovery();
+        }
+        initializer.setClassLoader(loader);
+        initializer.addBeanClasses(config.classes());
+        initializer.enableDecorators(config.decorators());
+        initializer.enableInterceptors(config.interceptors());
+        initializer.selectAlternatives(config.alternatives());
+        initializer.selectAlternativeStereotypes(config.alternativeStereotypes());
+        initializer.addPackages(
+                Stream.of(config.packages()).map(Class::getPackage).toArray(Package[]::new));
+        initializer.addPackages(true,
+                Stream.of(config.recursivePackages()).map(Class::getPackage).toArray(Package[]::new));
+        Stream.of(config.properties()).forEach(property -> initializer.addProperty(property.name(), property.value()));
+        return initializer;
     }
 
-    private void doClose(final SeContainer container)
+    private static AutoCloseable[] onStart(final Cdi config)
+    {
+        return Stream.of(config.onStarts())
+                .map(it ->
+                {
+                    try
+                    {
+                        return it.getConstructor().newInstance();
+                    }
+                    catch (final InstantiationException | IllegalAccessException | NoSuchMethodException e)
+                    {
+                        throw new IllegalStateException(e);
+                    }
+                    catch (final InvocationTargetException e)
+                    {
+                        throw new IllegalStateException(e.getTargetException());
+                    }
+                })
+                .map(Supplier::get)
+                .toArray(AutoCloseable[]::new);
+    }
+
+    private static void doClose(final SeContainer container, final AutoCloseable[] onStop)
     {
         container.close();
         Stream.of(onStop).forEach(it ->
@@ -179,9 +228,128 @@ public class CdiExtension extends CdiParametersResolverExtension implements Befo
         {
             return testInstanceContainer;
         }
-        else
+        else if (reusableContainer != null)
+        {
+            return reusableContainer.container;
+        }
+        return null;
+    }
+
+    /**
+     * Boots the container outside of the map, so the test classes of other configurations don't wait for it.
+     * If the boot fails the next test class of this configuration tries again.
+     */
+    private static ReusableContainer getReusableContainer(final Cdi config)
+    {
+        FutureTask<ReusableContainer> boot = REUSABLE_CONTAINERS.get(config);
+        if (boot == null)
+        {
+            final FutureTask<ReusableContainer> newBoot = new FutureTask<>(() -> new ReusableContainer(config));
+            boot = REUSABLE_CONTAINERS.putIfAbsent(config, newBoot);
+            if (boot == null)
+            {
+                boot = newBoot;
+                boot.run();
+            }
+        }
+
+        try
+        {
+            return boot.get();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        catch (final ExecutionException e)
+        {
+            REUSABLE_CONTAINERS.remove(config, boot);
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * A container kept for all the test classes sharing the same configuration until the JVM stops.
+     */
+    private static final class ReusableContainer
+    {
+        private static final Class<? extends Annotation>[] RESET_SCOPES = new Class[]
+        {
+            RequestScoped.class, SessionScoped.class, ApplicationScoped.class, Singleton.class
+        };
+
+        private final Cdi config;
+        private final ClassLoader loader;
+        private final SeContainer container;
+        private final WebBeansContext webBeansContext;
+
+        private ReusableContainer(final Cdi config)
+        {
+            this.config = config;
+
+            final Thread thread = Thread.currentThread();
+            final ClassLoader parent = thread.getContextClassLoader();
+            loader = new ContainerClassLoader(parent);
+
+            final AutoCloseable[] onStop = onStart(config);
+            container = configure(config, loader).initialize();
+            thread.setContextClassLoader(loader);
+            try
+            {
+                webBeansContext = WebBeansContext.currentInstance();
+            }
+            finally
+            {
+                thread.setContextClassLoader(parent);
+            }
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() ->
+            {
+                Thread.currentThread().setContextClassLoader(loader);
+                doClose(container, onStop);
+            }, CdiExtension.class.getName() + "-shutdown"));
+        }
+
+        /**
+         * Destroys all contextual instances but keeps the deployment, so the next test starts with fresh beans.
+         */
+        private synchronized void resetContexts()
+        {
+            final ContextsService contextsService = webBeansContext.getContextsService();
+            for (final Class<? extends Annotation> scope : RESET_SCOPES)
+            {
+                contextsService.endContext(scope, null);
+            }
+            for (int i = RESET_SCOPES.length - 1; i >= 0; i--)
+            {
+                contextsService.startContext(RESET_SCOPES[i], null);
+            }
+        }
+    }
+
+    /**
+     * Only there to give each reusable container its own key in the singleton service.
+     */
+    private static final class ContainerClassLoader extends ClassLoader
+    {
+        static
+        {
+            ClassLoader.registerAsParallelCapable();
+        }
+
+        private ContainerClassLoader(final ClassLoader parent)
         {
-            return reusableContainer;
+            super(parent);
         }
     }
 }
@@ -194,6 +194,12 @@ class PerMethodTest
                                         {
                                             return false;
                                         }
+
+                                        @Override
+                                        public boolean resetContexts()
+                                        {
+                                            return false;
+                                        }
                                     }
                             };
                         }
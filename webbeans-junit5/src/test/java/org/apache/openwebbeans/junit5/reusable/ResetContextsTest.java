@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.junit5.reusable;
+
+import org.apache.openwebbeans.junit5.Cdi;
+import org.apache.openwebbeans.junit5.bean.MyService;
+import org.apache.webbeans.config.WebBeansContext;
+import org.junit.jupiter.api.RepeatedTest;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@Cdi(disableDiscovery = true, reusable = true, resetContexts = true,
+     classes = { MyService.class, ResetContextsTest.Counter.class })
+class ResetContextsTest
+{
+    private static WebBeansContext current;
+
+    @Inject
+    private Counter counter;
+
+    @Inject
+    private MyService service;
+
+    @RepeatedTest(2)
+    void freshInstances()
+    {
+        if (current == null)
+        {
+            current = WebBeansContext.currentInstance();
+        }
+        else
+        {
+            assertEquals(current, WebBeansContext.currentInstance());
+        }
+        assertEquals(1, counter.increment());
+        assertEquals("ok", service.ok());
+    }
+
+    @RepeatedTest(2)
+    void dedicatedLoader()
+    {
+        assertNotEquals(getClass().getClassLoader(), Thread.currentThread().getContextClassLoader());
+        assertEquals(1, counter.increment());
+    }
+
+    @ApplicationScoped
+    public static class Counter
+    {
+        private int count;
+
+        public int increment()
+        {
+            return ++count;
+        }
+    }
+}
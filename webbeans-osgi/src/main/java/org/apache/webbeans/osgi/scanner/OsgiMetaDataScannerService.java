@@ -24,6 +24,12 @@ import org.apache.webbeans.spi.BDABeansXmlScanner;
 import org.apache.webbeans.spi.ScannerService;
 
 import org.apache.webbeans.util.UrlSet;
+import org.apache.xbean.asm9.AnnotationVisitor;
+import org.apache.xbean.asm9.ClassReader;
+import org.apache.xbean.asm9.ClassVisitor;
+import org.apache.xbean.asm9.FieldVisitor;
+import org.apache.xbean.asm9.MethodVisitor;
+import org.apache.xbean.asm9.Opcodes;
 import org.apache.xbean.finder.BundleAssignableClassFinder;
 import org.apache.xbean.osgi.bundle.util.BundleClassFinder;
 import org.apache.xbean.osgi.bundle.util.BundleResourceFinder;
@@ -35,17 +41,23 @@ import org.osgi.framework.ServiceReference;
 import org.osgi.service.packageadmin.PackageAdmin;
 
 import javax.servlet.ServletContext;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
 
@@ -54,6 +66,11 @@ import java.util.zip.ZipEntry;
  * jars or file URLs, but as 'bundle://'.
  * This {@link org.apache.webbeans.spi.ScannerService} parses for all classes
  * in such a bundle.
+ *
+ * <p>The class files get read with ASM first. Only classes which can become a bean
+ * get loaded, e.g. anonymous classes or package-info get skipped without loading them.
+ * A bundle can also ship a prebuilt {@link #BEAN_CLASS_INDEX} which lists all its
+ * classes to deploy. Then the bundle doesn't get scanned at all.</p>
  */
 public class OsgiMetaDataScannerService implements ScannerService
 {
@@ -63,6 +80,12 @@ public class OsgiMetaDataScannerService implements ScannerService
     private static final String META_INF_BEANS_XML = "META-INF/beans.xml";
     private static final String WEB_INF_BEANS_XML = "WEB-INF/beans.xml";
 
+    /**
+     * Optional index of the classes to deploy from a bundle, one fully qualified class name per line.
+     * Empty lines and lines starting with '#' get ignored.
+     */
+    public static final String BEAN_CLASS_INDEX = "META-INF/openwebbeans/beanclasses.idx";
+
     /** All classes which have to be scanned for Bean information */
     private Set<Class<?>> beanClasses = new HashSet<>();
 
@@ -120,7 +143,45 @@ public class OsgiMetaDataScannerService implements ScannerService
 
     }
 
-    private void findBeanClasses(Bundle mainBundle, PackageAdmin packageAdmin)
+    private void findBeanClasses(Bundle mainBundle, PackageAdmin packageAdmin) throws IOException
+    {
+        Set<String> acceptedClassNames = readBeanClassIndex(mainBundle);
+        if (acceptedClassNames == null)
+        {
+            acceptedClassNames = scanBeanClassNames(mainBundle, packageAdmin);
+        }
+
+        for (String clsName : acceptedClassNames)
+        {
+            try
+            {
+                Set<String> annotations = null;
+                URL classFile = mainBundle.getResource(clsName.replace('.', '/') + ".class");
+                if (classFile != null)
+                {
+                    ClassInfoCollector classInfo = readClassInfo(classFile);
+                    if (!classInfo.isDeployable())
+                    {
+                        // would get skipped by the BeansDeployer anyway, so don't even load it
+                        continue;
+                    }
+                    annotations = classInfo.annotations;
+                }
+
+                Class<?> cls = mainBundle.loadClass(clsName);
+
+                classAnnotations.put(clsName, annotations != null ? annotations : collectAnnotations(cls));
+
+                beanClasses.add(cls);
+            }
+            catch(Exception e)
+            {
+                logger.info("cannot load class from bundle: " + clsName);
+            }
+        }
+    }
+
+    private Set<String> scanBeanClassNames(Bundle mainBundle, PackageAdmin packageAdmin)
     {
         BundleClassFinder bundleClassFinder =
                 new BundleAssignableClassFinder(packageAdmin, mainBundle,
@@ -154,22 +215,60 @@ public class OsgiMetaDataScannerService implements ScannerService
             }
         });
 
-        Set<String> acceptedClassNames = bundleClassFinder.find();
-        for (String clsName : acceptedClassNames)
+        return bundleClassFinder.find();
+    }
+
+    /**
+     * @return the class names listed in the {@link #BEAN_CLASS_INDEX} of the bundle
+     *         or {@code null} if the bundle has no such index
+     */
+    private Set<String> readBeanClassIndex(Bundle bundle) throws IOException
+    {
+        URL index = bundle.getEntry(BEAN_CLASS_INDEX);
+        if (index == null)
         {
-            try
-            {
-                Class<?> cls = mainBundle.loadClass(clsName);
+            return null;
+        }
 
-                classAnnotations.put(clsName, collectAnnotations(cls));
+        logger.info("using the bean class index " + index);
+        return readBeanClassIndex(index);
+    }
 
-                beanClasses.add(cls);
-            }
-            catch(Exception e)
+    /**
+     * @return the class names listed in the given index in their order
+     */
+    static Set<String> readBeanClassIndex(URL index) throws IOException
+    {
+        Set<String> classNames = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8)))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
             {
-                logger.info("cannot load class from bundle: " + clsName);
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#"))
+                {
+                    classNames.add(line);
+                }
             }
         }
+        return classNames;
+    }
+
+    static ClassInfoCollector readClassInfo(URL classFile) throws IOException
+    {
+        ClassInfoCollector collector = new ClassInfoCollector();
+        try (InputStream in = classFile.openStream())
+        {
+            new ClassReader(in).accept(collector, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+        catch (RuntimeException e)
+        {
+            // ASM can't parse it, let the classloader decide
+            logger.log(Level.FINE, "cannot read class file " + classFile, e);
+            collector.annotations = null;
+        }
+        return collector;
     }
 
     private Set<String> collectAnnotations(Class<?> cls)
@@ -209,7 +308,7 @@ public class OsgiMetaDataScannerService implements ScannerService
     {
         for (Annotation ann : annotations)
         {
-            annStrings.add(ann.getClass().getSimpleName());
+            annStrings.add(ann.annotationType().getSimpleName());
         }
     }
 
@@ -295,4 +394,115 @@ public class OsgiMetaDataScannerService implements ScannerService
     {
         return false;
     }
+
+    /**
+     * Collects the simple names of all annotations on a class, its fields, methods and parameters
+     * as well as the information whether the BeansDeployer would skip the class anyway.
+     */
+    static final class ClassInfoCollector extends ClassVisitor
+    {
+        /** the simple annotation names or {@code null} if the class file could not get read */
+        Set<String> annotations = new HashSet<>();
+        private String className;
+        private boolean skipped;
+
+        private final AnnotationCollectingFieldVisitor fieldVisitor = new AnnotationCollectingFieldVisitor();
+        private final AnnotationCollectingMethodVisitor methodVisitor = new AnnotationCollectingMethodVisitor();
+
+        ClassInfoCollector()
+        {
+            super(Opcodes.ASM9);
+        }
+
+        boolean isDeployable()
+        {
+            return !skipped;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces)
+        {
+            className = name;
+            skipped = (access & Opcodes.ACC_MODULE) != 0 || name.endsWith("/package-info");
+        }
+
+        @Override
+        public void visitInnerClass(String name, String outerName, String innerName, int access)
+        {
+            if (name.equals(className) && (innerName == null || (access & Opcodes.ACC_PRIVATE) != 0))
+            {
+                // anonymous or private inner class
+                skipped = true;
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible)
+        {
+            addAnnotation(descriptor, visible);
+            return null;
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value)
+        {
+            return fieldVisitor;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions)
+        {
+            return methodVisitor;
+        }
+
+        void addAnnotation(String descriptor, boolean visible)
+        {
+            if (!visible)
+            {
+                // only runtime annotations are of interest
+                return;
+            }
+
+            // Lorg/example/Outer$Qualifier; -> Qualifier
+            int start = Math.max(descriptor.lastIndexOf('/'), descriptor.lastIndexOf('$')) + 1;
+            annotations.add(descriptor.substring(Math.max(start, 1), descriptor.length() - 1));
+        }
+
+        private final class AnnotationCollectingFieldVisitor extends FieldVisitor
+        {
+            private AnnotationCollectingFieldVisitor()
+            {
+                super(Opcodes.ASM9);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible)
+            {
+                addAnnotation(descriptor, visible);
+                return null;
+            }
+        }
+
+        private final class AnnotationCollectingMethodVisitor extends MethodVisitor
+        {
+            private AnnotationCollectingMethodVisitor()
+            {
+                super(Opcodes.ASM9);
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible)
+            {
+                addAnnotation(descriptor, visible);
+                return null;
+            }
+
+            @Override
+            public AnnotationVisitor visitParameterAnnotation(int parameter, String descriptor, boolean visible)
+            {
+                addAnnotation(descriptor, visible);
+                return null;
+            }
+        }
+    }
 }
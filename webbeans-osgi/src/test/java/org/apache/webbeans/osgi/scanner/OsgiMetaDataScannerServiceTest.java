@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.osgi.scanner;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.inject.Inject;
+
+import org.apache.webbeans.osgi.scanner.OsgiMetaDataScannerService.ClassInfoCollector;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OsgiMetaDataScannerServiceTest
+{
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void annotationDescriptorsGetSimpleNames()
+    {
+        ClassInfoCollector collector = new ClassInfoCollector();
+        collector.addAnnotation("Ljavax/inject/Inject;", true);
+        collector.addAnnotation("Lorg/example/Outer$Qualifier;", true);
+        collector.addAnnotation("LTopLevel;", true);
+        collector.addAnnotation("Lorg/example/ClassRetention;", false);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("Inject", "Qualifier", "TopLevel")), collector.annotations);
+    }
+
+    @Test
+    public void annotationsGetCollectedFromTheClassFile() throws IOException
+    {
+        ClassInfoCollector collector = readClassInfo(Annotated.class);
+
+        Assert.assertTrue(collector.isDeployable());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("Marker", "Inject")), collector.annotations);
+    }
+
+    @Test
+    public void anonymousAndPrivateInnerClassesGetSkipped() throws IOException
+    {
+        Assert.assertTrue(readClassInfo(Annotated.class).isDeployable());
+        Assert.assertFalse(readClassInfo(PrivateInner.class).isDeployable());
+        Assert.assertFalse(readClassInfo(new Object()
+        {
+        }.getClass()).isDeployable());
+    }
+
+    @Test
+    public void beanClassIndex() throws IOException
+    {
+        File index = temp.newFile("beanclasses.idx");
+        Files.write(index.toPath(), Arrays.asList(
+            "# generated",
+            "org.example.First",
+            "",
+            "   org.example.Second   ",
+            "org.example.First"), StandardCharsets.UTF_8);
+
+        Set<String> classNames = OsgiMetaDataScannerService.readBeanClassIndex(index.toURI().toURL());
+        Assert.assertEquals(Arrays.asList("org.example.First", "org.example.Second"), Arrays.asList(classNames.toArray()));
+    }
+
+    private static ClassInfoCollector readClassInfo(Class<?> cls) throws IOException
+    {
+        URL classFile = cls.getClassLoader().getResource(cls.getName().replace('.', '/') + ".class");
+        return OsgiMetaDataScannerService.readClassInfo(classFile);
+    }
+
+    @Retention(RUNTIME)
+    public @interface Marker
+    {
+    }
+
+    @Marker
+    public static class Annotated
+    {
+        @Inject
+        private Object injected;
+    }
+
+    private static class PrivateInner
+    {
+    }
+}
@@ -67,6 +67,11 @@ public class WebContextsService extends AbstractContextsService
 
     private static final String OWB_SESSION_CONTEXT_ATTRIBUTE_NAME = "openWebBeansSessionContext";
 
+    /**
+     * Marks a lazily started request which has no start object.
+     */
+    private static final Object NO_START_OBJECT = new Object();
+
     /**
      * TODO implement later: optional immediate destroy
      */
@@ -82,6 +87,12 @@ public class WebContextsService extends AbstractContextsService
     /**Current request context*/
     protected ThreadLocal<ServletRequestContext> requestContexts;
 
+    /**
+     * The start object of the current request if its RequestContext did not get created yet.
+     * @see OpenWebBeansConfiguration#LAZY_REQUEST_CONTEXT
+     */
+    protected ThreadLocal<Object> lazyRequestStartObjects;
+
     /**Current session context*/
     protected ThreadLocal<SessionContext> sessionContexts;
 
@@ -97,6 +108,8 @@ public class WebContextsService extends AbstractContextsService
     protected Boolean eagerSessionInitialisation;
     protected Pattern eagerSessionPattern;
 
+    protected final boolean lazyRequestContext;
+
 
     /**
      * Creates a new instance.
@@ -110,6 +123,7 @@ public class WebContextsService extends AbstractContextsService
         applicationContext.setActive(true);
 
         requestContexts = new ThreadLocal<>();
+        lazyRequestStartObjects = new ThreadLocal<>();
         sessionContexts = new ThreadLocal<>();
         conversationContexts = new ThreadLocal<>();
 
@@ -118,6 +132,7 @@ public class WebContextsService extends AbstractContextsService
         dependentContext.setActive(true);
 
         configureEagerSessionInitialisation(webBeansContext);
+        lazyRequestContext = webBeansContext.getOpenWebBeansConfiguration().isLazyRequestContext();
     }
 
     protected void configureEagerSessionInitialisation(WebBeansContext webBeansContext)
@@ -146,6 +161,7 @@ public class WebContextsService extends AbstractContextsService
     public void removeThreadLocals()
     {
         requestContexts.remove();
+        lazyRequestStartObjects.remove();
         sessionContexts.remove();
         conversationContexts.remove();
         RequestScopedBeanInterceptorHandler.removeThreadLocals();
@@ -178,6 +194,7 @@ public class WebContextsService extends AbstractContextsService
             requestContexts.set(null);
             requestContexts.remove();
         }
+        lazyRequestStartObjects.remove();
 
         SessionContext sessionCtx = sessionContexts.get();
         if (sessionCtx != null)
@@ -345,8 +362,24 @@ public class WebContextsService extends AbstractContextsService
      */
     protected void initRequestContext(Object startupObject )
     {
-        
+        if (lazyRequestContext && !shouldFireRequestLifecycleEvents() && !needsEagerSession(startupObject))
+        {
+            // nobody observes the lifecycle of the RequestContext, so we only create it on first use
+            lazyRequestStartObjects.set(startupObject != null ? startupObject : NO_START_OBJECT);
+            return;
+        }
+
+        createRequestContext(startupObject);
+    }
+
+    /**
+     * Creates the RequestContext of the current thread, fires the lifecycle event and eagerly starts the session if needed.
+     * @param startupObject http servlet request event or system specific payload
+     */
+    protected void createRequestContext(Object startupObject)
+    {
         ServletRequestContext requestContext = new ServletRequestContext();
+        requestContext.setBeanPool(webBeansContext.getRequestBeanPool());
         requestContext.setActive(true);
 
         requestContexts.set(requestContext);// set thread local
@@ -375,6 +408,16 @@ public class WebContextsService extends AbstractContextsService
         }
     }
 
+    private boolean needsEagerSession(Object startupObject)
+    {
+        if (startupObject instanceof ServletRequestEvent)
+        {
+            HttpServletRequest request = (HttpServletRequest) ((ServletRequestEvent) startupObject).getServletRequest();
+            return request != null && shouldEagerlyInitializeSession(request);
+        }
+        return false;
+    }
+
     protected boolean shouldEagerlyInitializeSession(HttpServletRequest request)
     {
         if (eagerSessionPattern != null)
@@ -392,6 +435,19 @@ public class WebContextsService extends AbstractContextsService
      */
     protected void destroyRequestContext(Object endObject)
     {
+        if (requestContexts.get() == null && lazyRequestStartObjects.get() != null)
+        {
+            // the RequestContext never got used, so there is nothing to destroy
+            lazyRequestStartObjects.remove();
+
+            ELContextStore elStore = ELContextStore.getInstance(false);
+            if (elStore != null)
+            {
+                elStore.destroyELContextStore();
+            }
+            return;
+        }
+
         //Get context
         ServletRequestContext context = getRequestContext(false);
 
@@ -495,6 +551,7 @@ public class WebContextsService extends AbstractContextsService
                     {
                         currentSessionContext = new SessionContext();
                         currentSessionContext.setActive(true);
+                        webBeansContext.getFootprintDiagnostics().trackSessionContext(currentSessionContext);
                         
                         // init context before fire @Initialized(SessionScoped)
                         // so that SessionScoped beans are already available inside the observer
@@ -744,10 +801,21 @@ public class WebContextsService extends AbstractContextsService
     public ServletRequestContext getRequestContext(boolean create)
     {
         ServletRequestContext requestContext = requestContexts.get();
-        if (requestContext == null && create)
+        if (requestContext == null)
         {
-            initRequestContext(null);
-            requestContext = requestContexts.get();
+            Object lazyStartObject = lazyRequestStartObjects.get();
+            if (lazyStartObject != null)
+            {
+                // the request is active, the RequestContext just did not get created yet
+                lazyRequestStartObjects.remove();
+                createRequestContext(lazyStartObject == NO_START_OBJECT ? null : lazyStartObject);
+                requestContext = requestContexts.get();
+            }
+            else if (create)
+            {
+                createRequestContext(null);
+                requestContext = requestContexts.get();
+            }
         }
         return requestContext;
     }
@@ -18,16 +18,24 @@
  */
 package org.apache.webbeans.web.tests;
 
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.spi.ContextsService;
 import org.apache.webbeans.web.context.WebContextsService;
 import org.junit.Test;
 
 import javax.enterprise.context.ContextNotActiveException;
+import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.SessionScoped;
 import java.util.HashMap;
 import java.util.Properties;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class WebContextsServiceTest
@@ -56,4 +64,47 @@ public class WebContextsServiceTest
             // ok
         }
     }
+
+    @Test
+    public void lazyRequestContext()
+    {
+        final WebBeansContext webBeansContext = new WebBeansContext(new HashMap<Class<?>, Object>(), new Properties()
+        {{
+            setProperty(ContextsService.class.getName(), LazyWebContextsService.class.getName());
+            setProperty(OpenWebBeansConfiguration.LAZY_REQUEST_CONTEXT, "true");
+        }});
+        final LazyWebContextsService contextsService = (LazyWebContextsService) webBeansContext.getContextsService();
+
+        // a request which never uses the RequestContext
+        contextsService.startContext(RequestScoped.class, null);
+        assertFalse(contextsService.isRequestContextCreated());
+        contextsService.endContext(RequestScoped.class, null);
+        assertFalse(contextsService.isRequestContextCreated());
+        assertNull(contextsService.getCurrentContext(RequestScoped.class));
+
+        // the RequestContext gets created on first use
+        contextsService.startContext(RequestScoped.class, null);
+        final RequestContext requestContext = (RequestContext) contextsService.getCurrentContext(RequestScoped.class);
+        assertNotNull(requestContext);
+        assertTrue(requestContext.isActive());
+        assertTrue(contextsService.isRequestContextCreated());
+        assertSame(requestContext, contextsService.getCurrentContext(RequestScoped.class));
+
+        contextsService.endContext(RequestScoped.class, null);
+        assertFalse(requestContext.isActive());
+        assertNull(contextsService.getCurrentContext(RequestScoped.class));
+    }
+
+    public static class LazyWebContextsService extends WebContextsService
+    {
+        public LazyWebContextsService(final WebBeansContext webBeansContext)
+        {
+            super(webBeansContext);
+        }
+
+        public boolean isRequestContextCreated()
+        {
+            return requestContexts.get() != null;
+        }
+    }
 }